@@ -0,0 +1,62 @@
+package jonad.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC and allocation profiler
+ * enabled, writing the results as JSON to
+ * {@code jmh-result-<version>.json} so runs from different
+ * releases can be diffed. Any standard JMH command line option
+ * may be given to override these defaults
+ */
+public final class BenchmarkRunner
+{
+    private BenchmarkRunner()
+    {
+    }
+
+    /**
+     * Run the benchmarks
+     *
+     * @param args JMH command line options
+     * @throws RunnerException            if a benchmark fails to run
+     * @throws CommandLineOptionException if the options can't be parsed
+     */
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException
+    {
+        final CommandLineOptions cli = new CommandLineOptions(args);
+        final OptionsBuilder options = new OptionsBuilder();
+
+        options.parent(cli);
+
+        if (cli.getProfilers().isEmpty())
+        {
+            options.addProfiler(GCProfiler.class);
+        }
+
+        if (!cli.getResultFormat().hasValue())
+        {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!cli.getResult().hasValue())
+        {
+            options.result("jmh-result-" + version() + ".json");
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    private static String version()
+    {
+        final String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+
+        return version == null ? "dev" : version;
+    }
+}
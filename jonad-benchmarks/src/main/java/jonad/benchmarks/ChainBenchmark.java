@@ -0,0 +1,264 @@
+package jonad.benchmarks;
+
+import jonad.model.Jonad;
+import jonad.model.LazyJonad;
+import jonad.model.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares chains of one, three and six operators built with
+ * Jonad, and the deferred {@link LazyJonad}, against the same
+ * logic written with {@link Optional} and with plain null checks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ChainBenchmark
+{
+    private static final String FALLBACK = "0";
+
+    private static final int MAX_LENGTH = 8;
+
+    @Param({"PRESENT", "EMPTY", "ERROR", "MIXED"})
+    private Mix mix;
+
+    private String[] inputs;
+
+    @Setup
+    public void setUp()
+    {
+        inputs = mix.inputs();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadChain1(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Jonad.<String, String>orEmpty(in)
+                    .tryMap(ChainBenchmark::parse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalChain1(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Optional.ofNullable(in)
+                    .flatMap(ChainBenchmark::tryParse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void nullCheckChain1(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(in == null ? null : tryParseOrNull(in));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadChain3(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Jonad.<String, String>orEmpty(in)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .tryMap(ChainBenchmark::parse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void lazyJonadChain3(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(LazyJonad.of(in)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .tryMap(ChainBenchmark::parse)
+                    .getOrNull());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalChain3(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Optional.ofNullable(in)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .flatMap(ChainBenchmark::tryParse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void nullCheckChain3(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            Integer result = null;
+
+            if (in != null)
+            {
+                final String trimmed = in.trim();
+
+                if (!trimmed.isEmpty())
+                {
+                    result = tryParseOrNull(trimmed);
+                }
+            }
+
+            bh.consume(result);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadChain6(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Jonad.<String, String>orEmpty(in)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .flatMap(ChainBenchmark::lookup)
+                    .filterWhen(s -> Jonad.ofBoolean(s.length() < MAX_LENGTH))
+                    .switchIfEmpty(Jonad.of(FALLBACK))
+                    .tryMap(ChainBenchmark::parse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void lazyJonadChain6(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(LazyJonad.of(in)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .flatMap(ChainBenchmark::lookup)
+                    .filterWhen(s -> Jonad.ofBoolean(s.length() < MAX_LENGTH))
+                    .switchIfEmpty(Jonad.of(FALLBACK))
+                    .tryMap(ChainBenchmark::parse)
+                    .getOrNull());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalChain6(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Optional.ofNullable(in)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .flatMap(ChainBenchmark::lookupOptional)
+                    .filter(s -> s.length() < MAX_LENGTH)
+                    .or(() -> Optional.of(FALLBACK))
+                    .flatMap(ChainBenchmark::tryParse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void nullCheckChain6(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            String value = null;
+
+            if (in != null)
+            {
+                final String trimmed = in.trim();
+
+                if (!trimmed.isEmpty())
+                {
+                    final String found = lookupOrNull(trimmed);
+
+                    if (found != null && found.length() < MAX_LENGTH)
+                    {
+                        value = found;
+                    }
+                }
+            }
+
+            bh.consume(tryParseOrNull(value == null ? FALLBACK : value));
+        }
+    }
+
+    static Integer parse(final String s)
+    {
+        return Integer.parseInt(s.trim());
+    }
+
+    static Optional<Integer> tryParse(final String s)
+    {
+        try
+        {
+            return Optional.of(parse(s));
+        }
+        catch (NumberFormatException e)
+        {
+            return Optional.empty();
+        }
+    }
+
+    static Integer tryParseOrNull(final String s)
+    {
+        try
+        {
+            return parse(s);
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+    }
+
+    static String lookupOrNull(final String s)
+    {
+        return s.length() > MAX_LENGTH * 2 ? null : s;
+    }
+
+    static Monad<String> lookup(final String s)
+    {
+        return Jonad.of(lookupOrNull(s));
+    }
+
+    static Optional<String> lookupOptional(final String s)
+    {
+        return Optional.ofNullable(lookupOrNull(s));
+    }
+}
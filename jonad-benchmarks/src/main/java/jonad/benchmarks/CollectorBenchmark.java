@@ -0,0 +1,91 @@
+package jonad.benchmarks;
+
+import jonad.model.Jonad;
+import jonad.model.Monad;
+import jonad.model.MonadCollectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures flattening a stream of Monads through
+ * {@link Monad#stream()} against {@link MonadCollectors}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CollectorBenchmark
+{
+    @Param({"PRESENT", "EMPTY", "ERROR", "MIXED"})
+    private Mix mix;
+
+    private List<Monad<Integer>> monads;
+
+    @Setup
+    public void setUp()
+    {
+        monads = Arrays.stream(mix.inputs())
+                .map(in -> Jonad.<String>of(in).map(String::trim).tryMap(Integer::valueOf))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public List<Integer> flatMapStream()
+    {
+        return monads.stream().flatMap(Monad::stream).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public List<Integer> filterNonNull()
+    {
+        return monads.stream().map(Monad::getOrNull).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public List<Integer> valuesSource()
+    {
+        return MonadCollectors.values(monads.stream()).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public List<Integer> toListCollector()
+    {
+        return monads.stream().collect(MonadCollectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public long countPresentStream()
+    {
+        return monads.stream().flatMap(Monad::stream).count();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public Object countingCollector()
+    {
+        return monads.stream().collect(MonadCollectors.counting());
+    }
+}
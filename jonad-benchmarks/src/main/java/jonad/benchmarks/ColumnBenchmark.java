@@ -0,0 +1,93 @@
+package jonad.benchmarks;
+
+import jonad.model.DoubleColumn;
+import jonad.model.Jonad;
+import jonad.model.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures scanning a column of optional doubles held as a
+ * list of Monads against the same rows in a {@link DoubleColumn}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ColumnBenchmark
+{
+    @Param({"PRESENT", "EMPTY", "MIXED"})
+    private Mix mix;
+
+    private List<Monad<Double>> monads;
+
+    private DoubleColumn column;
+
+    @Setup
+    public void setUp()
+    {
+        monads = Arrays.stream(mix.inputs())
+                .map(in -> Jonad.<String>of(in).map(String::trim).tryMap(Double::valueOf))
+                .collect(Collectors.toList());
+        column = DoubleColumn.fromMonads(monads);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public double monadSum()
+    {
+        double sum = 0;
+
+        for (final Monad<Double> m : monads)
+        {
+            sum += m.getOrDefault(0.0);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public double columnSum()
+    {
+        return column.sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public double monadMapFilterSum()
+    {
+        double sum = 0;
+
+        for (final Monad<Double> m : monads)
+        {
+            sum += m.map(val -> val * 2).filter(val -> val > 100).getOrDefault(0.0);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public double columnMapFilterSum()
+    {
+        return column.map(val -> val * 2).filter(val -> val > 100).sum();
+    }
+}
@@ -0,0 +1,106 @@
+package jonad.benchmarks;
+
+import jonad.model.Jonad;
+import jonad.model.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures map and flatMap chains over already built Monads, so
+ * the time is spent in operator dispatch rather than in creating
+ * the source. A mostly present or mostly empty mix keeps each
+ * call site seeing a single Jonad state, the mixed input doesn't
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DispatchBenchmark
+{
+    @Param({"PRESENT", "EMPTY", "MIXED"})
+    private Mix mix;
+
+    private Monad<String>[] monads;
+
+    private Optional<String>[] optionals;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp()
+    {
+        final String[] inputs = mix.inputs();
+
+        monads = new Monad[inputs.length];
+        optionals = new Optional[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++)
+        {
+            monads[i] = Jonad.orEmpty(inputs[i]);
+            optionals[i] = Optional.ofNullable(inputs[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadMapChain(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.map(String::trim)
+                    .map(String::length)
+                    .map(len -> len * 2));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalMapChain(final Blackhole bh)
+    {
+        for (final Optional<String> o : optionals)
+        {
+            bh.consume(o.map(String::trim)
+                    .map(String::length)
+                    .map(len -> len * 2));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadFlatMapChain(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.flatMap(s -> Jonad.of(s.trim()))
+                    .flatMap(s -> Jonad.of(s.length()))
+                    .flatMap(len -> Jonad.of(len * 2)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalFlatMapChain(final Blackhole bh)
+    {
+        for (final Optional<String> o : optionals)
+        {
+            bh.consume(o.flatMap(s -> Optional.of(s.trim()))
+                    .flatMap(s -> Optional.of(s.length()))
+                    .flatMap(len -> Optional.of(len * 2)));
+        }
+    }
+}
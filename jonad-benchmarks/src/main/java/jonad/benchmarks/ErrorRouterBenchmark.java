@@ -0,0 +1,98 @@
+package jonad.benchmarks;
+
+import jonad.model.ErrorRouter;
+import jonad.model.Jonad;
+import jonad.model.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sorting failures with a chain of six matching error
+ * operators against a precompiled {@link ErrorRouter} holding the
+ * same rules. Error inputs fail with a spread of exception types
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ErrorRouterBenchmark
+{
+    private static final RuntimeException[] FAILURES = {new IllegalStateException(),
+        new UnsupportedOperationException(), new NoSuchElementException(), new ConcurrentModificationException(),
+        new UncheckedIOException(new IOException()), new IllegalArgumentException()};
+
+    @Param({"PRESENT", "ERROR", "MIXED"})
+    private Mix mix;
+
+    private Monad<String>[] monads;
+
+    private ErrorRouter<String> router;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp()
+    {
+        final String[] inputs = mix.inputs();
+
+        monads = new Monad[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++)
+        {
+            monads[i] = inputs[i] == null || inputs[i].contains("x")
+                    ? Jonad.failure(FAILURES[i % FAILURES.length]) : Jonad.of(inputs[i]);
+        }
+
+        router = ErrorRouter.<String>create()
+                .onErrorMap(IllegalArgumentException.class, e -> "argument")
+                .onErrorMap(UncheckedIOException.class, e -> "io")
+                .onErrorMap(ConcurrentModificationException.class, e -> "concurrent")
+                .onErrorMap(NoSuchElementException.class, e -> "missing")
+                .onErrorMap(UnsupportedOperationException.class, e -> "unsupported")
+                .onErrorMap(IllegalStateException.class, e -> "state");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void chain(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m
+                    .onErrorMapMatching(IllegalArgumentException.class::isInstance, e -> "argument")
+                    .onErrorMapMatching(UncheckedIOException.class::isInstance, e -> "io")
+                    .onErrorMapMatching(ConcurrentModificationException.class::isInstance, e -> "concurrent")
+                    .onErrorMapMatching(NoSuchElementException.class::isInstance, e -> "missing")
+                    .onErrorMapMatching(UnsupportedOperationException.class::isInstance, e -> "unsupported")
+                    .onErrorMapMatching(IllegalStateException.class::isInstance, e -> "state"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void router(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.onErrorFlatMap(router));
+        }
+    }
+}
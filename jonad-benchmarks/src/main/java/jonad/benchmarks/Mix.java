@@ -0,0 +1,64 @@
+package jonad.benchmarks;
+
+import java.util.Random;
+
+/**
+ * The proportion of present, empty and error inputs
+ * fed to a benchmark. Present inputs parse as integers,
+ * empty inputs are null and error inputs fail to parse
+ */
+public enum Mix
+{
+    PRESENT(100, 0),
+    EMPTY(0, 100),
+    ERROR(0, 0),
+    MIXED(60, 30);
+
+    /**
+     * The number of inputs cycled through per benchmark invocation
+     */
+    public static final int SIZE = 1024;
+
+    private static final long SEED = 42L;
+
+    private final int presentPercent;
+
+    private final int emptyPercent;
+
+    Mix(final int presentPercent, final int emptyPercent)
+    {
+        this.presentPercent = presentPercent;
+        this.emptyPercent = emptyPercent;
+    }
+
+    /**
+     * Generate a reproducible set of inputs for this mix
+     *
+     * @return the inputs
+     */
+    public String[] inputs()
+    {
+        final Random random = new Random(SEED);
+        final String[] inputs = new String[SIZE];
+
+        for (int i = 0; i < SIZE; i++)
+        {
+            final int roll = random.nextInt(100);
+
+            if (roll < presentPercent)
+            {
+                inputs[i] = " " + random.nextInt(10_000) + " ";
+            }
+            else if (roll < presentPercent + emptyPercent)
+            {
+                inputs[i] = null;
+            }
+            else
+            {
+                inputs[i] = " x" + random.nextInt(10_000) + " ";
+            }
+        }
+
+        return inputs;
+    }
+}
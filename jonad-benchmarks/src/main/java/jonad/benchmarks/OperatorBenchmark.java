@@ -0,0 +1,275 @@
+package jonad.benchmarks;
+
+import jonad.model.Jonad;
+import jonad.model.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each Jonad operator on its own against the
+ * equivalent {@link Optional} call and hand-written null check
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class OperatorBenchmark
+{
+    private static final String FALLBACK = "0";
+
+    private static final Monad<String> FALLBACK_MONAD = Jonad.of(FALLBACK);
+
+    private static final Optional<String> FALLBACK_OPTIONAL = Optional.of(FALLBACK);
+
+    private static final int MAX_LENGTH = 8;
+
+    @Param({"PRESENT", "EMPTY", "ERROR", "MIXED"})
+    private Mix mix;
+
+    private String[] inputs;
+
+    private Monad<String>[] monads;
+
+    private Optional<String>[] optionals;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp()
+    {
+        inputs = mix.inputs();
+        monads = new Monad[inputs.length];
+        optionals = new Optional[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++)
+        {
+            monads[i] = Jonad.orEmpty(inputs[i]);
+            optionals[i] = Optional.ofNullable(inputs[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadOf(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Jonad.of(in));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalOf(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Optional.ofNullable(in));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadOrEmpty(final Blackhole bh)
+    {
+        for (final Optional<String> in : optionals)
+        {
+            bh.consume(Jonad.orEmpty(in));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalOrEmpty(final Blackhole bh)
+    {
+        for (final Optional<String> in : optionals)
+        {
+            bh.consume(in.isPresent() ? Optional.of(in.get()) : Optional.empty());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadMap(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.map(String::trim));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalMap(final Blackhole bh)
+    {
+        for (final Optional<String> o : optionals)
+        {
+            bh.consume(o.map(String::trim));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void nullCheckMap(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(in == null ? null : in.trim());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadFlatMap(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.flatMap(ChainBenchmark::lookup));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalFlatMap(final Blackhole bh)
+    {
+        for (final Optional<String> o : optionals)
+        {
+            bh.consume(o.flatMap(ChainBenchmark::lookupOptional));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void nullCheckFlatMap(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(in == null ? null : ChainBenchmark.lookupOrNull(in));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadFilter(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.filter(s -> s.length() < MAX_LENGTH));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalFilter(final Blackhole bh)
+    {
+        for (final Optional<String> o : optionals)
+        {
+            bh.consume(o.filter(s -> s.length() < MAX_LENGTH));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void nullCheckFilter(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(in != null && in.length() < MAX_LENGTH ? in : null);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadFilterWhen(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.filterWhen(s -> Jonad.ofBoolean(s.length() < MAX_LENGTH)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalFilterWhen(final Blackhole bh)
+    {
+        for (final Optional<String> o : optionals)
+        {
+            bh.consume(o.filter(s -> Optional.of(s.length() < MAX_LENGTH).orElse(Boolean.FALSE)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadTryMap(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.tryMap(ChainBenchmark::parse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalTryMap(final Blackhole bh)
+    {
+        for (final Optional<String> o : optionals)
+        {
+            bh.consume(o.flatMap(ChainBenchmark::tryParse));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void nullCheckTryMap(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(in == null ? null : ChainBenchmark.tryParseOrNull(in));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadSwitchIfEmpty(final Blackhole bh)
+    {
+        for (final Monad<String> m : monads)
+        {
+            bh.consume(m.switchIfEmpty(FALLBACK_MONAD));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void optionalSwitchIfEmpty(final Blackhole bh)
+    {
+        for (final Optional<String> o : optionals)
+        {
+            bh.consume(o.or(() -> FALLBACK_OPTIONAL));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void nullCheckSwitchIfEmpty(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(in == null ? FALLBACK : in);
+        }
+    }
+}
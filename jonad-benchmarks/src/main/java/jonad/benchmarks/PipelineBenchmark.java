@@ -0,0 +1,83 @@
+package jonad.benchmarks;
+
+import jonad.model.Jonad;
+import jonad.model.MonadPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rebuilding a six operator Jonad chain for every
+ * input against applying the same chain built once as a
+ * {@link MonadPipeline}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PipelineBenchmark
+{
+    private static final String FALLBACK = "0";
+
+    private static final int MAX_LENGTH = 8;
+
+    @Param({"PRESENT", "EMPTY", "ERROR", "MIXED"})
+    private Mix mix;
+
+    private String[] inputs;
+
+    private MonadPipeline<String, Integer> pipeline;
+
+    @Setup
+    public void setUp()
+    {
+        inputs = mix.inputs();
+        pipeline = MonadPipeline.<String>start()
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(String::toLowerCase)
+                .filterWhen(s -> Jonad.ofBoolean(s.length() < MAX_LENGTH))
+                .switchIfEmpty(Jonad.of(FALLBACK))
+                .tryMap(Integer::valueOf);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadChain(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Jonad.<String>of(in)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(String::toLowerCase)
+                    .filterWhen(s -> Jonad.ofBoolean(s.length() < MAX_LENGTH))
+                    .switchIfEmpty(Jonad.of(FALLBACK))
+                    .tryMap(Integer::valueOf));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void pipeline(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(pipeline.apply(in));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package jonad.benchmarks;
+
+import jonad.model.Jonad;
+import jonad.model.JonadTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a chain built from the Jonad factories with assembly
+ * tracing off and on. Each setting runs in its own fork, so the
+ * untraced runs never see the switch change and should match
+ * the untraced chain in {@link ChainBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TraceBenchmark
+{
+    @Param({"PRESENT", "EMPTY", "MIXED"})
+    private Mix mix;
+
+    @Param({"false", "true"})
+    private boolean traced;
+
+    private String[] inputs;
+
+    @Setup
+    public void setUp()
+    {
+        inputs = mix.inputs();
+
+        if (traced)
+        {
+            JonadTrace.enable();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadChain(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Jonad.of(in)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .tryMap(Integer::valueOf)
+                    .getOrNull());
+        }
+    }
+}
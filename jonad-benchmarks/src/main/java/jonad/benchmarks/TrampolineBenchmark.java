@@ -0,0 +1,98 @@
+package jonad.benchmarks;
+
+import jonad.model.Jonad;
+import jonad.model.Monad;
+import jonad.model.TrampolinedJonad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a shallow three operator chain and a recursive flatMap
+ * of a hundred steps built with the eager Jonad against the same
+ * computations run by {@link TrampolinedJonad}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TrampolineBenchmark
+{
+    private static final int DEPTH = 100;
+
+    @Param({"PRESENT", "EMPTY", "MIXED"})
+    private Mix mix;
+
+    private String[] inputs;
+
+    @Setup
+    public void setUp()
+    {
+        inputs = mix.inputs();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void jonadChain3(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(Jonad.<String>of(in)
+                    .map(String::trim)
+                    .flatMap(s -> s.isEmpty() ? Jonad.empty() : Jonad.of(s))
+                    .tryMap(Integer::valueOf)
+                    .getOrNull());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Mix.SIZE)
+    public void trampolinedChain3(final Blackhole bh)
+    {
+        for (final String in : inputs)
+        {
+            bh.consume(TrampolinedJonad.of(in)
+                    .map(String::trim)
+                    .flatMap(s -> s.isEmpty() ? Jonad.empty() : Jonad.of(s))
+                    .tryMap(Integer::valueOf)
+                    .getOrNull());
+        }
+    }
+
+    @Benchmark
+    public Integer jonadRecursion()
+    {
+        return jonadCountDown(DEPTH).getOrNull();
+    }
+
+    @Benchmark
+    public Integer trampolinedRecursion()
+    {
+        return trampolinedCountDown(DEPTH).getOrNull();
+    }
+
+    private static Monad<Integer> jonadCountDown(final int n)
+    {
+        return n == 0 ? Jonad.of(0) : Jonad.of(n).flatMap(val -> jonadCountDown(val - 1));
+    }
+
+    private static Monad<Integer> trampolinedCountDown(final int n)
+    {
+        return n == 0 ? TrampolinedJonad.of(0)
+                : TrampolinedJonad.of(n).flatMap(val -> trampolinedCountDown(val - 1));
+    }
+}
@@ -0,0 +1,791 @@
+package jonad.model;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A non-blocking Monad whose value is produced by a
+ * {@link CompletableFuture}. Operators share the empty and error
+ * semantics of {@link Monad} and run on the thread completing the
+ * previous stage, so only the suppliers run on the executor.
+ * When no executor is given virtual threads are used if the JVM
+ * supports them, otherwise the common fork/join pool.
+ * <p>
+ * Cancelling an AsyncJonad cancels every stage it was built from,
+ * interrupting a supplier which is still running
+ *
+ * @param <T> the type parameter
+ */
+public final class AsyncJonad<T>
+{
+    private final CompletableFuture<Monad<T>> future;
+
+    private final Runnable onCancel;
+
+    private AsyncJonad(final CompletableFuture<Monad<T>> future, final Runnable onCancel)
+    {
+        this.future = future;
+        this.onCancel = onCancel;
+    }
+
+    /**
+     * The executor used when none is given
+     * @return the default executor
+     */
+    public static Executor defaultExecutor()
+    {
+        return DefaultExecutor.get();
+    }
+
+    /**
+     * Wrap an already known value
+     * @param val the given value
+     * @return a completed AsyncJonad
+     */
+    public static <T> AsyncJonad<T> of(final T val)
+    {
+        return fromMonad(Jonad.of(val));
+    }
+
+    /**
+     * Create a completed empty AsyncJonad
+     * @return a completed empty AsyncJonad
+     */
+    public static <T> AsyncJonad<T> empty()
+    {
+        return fromMonad(Jonad.empty());
+    }
+
+    /**
+     * Create a completed AsyncJonad holding the given failure
+     * @param e the failure
+     * @return a completed failed AsyncJonad
+     */
+    public static <T> AsyncJonad<T> failure(final Throwable e)
+    {
+        return fromMonad(Jonad.failure(e));
+    }
+
+    /**
+     * Wrap an already evaluated Monad
+     * @param m the given Monad
+     * @return a completed AsyncJonad
+     */
+    public static <T> AsyncJonad<T> fromMonad(final Monad<T> m)
+    {
+        return new AsyncJonad<>(CompletableFuture.completedFuture(m), null);
+    }
+
+    /**
+     * Run the given supplier on the default executor
+     * @param f the supplier function providing the value to wrap
+     * @return a new AsyncJonad
+     */
+    public static <T> AsyncJonad<T> fromSupplier(final Supplier<T> f)
+    {
+        return fromSupplier(f, DefaultExecutor.get());
+    }
+
+    /**
+     * Run the given supplier on the given executor. A supplier which
+     * throws produces a failed AsyncJonad
+     * @param f        the supplier function providing the value to wrap
+     * @param executor the executor to run the supplier on
+     * @return a new AsyncJonad
+     */
+    public static <T> AsyncJonad<T> fromSupplier(final Supplier<T> f, final Executor executor)
+    {
+        return fromMonadSupplier(() -> Jonad.of(f.get()), executor);
+    }
+
+    /**
+     * Run the given Monad-bearing supplier on the given executor.
+     * A supplier which throws produces a failed AsyncJonad and
+     * one returning null produces an empty AsyncJonad
+     * @param f        the supplier function providing the Monad
+     * @param executor the executor to run the supplier on
+     * @return a new AsyncJonad
+     */
+    public static <T> AsyncJonad<T> fromMonadSupplier(final Supplier<? extends Monad<T>> f, final Executor executor)
+    {
+        final SupplierTask<T> task = new SupplierTask<>(f);
+
+        executor.execute(task);
+
+        return new AsyncJonad<>(task.future, null);
+    }
+
+    /**
+     * Adapt the given stage without blocking. A null result is
+     * empty and an exceptional result is a failure. Cancelling the
+     * AsyncJonad cancels the given stage
+     * @param stage the stage providing the value
+     * @return a new AsyncJonad
+     */
+    public static <T> AsyncJonad<T> fromFuture(final CompletionStage<T> stage)
+    {
+        final CompletableFuture<T> source = stage.toCompletableFuture();
+
+        return new AsyncJonad<>(source.handle((val, err) -> err == null ? Jonad.of(val) : AsyncJonad.<T>failed(err)),
+                () -> source.cancel(true));
+    }
+
+    static <T> AsyncJonad<T> wrap(final CompletableFuture<Monad<T>> future, final Runnable onCancel)
+    {
+        return new AsyncJonad<>(future, onCancel);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> AsyncJonad<U> then(final Function<Monad<T>, Monad<U>> f)
+    {
+        return new AsyncJonad<>(future.handle((m, err) -> f.apply(err == null ? m : (Monad<T>) failed(err))),
+                this::cancel);
+    }
+
+    static <T> Monad<T> failed(final Throwable err)
+    {
+        final Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+
+        if (cause instanceof CancellationException)
+        {
+            throw (CancellationException) cause;
+        }
+
+        return Jonad.failure(cause);
+    }
+
+    /**
+     * Transform the value into a new value from the given function
+     *
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return AsyncJonad of U
+     * @see Monad#map(Function)
+     */
+    public <U> AsyncJonad<U> map(final Function<T, U> f)
+    {
+        return then(m -> m.map(f));
+    }
+
+    /**
+     * Continue with the AsyncJonad returned by the given
+     * function once a value is present, without blocking
+     *
+     * @param <U> the type parameter
+     * @param f   the function resulting in an AsyncJonad
+     * @return AsyncJonad of U or empty
+     * @see Monad#flatMap(Function)
+     */
+    @SuppressWarnings("unchecked")
+    public <U> AsyncJonad<U> flatMap(final Function<? super T, ? extends AsyncJonad<? extends U>> f)
+    {
+        final CompletableFuture<Monad<U>> result = new CompletableFuture<>();
+        final AsyncJonad<U> next = new AsyncJonad<>(result, this::cancel);
+
+        future.whenComplete((m, err) ->
+        {
+            try
+            {
+                final Monad<T> source = err == null ? m : failed(err);
+
+                if (source.isEmpty() || source.isFailure())
+                {
+                    result.complete((Monad<U>) source);
+                    return;
+                }
+
+                final AsyncJonad<U> inner = (AsyncJonad<U>) f.apply(source.getOrNull());
+
+                result.whenComplete((r, e) ->
+                {
+                    if (result.isCancelled())
+                    {
+                        inner.cancel();
+                    }
+                });
+                inner.future.whenComplete((r, e) ->
+                {
+                    if (e == null)
+                    {
+                        result.complete(r);
+                    }
+                    else
+                    {
+                        result.completeExceptionally(e);
+                    }
+                });
+            }
+            // CSOFF: IllegalCatch
+            catch (RuntimeException e)
+            {
+                result.completeExceptionally(e);
+            }
+            // CSON: IllegalCatch
+        });
+
+        return next;
+    }
+
+    /**
+     * Apply the given Monad-bearing function once a value is present
+     *
+     * @param <U> the type parameter
+     * @param f   the function resulting in a Monad
+     * @return AsyncJonad of U or empty
+     * @see Monad#flatMap(Function)
+     */
+    public <U> AsyncJonad<U> flatMapMonad(final Function<? super T, ? extends Monad<? extends U>> f)
+    {
+        return then(m -> m.flatMap(f));
+    }
+
+    /**
+     * Retain the value if it matches the given predicate
+     *
+     * @param f the predicate function
+     * @return AsyncJonad of T or empty
+     * @see Monad#filter(Predicate)
+     */
+    public AsyncJonad<T> filter(final Predicate<? super T> f)
+    {
+        return then(m -> m.filter(f));
+    }
+
+    /**
+     * Retain the value if the Monad returned by the
+     * given predicate function holds true
+     *
+     * @param f the predicate function
+     * @return AsyncJonad of T or empty
+     * @see Monad#filterWhen(Function)
+     */
+    public AsyncJonad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+    {
+        return then(m -> m.filterWhen(f));
+    }
+
+    /**
+     * Try and map the value, failing if the function throws
+     *
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return AsyncJonad of U
+     * @see Monad#tryMap(Function)
+     */
+    public <U> AsyncJonad<U> tryMap(final Function<T, U> f)
+    {
+        return then(m -> m.tryMap(f));
+    }
+
+    /**
+     * Switch to an alternative Monad if this is empty
+     *
+     * @param <U> the type parameter
+     * @param u   the alternative Monad
+     * @return AsyncJonad of U
+     * @see Monad#switchIfEmpty(Monad)
+     */
+    public <U> AsyncJonad<U> switchIfEmpty(final Monad<U> u)
+    {
+        return then(m -> m.switchIfEmpty(u));
+    }
+
+    /**
+     * Switch to an alternative AsyncJonad if this is empty
+     *
+     * @param <U> the type parameter
+     * @param u   the alternative AsyncJonad
+     * @return AsyncJonad of U
+     */
+    @SuppressWarnings("unchecked")
+    public <U> AsyncJonad<U> switchIfEmpty(final AsyncJonad<U> u)
+    {
+        return ((AsyncJonad<U>) this).orIfEmpty(u);
+    }
+
+    private AsyncJonad<T> orIfEmpty(final AsyncJonad<T> u)
+    {
+        final CompletableFuture<Monad<T>> result = future
+                .handle((m, err) -> err == null ? m : AsyncJonad.<T>failed(err))
+                .thenCompose(m -> m.isEmpty() ? u.future : CompletableFuture.completedFuture(m));
+
+        return new AsyncJonad<>(result, () ->
+        {
+            cancel();
+            u.cancel();
+        });
+    }
+
+    /**
+     * Run the given fallback on the default executor if this is
+     * empty, giving up and staying empty after the given timeout
+     *
+     * @param <U>     the type parameter
+     * @param f       the fallback supplier
+     * @param timeout how long to wait for the fallback
+     * @return AsyncJonad of U
+     * @see #switchIfEmpty(Supplier, Duration, Executor)
+     */
+    public <U> AsyncJonad<U> switchIfEmpty(final Supplier<? extends Monad<U>> f, final Duration timeout)
+    {
+        return switchIfEmpty(f, timeout, DefaultExecutor.get());
+    }
+
+    /**
+     * Run the given fallback on the given executor if this is
+     * empty. A fallback still running after the given timeout is
+     * cancelled and the result stays empty, so a slow fallback
+     * can't add more than the timeout to the latency of a miss
+     *
+     * @param <U>      the type parameter
+     * @param f        the fallback supplier
+     * @param timeout  how long to wait for the fallback
+     * @param executor the executor to run the fallback on
+     * @return AsyncJonad of U
+     */
+    @SuppressWarnings("unchecked")
+    public <U> AsyncJonad<U> switchIfEmpty(final Supplier<? extends Monad<U>> f, final Duration timeout,
+                                           final Executor executor)
+    {
+        return ((AsyncJonad<U>) this).orIfEmpty(f, timeout, executor);
+    }
+
+    private AsyncJonad<T> orIfEmpty(final Supplier<? extends Monad<T>> f, final Duration timeout,
+                                    final Executor executor)
+    {
+        final AtomicReference<AsyncJonad<T>> fallback = new AtomicReference<>();
+        final CompletableFuture<Monad<T>> result = future
+                .handle((m, err) -> err == null ? m : AsyncJonad.<T>failed(err))
+                .thenCompose(m ->
+                {
+                    if (!m.isEmpty())
+                    {
+                        return CompletableFuture.completedFuture(m);
+                    }
+
+                    final AsyncJonad<T> u = fromMonadSupplier(f, executor).within(timeout, Jonad::empty);
+
+                    fallback.set(u);
+
+                    return u.future;
+                });
+
+        return new AsyncJonad<>(result, () ->
+        {
+            cancel();
+
+            final AsyncJonad<T> u = fallback.get();
+
+            if (u != null)
+            {
+                u.cancel();
+            }
+        });
+    }
+
+    /**
+     * Fail with a {@link TimeoutException} if this hasn't completed
+     * within the given timeout, cancelling every stage it was built
+     * from. The timer runs on a shared scheduler thread, so no
+     * thread is blocked while waiting, and the timeout failure is
+     * completed on the default executor
+     *
+     * @param timeout how long to wait
+     * @return AsyncJonad of T
+     */
+    public AsyncJonad<T> timeout(final Duration timeout)
+    {
+        return within(timeout, () -> Jonad.failure(new TimeoutException("Timed out after " + timeout)));
+    }
+
+    /**
+     * Complete with the given Monad if this hasn't completed within
+     * the given timeout, cancelling every stage it was built from
+     */
+    AsyncJonad<T> within(final Duration timeout, final Supplier<? extends Monad<T>> onTimeout)
+    {
+        final CompletableFuture<Monad<T>> result = new CompletableFuture<>();
+        final AtomicBoolean settled = new AtomicBoolean();
+        final ScheduledFuture<?> timer = DefaultScheduler.schedule(() ->
+        {
+            if (settled.compareAndSet(false, true))
+            {
+                // cancel before completing, so waiters never see the timeout ahead of the cancellation,
+                // and complete on the executor so no downstream stage runs on the scheduler thread
+                cancel();
+                DefaultExecutor.get().execute(() -> result.complete(onTimeout.get()));
+            }
+        }, timeout);
+
+        result.whenComplete((m, err) -> timer.cancel(false));
+        future.whenComplete((m, err) ->
+        {
+            if (!settled.compareAndSet(false, true))
+            {
+                return;
+            }
+
+            if (err == null)
+            {
+                result.complete(m);
+            }
+            else
+            {
+                result.completeExceptionally(err);
+            }
+        });
+
+        return new AsyncJonad<>(result, this::cancel);
+    }
+
+    /**
+     * Default to an alternative value if this is empty
+     *
+     * @param <U> the type parameter
+     * @param u   the default value
+     * @return AsyncJonad of U
+     * @see Monad#defaultIfEmpty(Object)
+     */
+    public <U> AsyncJonad<U> defaultIfEmpty(final U u)
+    {
+        return then(m -> m.defaultIfEmpty(u));
+    }
+
+    /**
+     * Perform a side-effect if this is empty
+     *
+     * @param <U> the type parameter
+     * @param f   the function to apply
+     * @return AsyncJonad of T
+     * @see Monad#doIfEmpty(Consumer)
+     */
+    public <U> AsyncJonad<T> doIfEmpty(final Consumer<U> f)
+    {
+        return then(m -> m.doIfEmpty(f));
+    }
+
+    /**
+     * Perform a side-effect if a value is present
+     *
+     * @param <U> the type parameter
+     * @param f   the consumer function
+     * @return AsyncJonad of T
+     * @see Monad#doIfPresent(Consumer)
+     */
+    public <U> AsyncJonad<T> doIfPresent(final Consumer<U> f)
+    {
+        return then(m -> m.doIfPresent(f));
+    }
+
+    /**
+     * Perform a side-effect if this holds an error
+     *
+     * @param <E> the type parameter
+     * @param f   the error consumer
+     * @return AsyncJonad of T
+     * @see Monad#doOnError(Consumer)
+     */
+    public <E extends Throwable> AsyncJonad<T> doOnError(final Consumer<E> f)
+    {
+        return then(m -> m.doOnError(f));
+    }
+
+    /**
+     * Perform a side-effect if this holds an error of the given type
+     *
+     * @param <E> the type parameter
+     * @param e   the error type to match
+     * @param f   the error consumer
+     * @return AsyncJonad of T
+     * @see Monad#doOnError(Class, Consumer)
+     */
+    public <E extends Throwable> AsyncJonad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
+    {
+        return then(m -> m.doOnError(e, f));
+    }
+
+    /**
+     * Perform a side-effect if this holds an error matching the predicate
+     *
+     * @param <U> the type parameter
+     * @param p   the predicate function
+     * @param f   the error consumer
+     * @return AsyncJonad of T
+     * @see Monad#doOnErrorMatching(Predicate, Consumer)
+     */
+    public <U> AsyncJonad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+    {
+        return then(m -> m.doOnErrorMatching(p, f));
+    }
+
+    /**
+     * Map to an alternative value if this holds an error
+     *
+     * @param <E> the type parameter
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return AsyncJonad of U
+     * @see Monad#onErrorMap(Function)
+     */
+    public <E extends Throwable, U> AsyncJonad<U> onErrorMap(final Function<E, U> f)
+    {
+        return then(m -> m.onErrorMap(f));
+    }
+
+    /**
+     * Map to an alternative value if this holds an error matching the predicate
+     *
+     * @param <E> the type parameter
+     * @param <U> the type parameter
+     * @param p   the predicate function
+     * @param f   the mapping function
+     * @return AsyncJonad of U
+     * @see Monad#onErrorMapMatching(Predicate, Function)
+     */
+    public <E extends Throwable, U> AsyncJonad<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
+    {
+        return then(m -> m.onErrorMapMatching(p, f));
+    }
+
+    /**
+     * Map to an alternative Monad if this holds an error
+     *
+     * @param <E> the type parameter
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return AsyncJonad of U
+     * @see Monad#onErrorFlatMap(Function)
+     */
+    public <E extends Throwable, U> AsyncJonad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
+    {
+        return then(m -> m.onErrorFlatMap(f));
+    }
+
+    /**
+     * Map to an alternative Monad if this holds an error matching the predicate
+     *
+     * @param <E> the type parameter
+     * @param <U> the type parameter
+     * @param p   the predicate function
+     * @param f   the mapping function
+     * @return AsyncJonad of U
+     * @see Monad#onErrorFlatMapMatching(Predicate, Function)
+     */
+    public <E extends Throwable, U> AsyncJonad<U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                         final Function<E, Monad<U>> f)
+    {
+        return then(m -> m.onErrorFlatMapMatching(p, f));
+    }
+
+    /**
+     * Cancel this AsyncJonad and every stage it was built from
+     *
+     * @return true if this AsyncJonad was cancelled before it completed
+     */
+    public boolean cancel()
+    {
+        final boolean cancelled = future.cancel(true);
+
+        if (onCancel != null)
+        {
+            onCancel.run();
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Return true if this AsyncJonad was cancelled
+     *
+     * @return boolean true if cancelled
+     */
+    public boolean isCancelled()
+    {
+        return future.isCancelled();
+    }
+
+    /**
+     * Return true if this AsyncJonad has completed
+     *
+     * @return boolean true if completed
+     */
+    public boolean isDone()
+    {
+        return future.isDone();
+    }
+
+    /**
+     * Convert this AsyncJonad to a {@link CompletableFuture} without
+     * blocking. Cancelling the returned future cancels this AsyncJonad
+     *
+     * @return a future of the resulting Monad
+     */
+    public CompletableFuture<Monad<T>> toFuture()
+    {
+        final CompletableFuture<Monad<T>> copy = future.thenApply(Function.identity());
+
+        copy.whenComplete((m, err) ->
+        {
+            if (copy.isCancelled())
+            {
+                cancel();
+            }
+        });
+
+        return copy;
+    }
+
+    /**
+     * Block until the resulting Monad is available. Intended for the
+     * edges of an application, such as tests and main methods
+     *
+     * @return the resulting Monad
+     * @throws CancellationException if this AsyncJonad was cancelled
+     */
+    public Monad<T> join()
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new CancellationException("Interrupted while joining");
+        }
+        catch (ExecutionException e)
+        {
+            return failed(e.getCause());
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        if (!future.isDone())
+        {
+            return "AsyncJonad(pending)";
+        }
+
+        return future.isCancelled() ? "AsyncJonad(cancelled)" : "AsyncJonad(" + join() + ")";
+    }
+
+    /**
+     * Runs a supplier on an executor, recording the running
+     * thread so cancellation can interrupt it
+     *
+     * @param <T> the type parameter
+     */
+    private static final class SupplierTask<T> implements Runnable
+    {
+        private final Supplier<? extends Monad<T>> f;
+
+        private final CompletableFuture<Monad<T>> future = new CompletableFuture<>();
+
+        private final AtomicReference<Thread> runner = new AtomicReference<>();
+
+        private volatile boolean interrupted;
+
+        SupplierTask(final Supplier<? extends Monad<T>> f)
+        {
+            this.f = f;
+            future.whenComplete((m, err) ->
+            {
+                if (future.isCancelled())
+                {
+                    interrupt();
+                }
+            });
+        }
+
+        private void interrupt()
+        {
+            final Thread thread = runner.getAndSet(null);
+
+            if (thread != null)
+            {
+                thread.interrupt();
+                interrupted = true;
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            runner.set(Thread.currentThread());
+
+            try
+            {
+                if (!future.isDone())
+                {
+                    final Monad<T> m = f.get();
+
+                    future.complete(m == null ? Jonad.empty() : m);
+                }
+            }
+            // CSOFF: IllegalCatch
+            catch (Error e)
+            {
+                future.completeExceptionally(e);
+                throw e;
+            }
+            catch (Throwable e)
+            {
+                fail(e);
+            }
+            // CSON: IllegalCatch
+            finally
+            {
+                clearInterrupt();
+            }
+        }
+
+        /**
+         * Complete with the failure thrown by the supplier, which may be
+         * a checked exception thrown sneakily or a wrapped cancellation
+         */
+        private void fail(final Throwable e)
+        {
+            try
+            {
+                future.complete(failed(e));
+            }
+            catch (CancellationException c)
+            {
+                // failed rethrows a cancellation, so pass it straight to the waiters
+                future.completeExceptionally(c);
+            }
+        }
+
+        private void clearInterrupt()
+        {
+            if (runner.getAndSet(null) != null)
+            {
+                return;
+            }
+
+            // Cancellation claimed this thread, wait for its interrupt
+            // so it can't leak into the next task run by the executor
+            while (!interrupted)
+            {
+                Thread.onSpinWait();
+            }
+
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package jonad.model;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Collects single key lookups into calls to a bulk function, for
+ * backends where one call for many keys costs about the same as a
+ * call for one. Use it in place of the mapping function of
+ * {@link AsyncJonad#flatMap(Function)}.
+ * <p>
+ * The first key of a batch starts a timer for the dispatch window,
+ * and every distinct key asked for before it fires joins the same
+ * batch. A batch is sent early once it reaches the maximum batch
+ * size, or when {@link #dispatch()} is called. Each caller gets
+ * its own AsyncJonad, which is empty when the bulk function has no
+ * value for the key and failed when the bulk function throws.
+ * <p>
+ * Results are cached for the life of the loader, so a key is only
+ * sent to the backend once. Failures are not cached. A loader is
+ * meant to be created per request, or cleared between requests,
+ * so the cache never serves data from an earlier one
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class BatchLoader<K, V> implements Function<K, AsyncJonad<V>>
+{
+    /**
+     * The default number of keys sent in one call
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    /**
+     * The default time keys are collected for before a call
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(1);
+
+    private final Function<? super Set<K>, ? extends Map<K, V>> f;
+
+    private final int maxBatchSize;
+
+    private final Duration window;
+
+    private final Executor executor;
+
+    private final ConcurrentHashMap<K, CompletableFuture<Monad<V>>> cache = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder batches = new LongAdder();
+
+    private Map<K, CompletableFuture<Monad<V>>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> timer;
+
+    private BatchLoader(final Function<? super Set<K>, ? extends Map<K, V>> f, final int maxBatchSize,
+                        final Duration window, final Executor executor)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("Maximum batch size must be positive: " + maxBatchSize);
+        }
+
+        if (window.isNegative())
+        {
+            throw new IllegalArgumentException("Window must not be negative: " + window);
+        }
+
+        this.f = f;
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.executor = executor;
+    }
+
+    /**
+     * Batch lookups into calls to the given bulk function, sending
+     * up to 100 keys collected over a 1ms window on the default executor
+     * @param f the bulk function, returning the values found for the given keys
+     * @return a new BatchLoader
+     */
+    public static <K, V> BatchLoader<K, V> of(final Function<? super Set<K>, ? extends Map<K, V>> f)
+    {
+        return of(f, DEFAULT_MAX_BATCH_SIZE, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Batch lookups into calls to the given bulk function
+     * on the default executor
+     * @param f            the bulk function, returning the values found for the given keys
+     * @param maxBatchSize the most keys to send in one call
+     * @param window       how long to collect keys for before a call
+     * @return a new BatchLoader
+     */
+    public static <K, V> BatchLoader<K, V> of(final Function<? super Set<K>, ? extends Map<K, V>> f,
+                                              final int maxBatchSize, final Duration window)
+    {
+        return of(f, maxBatchSize, window, DefaultExecutor.get());
+    }
+
+    /**
+     * Batch lookups into calls to the given bulk function
+     * @param f            the bulk function, returning the values found for the given keys
+     * @param maxBatchSize the most keys to send in one call
+     * @param window       how long to collect keys for before a call
+     * @param executor     the executor to call the bulk function on
+     * @return a new BatchLoader
+     */
+    public static <K, V> BatchLoader<K, V> of(final Function<? super Set<K>, ? extends Map<K, V>> f,
+                                              final int maxBatchSize, final Duration window,
+                                              final Executor executor)
+    {
+        return new BatchLoader<>(f, maxBatchSize, window, executor);
+    }
+
+    /**
+     * Look up the given key in the next batch, or in the cache.
+     * A null key is empty and never sent
+     * @param key the key to look up
+     * @return an AsyncJonad completing with the value for the key
+     */
+    @Override
+    public AsyncJonad<V> apply(final K key)
+    {
+        if (key == null)
+        {
+            return AsyncJonad.empty();
+        }
+
+        CompletableFuture<Monad<V>> result = cache.get(key);
+
+        if (result == null)
+        {
+            final CompletableFuture<Monad<V>> loading = new CompletableFuture<>();
+
+            result = cache.putIfAbsent(key, loading);
+
+            if (result == null)
+            {
+                result = loading;
+                enqueue(key, loading);
+            }
+        }
+
+        return AsyncJonad.wrap(result.thenApply(Function.identity()), null);
+    }
+
+    /**
+     * Send every key collected so far without
+     * waiting for the dispatch window to end
+     */
+    public void dispatch()
+    {
+        final Map<K, CompletableFuture<Monad<V>>> batch;
+
+        lock.lock();
+
+        try
+        {
+            batch = take();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        send(batch);
+    }
+
+    /**
+     * Forget the cached result for the given key
+     * @param key the key to forget
+     */
+    public void clear(final K key)
+    {
+        final CompletableFuture<Monad<V>> result = cache.get(key);
+
+        if (result != null && result.isDone())
+        {
+            cache.remove(key, result);
+        }
+    }
+
+    /**
+     * Forget every cached result, leaving keys
+     * which are still waiting to be sent
+     */
+    public void clearAll()
+    {
+        cache.values().removeIf(CompletableFuture::isDone);
+    }
+
+    /**
+     * Return the number of calls made to the bulk function
+     * @return the number of batches sent
+     */
+    public long batchCount()
+    {
+        return batches.sum();
+    }
+
+    private void enqueue(final K key, final CompletableFuture<Monad<V>> loading)
+    {
+        Map<K, CompletableFuture<Monad<V>>> batch = null;
+
+        lock.lock();
+
+        try
+        {
+            pending.put(key, loading);
+
+            if (pending.size() >= maxBatchSize)
+            {
+                batch = take();
+            }
+            else if (timer == null)
+            {
+                timer = DefaultScheduler.schedule(this::dispatch, window);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        send(batch);
+    }
+
+    /**
+     * Take the pending batch and stop its timer, called with the lock held
+     */
+    private Map<K, CompletableFuture<Monad<V>>> take()
+    {
+        final Map<K, CompletableFuture<Monad<V>>> batch = pending;
+
+        pending = new LinkedHashMap<>();
+
+        if (timer != null)
+        {
+            timer.cancel(false);
+            timer = null;
+        }
+
+        return batch;
+    }
+
+    private void send(final Map<K, CompletableFuture<Monad<V>>> batch)
+    {
+        if (batch == null || batch.isEmpty())
+        {
+            return;
+        }
+
+        try
+        {
+            executor.execute(() -> load(batch));
+        }
+        catch (RejectedExecutionException e)
+        {
+            fail(batch, e);
+        }
+    }
+
+    private void load(final Map<K, CompletableFuture<Monad<V>>> batch)
+    {
+        batches.increment();
+
+        try
+        {
+            final Map<K, V> found = f.apply(Collections.unmodifiableSet(batch.keySet()));
+
+            batch.forEach((key, result) -> result.complete(Jonad.of(found == null ? null : found.get(key))));
+        }
+        // CSOFF: IllegalCatch
+        catch (Throwable e)
+        {
+            // Whatever was thrown, by the bulk function or by reading its
+            // map, no key of the batch may be left waiting
+            fail(batch, e);
+
+            if (e instanceof Error)
+            {
+                throw (Error) e;
+            }
+        }
+        // CSON: IllegalCatch
+    }
+
+    /**
+     * Fail every key of the batch which hasn't completed yet
+     */
+    private void fail(final Map<K, CompletableFuture<Monad<V>>> batch, final Throwable e)
+    {
+        batch.forEach((key, result) ->
+        {
+            if (!result.isDone())
+            {
+                cache.remove(key, result);
+                result.complete(Jonad.failure(e));
+            }
+        });
+    }
+}
@@ -0,0 +1,397 @@
+package jonad.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Applies a Monad operator to every element of a list, array or
+ * {@link Spliterator} without wrapping each element in a Monad.
+ * Null elements and null results count as empty, and errors thrown
+ * by {@link #tryMap(List, Function)} count as errors. Inputs larger
+ * than the sequential threshold are split and processed on a
+ * fork/join pool; results always keep the encounter order
+ */
+public final class Bulk
+{
+    /**
+     * The default number of elements below which work isn't split
+     */
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private static final Bulk DEFAULT = new Bulk(DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+
+    private final int threshold;
+
+    private final ForkJoinPool pool;
+
+    private Bulk(final int threshold, final ForkJoinPool pool)
+    {
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    /**
+     * Bulk operators with the default threshold running on the common pool
+     *
+     * @return the default Bulk operators
+     */
+    public static Bulk defaults()
+    {
+        return DEFAULT;
+    }
+
+    /**
+     * Copy these operators with a new sequential threshold
+     *
+     * @param sequentialThreshold the number of elements below which work isn't split
+     * @return the configured Bulk operators
+     */
+    public Bulk withThreshold(final int sequentialThreshold)
+    {
+        if (sequentialThreshold < 1)
+        {
+            throw new IllegalArgumentException("Threshold must be positive: " + sequentialThreshold);
+        }
+
+        return new Bulk(sequentialThreshold, pool);
+    }
+
+    /**
+     * Copy these operators to run on the given pool
+     *
+     * @param forkJoinPool the fork/join pool to split work onto
+     * @return the configured Bulk operators
+     */
+    public Bulk withPool(final ForkJoinPool forkJoinPool)
+    {
+        return new Bulk(threshold, forkJoinPool);
+    }
+
+    /**
+     * Map every element, as {@link Monad#map(Function)} would
+     *
+     * @param <T>    the input type
+     * @param <U>    the result type
+     * @param values the input values
+     * @param f      the mapping function
+     * @return the present results with the empty count
+     */
+    public <T, U> BulkResult<U> map(final List<? extends T> values, final Function<? super T, ? extends U> f)
+    {
+        return run(values.spliterator(), mapping(f));
+    }
+
+    /**
+     * Map every element, as {@link Monad#map(Function)} would
+     *
+     * @param <T>    the input type
+     * @param <U>    the result type
+     * @param values the input values
+     * @param f      the mapping function
+     * @return the present results with the empty count
+     */
+    public <T, U> BulkResult<U> map(final T[] values, final Function<? super T, ? extends U> f)
+    {
+        return run(Arrays.spliterator(values), mapping(f));
+    }
+
+    /**
+     * Map every element, as {@link Monad#map(Function)} would
+     *
+     * @param <T>    the input type
+     * @param <U>    the result type
+     * @param values the input values
+     * @param f      the mapping function
+     * @return the present results with the empty count
+     */
+    public <T, U> BulkResult<U> map(final Spliterator<? extends T> values, final Function<? super T, ? extends U> f)
+    {
+        return run(values, mapping(f));
+    }
+
+    /**
+     * Retain the elements matching the given predicate,
+     * as {@link Monad#filter(Predicate)} would
+     *
+     * @param <T>    the input type
+     * @param values the input values
+     * @param f      the predicate function
+     * @return the retained values with the empty count
+     */
+    public <T> BulkResult<T> filter(final List<? extends T> values, final Predicate<? super T> f)
+    {
+        return run(values.spliterator(), filtering(f));
+    }
+
+    /**
+     * Retain the elements matching the given predicate,
+     * as {@link Monad#filter(Predicate)} would
+     *
+     * @param <T>    the input type
+     * @param values the input values
+     * @param f      the predicate function
+     * @return the retained values with the empty count
+     */
+    public <T> BulkResult<T> filter(final T[] values, final Predicate<? super T> f)
+    {
+        return run(Arrays.spliterator(values), filtering(f));
+    }
+
+    /**
+     * Retain the elements matching the given predicate,
+     * as {@link Monad#filter(Predicate)} would
+     *
+     * @param <T>    the input type
+     * @param values the input values
+     * @param f      the predicate function
+     * @return the retained values with the empty count
+     */
+    public <T> BulkResult<T> filter(final Spliterator<? extends T> values, final Predicate<? super T> f)
+    {
+        return run(values, filtering(f));
+    }
+
+    /**
+     * Map every element, counting those whose mapping
+     * function throws as errors
+     *
+     * @param <T>    the input type
+     * @param <U>    the result type
+     * @param values the input values
+     * @param f      the mapping function
+     * @return the present results with the empty and error counts
+     */
+    public <T, U> BulkResult<U> tryMap(final List<? extends T> values, final Function<? super T, ? extends U> f)
+    {
+        return run(values.spliterator(), tryMapping(f));
+    }
+
+    /**
+     * Map every element, counting those whose mapping
+     * function throws as errors
+     *
+     * @param <T>    the input type
+     * @param <U>    the result type
+     * @param values the input values
+     * @param f      the mapping function
+     * @return the present results with the empty and error counts
+     */
+    public <T, U> BulkResult<U> tryMap(final T[] values, final Function<? super T, ? extends U> f)
+    {
+        return run(Arrays.spliterator(values), tryMapping(f));
+    }
+
+    /**
+     * Map every element, counting those whose mapping
+     * function throws as errors
+     *
+     * @param <T>    the input type
+     * @param <U>    the result type
+     * @param values the input values
+     * @param f      the mapping function
+     * @return the present results with the empty and error counts
+     */
+    public <T, U> BulkResult<U> tryMap(final Spliterator<? extends T> values,
+                                       final Function<? super T, ? extends U> f)
+    {
+        return run(values, tryMapping(f));
+    }
+
+    private static <T, U> Op<T, U> mapping(final Function<? super T, ? extends U> f)
+    {
+        return (val, acc) ->
+        {
+            if (val == null)
+            {
+                acc.empty++;
+                return;
+            }
+
+            acc.add(f.apply(val));
+        };
+    }
+
+    private static <T> Op<T, T> filtering(final Predicate<? super T> f)
+    {
+        return (val, acc) ->
+        {
+            if (val == null || !f.test(val))
+            {
+                acc.empty++;
+                return;
+            }
+
+            acc.values.add(val);
+        };
+    }
+
+    private static <T, U> Op<T, U> tryMapping(final Function<? super T, ? extends U> f)
+    {
+        return (val, acc) ->
+        {
+            if (val == null)
+            {
+                acc.empty++;
+                return;
+            }
+
+            final U result;
+
+            try
+            {
+                result = f.apply(val);
+            }
+            // CSOFF: IllegalCatch
+            catch (Exception e)
+            {
+                acc.errors++;
+                return;
+            }
+            // CSON: IllegalCatch
+
+            acc.add(result);
+        };
+    }
+
+    private <T, U> BulkResult<U> run(final Spliterator<? extends T> values, final Op<T, U> op)
+    {
+        final Partial<U> result = values.estimateSize() <= threshold
+                ? sequential(values, op)
+                : pool.invoke(new Task<>(values, op, threshold));
+
+        return result.toResult();
+    }
+
+    private static <T, U> Partial<U> sequential(final Spliterator<? extends T> values, final Op<T, U> op)
+    {
+        final long size = values.estimateSize();
+        final Partial<U> acc = new Partial<>(size < Integer.MAX_VALUE ? (int) size : 0);
+
+        values.forEachRemaining(val -> op.accept(val, acc));
+
+        return acc;
+    }
+
+    /**
+     * Applies an operator to one element, recording
+     * the outcome in the given accumulator
+     *
+     * @param <T> the input type
+     * @param <U> the result type
+     */
+    @FunctionalInterface
+    private interface Op<T, U>
+    {
+        void accept(T val, Partial<U> acc);
+    }
+
+    /**
+     * The results of one leaf of work. Leaves are linked in
+     * encounter order so results are only copied once
+     *
+     * @param <U> the result type
+     */
+    private static final class Partial<U>
+    {
+        private final List<List<U>> chunks = new ArrayList<>(1);
+
+        private final List<U> values;
+
+        private long empty;
+
+        private long errors;
+
+        private long present;
+
+        Partial(final int expected)
+        {
+            values = new ArrayList<>(expected);
+            chunks.add(values);
+        }
+
+        void add(final U val)
+        {
+            if (val == null)
+            {
+                empty++;
+                return;
+            }
+
+            values.add(val);
+        }
+
+        Partial<U> merge(final Partial<U> next)
+        {
+            present += next.present + next.values.size();
+            empty += next.empty;
+            errors += next.errors;
+            chunks.addAll(next.chunks);
+
+            return this;
+        }
+
+        BulkResult<U> toResult()
+        {
+            if (chunks.size() == 1)
+            {
+                return new BulkResult<>(Collections.unmodifiableList(values), empty, errors);
+            }
+
+            final List<U> all = new ArrayList<>((int) (present + values.size()));
+
+            chunks.forEach(all::addAll);
+
+            return new BulkResult<>(Collections.unmodifiableList(all), empty, errors);
+        }
+    }
+
+    /**
+     * Splits the input until it is below the threshold
+     *
+     * @param <T> the input type
+     * @param <U> the result type
+     */
+    private static final class Task<T, U> extends RecursiveTask<Partial<U>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Spliterator<? extends T> values;
+
+        private final transient Op<T, U> op;
+
+        private final int threshold;
+
+        Task(final Spliterator<? extends T> values, final Op<T, U> op, final int threshold)
+        {
+            this.values = values;
+            this.op = op;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Partial<U> compute()
+        {
+            final Spliterator<? extends T> prefix = values.estimateSize() > threshold ? values.trySplit() : null;
+
+            if (prefix == null)
+            {
+                return sequential(values, op);
+            }
+
+            final Task<T, U> left = new Task<>(prefix, op, threshold);
+
+            left.fork();
+
+            final Partial<U> right = new Task<>(values, op, threshold).compute();
+
+            return left.join().merge(right);
+        }
+    }
+}
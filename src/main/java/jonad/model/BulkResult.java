@@ -0,0 +1,42 @@
+package jonad.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk operator: the present results in
+ * encounter order plus the number of inputs which ended
+ * empty or with an error
+ *
+ * @param <T> the type parameter
+ */
+@Value
+public class BulkResult<T>
+{
+    private final List<T> values;
+
+    private final long emptyCount;
+
+    private final long errorCount;
+
+    /**
+     * The number of inputs which produced a present result
+     *
+     * @return the present count
+     */
+    public long getPresentCount()
+    {
+        return values.size();
+    }
+
+    /**
+     * The total number of inputs processed
+     *
+     * @return the total count
+     */
+    public long getTotalCount()
+    {
+        return values.size() + emptyCount + errorCount;
+    }
+}
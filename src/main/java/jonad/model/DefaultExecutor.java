@@ -0,0 +1,38 @@
+package jonad.model;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holds the executor used by the asynchronous operators when
+ * none is given. Virtual threads are used when the running JVM
+ * provides them, otherwise the common fork/join pool
+ */
+final class DefaultExecutor
+{
+    private static final Executor EXECUTOR = create();
+
+    private DefaultExecutor()
+    {
+    }
+
+    static Executor get()
+    {
+        return EXECUTOR;
+    }
+
+    private static Executor create()
+    {
+        try
+        {
+            return (Executor) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        }
+        catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+        {
+            return ForkJoinPool.commonPool();
+        }
+    }
+}
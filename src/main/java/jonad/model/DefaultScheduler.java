@@ -0,0 +1,62 @@
+package jonad.model;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the single daemon thread used to time out and delay
+ * asynchronous operators. Timers only complete futures or hand
+ * work to an executor, so one thread serves any number of
+ * outstanding timeouts and retries, and cancelled timers are
+ * removed from its queue straight away
+ */
+final class DefaultScheduler
+{
+    private static final ScheduledThreadPoolExecutor SCHEDULER = create();
+
+    private static final Duration MAX_NANOS = Duration.ofNanos(Long.MAX_VALUE);
+
+    private static final Duration MIN_NANOS = Duration.ofNanos(Long.MIN_VALUE);
+
+    private DefaultScheduler()
+    {
+    }
+
+    static ScheduledFuture<?> schedule(final Runnable r, final Duration delay)
+    {
+        return SCHEDULER.schedule(r, Math.max(0, toNanos(delay)), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Convert the given duration to nanoseconds, saturating at the
+     * bounds of a long where {@link Duration#toNanos()} would throw,
+     * so a delay of centuries waits forever rather than failing
+     */
+    static long toNanos(final Duration d)
+    {
+        if (d.compareTo(MAX_NANOS) >= 0)
+        {
+            return Long.MAX_VALUE;
+        }
+
+        return d.compareTo(MIN_NANOS) <= 0 ? Long.MIN_VALUE : d.toNanos();
+    }
+
+    private static ScheduledThreadPoolExecutor create()
+    {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r ->
+        {
+            final Thread thread = new Thread(r, "jonad-scheduler");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        return scheduler;
+    }
+}
@@ -0,0 +1,573 @@
+package jonad.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A column of optional double values held as one primitive array
+ * with a presence bitmap and a failure bitmap, in place of a list of
+ * boxed Monads. Each row is present, empty or failed, and operators
+ * apply the semantics of the matching {@link Monad} operator to every
+ * row at once.
+ * <p>
+ * Loops run a 64-bit bitmap word at a time: a word of present rows
+ * is a plain indexed loop over the array, an empty word is skipped
+ * and a sparse word visits only its set bits. Columns are immutable,
+ * so operators which only change presence, such as filter, share the
+ * value array rather than copying it
+ */
+public final class DoubleColumn
+{
+    private static final int WORD_SHIFT = 6;
+
+    private static final int WORD_SIZE = 64;
+
+    private final double[] values;
+
+    private final long[] present;
+
+    private final long[] failed;
+
+    private final Throwable[] failures;
+
+    private final int size;
+
+    private DoubleColumn(final double[] values, final long[] present, final long[] failed,
+                         final Throwable[] failures, final int size)
+    {
+        this.values = values;
+        this.present = present;
+        this.failed = failed;
+        this.failures = failures;
+        this.size = size;
+    }
+
+    private static int words(final int size)
+    {
+        return (size + WORD_SIZE - 1) >>> WORD_SHIFT;
+    }
+
+    private static long[] allSet(final int size)
+    {
+        final long[] bits = new long[words(size)];
+
+        Arrays.fill(bits, -1L);
+
+        if (size % WORD_SIZE != 0)
+        {
+            bits[bits.length - 1] = -1L >>> (WORD_SIZE - size % WORD_SIZE);
+        }
+
+        return bits;
+    }
+
+    /**
+     * Create a column in which every row is present
+     * @param values the values, which are copied
+     * @return a new DoubleColumn
+     */
+    public static DoubleColumn of(final double... values)
+    {
+        return new DoubleColumn(values.clone(), allSet(values.length), new long[words(values.length)], null,
+                values.length);
+    }
+
+    /**
+     * Create a column in which every row is empty
+     * @param size the number of rows
+     * @return a new DoubleColumn
+     */
+    public static DoubleColumn empty(final int size)
+    {
+        return new DoubleColumn(new double[size], new long[words(size)], new long[words(size)], null, size);
+    }
+
+    /**
+     * Create a column from the given Monads, one row each,
+     * keeping empty and failed Monads as empty and failed rows
+     * @param monads the Monads of numbers
+     * @return a new DoubleColumn
+     */
+    public static DoubleColumn fromMonads(final List<? extends Monad<? extends Number>> monads)
+    {
+        final int size = monads.size();
+        final double[] values = new double[size];
+        final long[] present = new long[words(size)];
+        final long[] failed = new long[words(size)];
+        Throwable[] failures = null;
+        int i = 0;
+
+        for (final Monad<? extends Number> m : monads)
+        {
+            if (m.isFailure())
+            {
+                failures = failures == null ? new Throwable[size] : failures;
+                failures[i] = m.getFailureOrNull();
+                failed[i >>> WORD_SHIFT] |= 1L << i;
+            }
+            else
+            {
+                final Number val = m.getOrNull();
+
+                if (val != null)
+                {
+                    values[i] = val.doubleValue();
+                    present[i >>> WORD_SHIFT] |= 1L << i;
+                }
+            }
+
+            i++;
+        }
+
+        return new DoubleColumn(values, present, failed, failures, size);
+    }
+
+    /**
+     * Create a column from the given DoubleJonads, one row each
+     * @param jonads the DoubleJonads
+     * @return a new DoubleColumn
+     */
+    public static DoubleColumn fromDoubleJonads(final List<DoubleJonad> jonads)
+    {
+        final int size = jonads.size();
+        final double[] values = new double[size];
+        final long[] present = new long[words(size)];
+        int i = 0;
+
+        for (final DoubleJonad d : jonads)
+        {
+            if (!d.isEmpty())
+            {
+                values[i] = d.getOrDefault(0);
+                present[i >>> WORD_SHIFT] |= 1L << i;
+            }
+
+            i++;
+        }
+
+        return new DoubleColumn(values, present, new long[words(size)], null, size);
+    }
+
+    /**
+     * The number of rows
+     * @return the size
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Return true if the given row holds a value
+     * @param i the row index
+     * @return boolean true if present
+     */
+    public boolean isPresent(final int i)
+    {
+        return (present[Objects.checkIndex(i, size) >>> WORD_SHIFT] & 1L << i) != 0;
+    }
+
+    /**
+     * Return true if the given row failed
+     * @param i the row index
+     * @return boolean true if failed
+     */
+    public boolean isFailure(final int i)
+    {
+        return (failed[Objects.checkIndex(i, size) >>> WORD_SHIFT] & 1L << i) != 0;
+    }
+
+    /**
+     * Return true if the given row neither holds
+     * a value nor failed, as {@link Monad#isEmpty()}
+     * @param i the row index
+     * @return boolean true if empty
+     */
+    public boolean isEmpty(final int i)
+    {
+        return !isPresent(i) && !isFailure(i);
+    }
+
+    /**
+     * The given row as a Monad
+     * @param i the row index
+     * @return a Monad of the value, empty or the failure
+     */
+    public Monad<Double> get(final int i)
+    {
+        if (isPresent(i))
+        {
+            return Jonad.of(values[i]);
+        }
+
+        return isFailure(i) ? Jonad.failure(failures[i]) : Jonad.empty();
+    }
+
+    /**
+     * The given row as a DoubleJonad, failed rows being empty
+     * @param i the row index
+     * @return a DoubleJonad of the value or empty
+     */
+    public DoubleJonad getDoubleJonad(final int i)
+    {
+        return isPresent(i) ? DoubleJonad.of(values[i]) : DoubleJonad.empty();
+    }
+
+    /**
+     * Every row as a Monad, in order
+     * @return a list of Monads
+     */
+    public List<Monad<Double>> toMonads()
+    {
+        final List<Monad<Double>> monads = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            monads.add(get(i));
+        }
+
+        return monads;
+    }
+
+    /**
+     * Transform every present value with the given function,
+     * leaving empty and failed rows as they are
+     *
+     * @param f the mapping function
+     * @return a new DoubleColumn
+     * @see DoubleJonad#map(DoubleUnaryOperator)
+     */
+    public DoubleColumn map(final DoubleUnaryOperator f)
+    {
+        final double[] out = new double[size];
+
+        for (int w = 0; w < present.length; w++)
+        {
+            final int base = w << WORD_SHIFT;
+            long bits = present[w];
+
+            if (bits == -1L)
+            {
+                for (int i = base; i < base + WORD_SIZE; i++)
+                {
+                    out[i] = f.applyAsDouble(values[i]);
+                }
+            }
+            else
+            {
+                while (bits != 0)
+                {
+                    final int i = base + Long.numberOfTrailingZeros(bits);
+
+                    out[i] = f.applyAsDouble(values[i]);
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        return new DoubleColumn(out, present, failed, failures, size);
+    }
+
+    /**
+     * Empty every present row whose value doesn't match the given
+     * predicate. The values are shared with this column
+     *
+     * @param f the predicate function
+     * @return a new DoubleColumn
+     * @see DoubleJonad#filter(DoublePredicate)
+     */
+    public DoubleColumn filter(final DoublePredicate f)
+    {
+        final long[] kept = new long[present.length];
+
+        for (int w = 0; w < present.length; w++)
+        {
+            final int base = w << WORD_SHIFT;
+            long bits = present[w];
+            long mask = 0;
+
+            while (bits != 0)
+            {
+                final int bit = Long.numberOfTrailingZeros(bits);
+
+                if (f.test(values[base + bit]))
+                {
+                    mask |= 1L << bit;
+                }
+
+                bits &= bits - 1;
+            }
+
+            kept[w] = mask;
+        }
+
+        return new DoubleColumn(values, kept, failed, failures, size);
+    }
+
+    /**
+     * Fill every empty row with the given value,
+     * leaving failed rows as they are
+     *
+     * @param u the default value
+     * @return a new DoubleColumn
+     * @see Monad#defaultIfEmpty(Object)
+     */
+    public DoubleColumn defaultIfEmpty(final double u)
+    {
+        final double[] out = values.clone();
+        final long[] filled = allSet(size);
+
+        for (int w = 0; w < filled.length; w++)
+        {
+            final int base = w << WORD_SHIFT;
+            long empty = filled[w] & ~present[w] & ~failed[w];
+
+            filled[w] &= ~failed[w];
+
+            while (empty != 0)
+            {
+                out[base + Long.numberOfTrailingZeros(empty)] = u;
+                empty &= empty - 1;
+            }
+        }
+
+        return new DoubleColumn(out, filled, failed, failures, size);
+    }
+
+    /**
+     * Replace every empty row with the same row of the given
+     * column, whether present, empty or failed
+     *
+     * @param u the alternative column, of the same size
+     * @return a new DoubleColumn
+     * @see Monad#switchIfEmpty(Monad)
+     */
+    public DoubleColumn switchIfEmpty(final DoubleColumn u)
+    {
+        if (u.size != size)
+        {
+            throw new IllegalArgumentException("Column sizes differ: " + size + " and " + u.size);
+        }
+
+        final double[] out = values.clone();
+        final long[] switchedPresent = new long[present.length];
+        final long[] switchedFailed = new long[failed.length];
+        Throwable[] switchedFailures = failures;
+
+        for (int w = 0; w < present.length; w++)
+        {
+            final int base = w << WORD_SHIFT;
+            final long empty = ~present[w] & ~failed[w];
+            long taken = empty & u.present[w];
+            long takenFailures = empty & u.failed[w];
+
+            switchedPresent[w] = present[w] | taken;
+            switchedFailed[w] = failed[w] | takenFailures;
+
+            while (taken != 0)
+            {
+                final int i = base + Long.numberOfTrailingZeros(taken);
+
+                out[i] = u.values[i];
+                taken &= taken - 1;
+            }
+
+            while (takenFailures != 0)
+            {
+                final int i = base + Long.numberOfTrailingZeros(takenFailures);
+
+                switchedFailures = switchedFailures == failures ? copyFailures() : switchedFailures;
+                switchedFailures[i] = u.failures[i];
+                takenFailures &= takenFailures - 1;
+            }
+        }
+
+        return new DoubleColumn(out, switchedPresent, switchedFailed, switchedFailures, size);
+    }
+
+    private Throwable[] copyFailures()
+    {
+        return failures == null ? new Throwable[size] : failures.clone();
+    }
+
+    /**
+     * The sum of the present values, or 0 if there are none
+     * @return the sum
+     */
+    public double sum()
+    {
+        double sum = 0;
+
+        for (int w = 0; w < present.length; w++)
+        {
+            final int base = w << WORD_SHIFT;
+            long bits = present[w];
+
+            if (bits == -1L)
+            {
+                for (int i = base; i < base + WORD_SIZE; i++)
+                {
+                    sum += values[i];
+                }
+            }
+            else
+            {
+                while (bits != 0)
+                {
+                    sum += values[base + Long.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * The smallest present value
+     * @return a DoubleJonad of the minimum, or empty if there are no values
+     */
+    public DoubleJonad min()
+    {
+        return count() == 0 ? DoubleJonad.empty() : DoubleJonad.of(reduce(Double.POSITIVE_INFINITY, true));
+    }
+
+    /**
+     * The largest present value
+     * @return a DoubleJonad of the maximum, or empty if there are no values
+     */
+    public DoubleJonad max()
+    {
+        return count() == 0 ? DoubleJonad.empty() : DoubleJonad.of(reduce(Double.NEGATIVE_INFINITY, false));
+    }
+
+    /**
+     * The mean of the present values
+     * @return a DoubleJonad of the mean, or empty if there are no values
+     */
+    public DoubleJonad average()
+    {
+        final int count = count();
+
+        return count == 0 ? DoubleJonad.empty() : DoubleJonad.of(sum() / count);
+    }
+
+    private double reduce(final double identity, final boolean min)
+    {
+        double result = identity;
+
+        for (int w = 0; w < present.length; w++)
+        {
+            final int base = w << WORD_SHIFT;
+            long bits = present[w];
+
+            while (bits != 0)
+            {
+                final double val = values[base + Long.numberOfTrailingZeros(bits)];
+
+                result = min ? Math.min(result, val) : Math.max(result, val);
+                bits &= bits - 1;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * The number of present rows
+     * @return the present count
+     */
+    public int count()
+    {
+        return bitCount(present);
+    }
+
+    /**
+     * The number of failed rows
+     * @return the failure count
+     */
+    public int failureCount()
+    {
+        return bitCount(failed);
+    }
+
+    /**
+     * The number of empty rows
+     * @return the empty count
+     */
+    public int emptyCount()
+    {
+        return size - count() - failureCount();
+    }
+
+    private static int bitCount(final long[] bits)
+    {
+        int count = 0;
+
+        for (final long word : bits)
+        {
+            count += Long.bitCount(word);
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (!(o instanceof DoubleColumn))
+        {
+            return false;
+        }
+
+        final DoubleColumn other = (DoubleColumn) o;
+
+        if (size != other.size || !Arrays.equals(present, other.present) || !Arrays.equals(failed, other.failed))
+        {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++)
+        {
+            if (isPresent(i) && Double.compare(values[i], other.values[i]) != 0
+                    || isFailure(i) && !Objects.equals(failures[i], other.failures[i]))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = Arrays.hashCode(present) * 31 + Arrays.hashCode(failed);
+
+        for (int i = 0; i < size; i++)
+        {
+            if (isPresent(i))
+            {
+                hash = hash * 31 + Double.hashCode(values[i]);
+            }
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DoubleColumn(size=" + size + ", present=" + count() + ", empty=" + emptyCount() + ", failure="
+                + failureCount() + ")";
+    }
+}
@@ -0,0 +1,376 @@
+package jonad.model;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * A Monad specialised for double values. The value is held
+ * alongside a present flag so pipelines of double operators
+ * never box
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@EqualsAndHashCode
+public final class DoubleJonad
+{
+    private static final DoubleJonad EMPTY = new DoubleJonad(false, 0);
+
+    private final boolean present;
+
+    private final double val;
+
+    /**
+     * Wrap the given value in a DoubleJonad
+     * @param val the given value
+     * @return a DoubleJonad of the value
+     */
+    public static DoubleJonad of(final double val)
+    {
+        return new DoubleJonad(true, val);
+    }
+
+    /**
+     * Wrap the given value in a DoubleJonad if present
+     * otherwise return an empty DoubleJonad
+     * @param val the given value
+     * @return a DoubleJonad of the value or empty
+     */
+    public static DoubleJonad orEmpty(final Double val)
+    {
+        return val == null ? EMPTY : of(val);
+    }
+
+    /**
+     * Wrap the value of the given {@link OptionalDouble}
+     * in a DoubleJonad if present otherwise return an
+     * empty DoubleJonad
+     * @param val the given optional
+     * @return a DoubleJonad of the value or empty
+     */
+    public static DoubleJonad orEmpty(final OptionalDouble val)
+    {
+        return val.isPresent() ? of(val.getAsDouble()) : EMPTY;
+    }
+
+    /**
+     * Wrap the given value from the supplier in a DoubleJonad
+     * @param f the supplier function providing the value to wrap
+     * @return a DoubleJonad of the value
+     */
+    public static DoubleJonad fromSupplier(final DoubleSupplier f)
+    {
+        return of(f.getAsDouble());
+    }
+
+    /**
+     * Return the shared empty DoubleJonad
+     * @return the empty DoubleJonad
+     */
+    public static DoubleJonad empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Transform the value of this DoubleJonad into
+     * a new value from the given function.
+     * Does nothing if it has no value
+     *
+     * @param f the mapping function
+     * @return DoubleJonad of the result or empty
+     */
+    public DoubleJonad map(final DoubleUnaryOperator f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        return of(f.applyAsDouble(val));
+    }
+
+    /**
+     * Transform the value of this DoubleJonad into
+     * an int value from the given function
+     *
+     * @param f the mapping function
+     * @return IntJonad of the result or empty
+     */
+    public IntJonad mapToInt(final DoubleToIntFunction f)
+    {
+        if (!present)
+        {
+            return IntJonad.empty();
+        }
+
+        return IntJonad.of(f.applyAsInt(val));
+    }
+
+    /**
+     * Transform the value of this DoubleJonad into
+     * a long value from the given function
+     *
+     * @param f the mapping function
+     * @return LongJonad of the result or empty
+     */
+    public LongJonad mapToLong(final DoubleToLongFunction f)
+    {
+        if (!present)
+        {
+            return LongJonad.empty();
+        }
+
+        return LongJonad.of(f.applyAsLong(val));
+    }
+
+    /**
+     * Transform the value of this DoubleJonad into
+     * an object from the given function
+     *
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return Monad of U or empty
+     */
+    public <U> Monad<U> mapToObj(final DoubleFunction<U> f)
+    {
+        if (!present)
+        {
+            return Jonad.empty();
+        }
+
+        return Jonad.of(f.apply(val));
+    }
+
+    /**
+     * If this DoubleJonad contains a value, apply
+     * the given DoubleJonad-bearing function and
+     * return its result
+     *
+     * @param f the function resulting in a DoubleJonad
+     * @return DoubleJonad of the result or empty
+     */
+    public DoubleJonad flatMap(final DoubleFunction<DoubleJonad> f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        return f.apply(val);
+    }
+
+    /**
+     * If a value is present and matches the given
+     * predicate retain this DoubleJonad, else return
+     * an empty DoubleJonad
+     *
+     * @param f the predicate function
+     * @return this DoubleJonad or empty
+     */
+    public DoubleJonad filter(final DoublePredicate f)
+    {
+        if (!present || !f.test(val))
+        {
+            return EMPTY;
+        }
+
+        return this;
+    }
+
+    /**
+     * If a value is present apply the given Monad-bearing
+     * predicate function and retain this DoubleJonad when it
+     * holds true, else return an empty DoubleJonad
+     *
+     * @param f the predicate function
+     * @return this DoubleJonad or empty
+     */
+    public DoubleJonad filterWhen(final DoubleFunction<? extends Monad<? extends Boolean>> f)
+    {
+        if (!present || !Boolean.TRUE.equals(f.apply(val).getOrNull()))
+        {
+            return EMPTY;
+        }
+
+        return this;
+    }
+
+    /**
+     * Try and map the value, retaining this
+     * DoubleJonad if the given function throws
+     *
+     * @param f the mapping function
+     * @return DoubleJonad of the result or this DoubleJonad if the function threw
+     */
+    public DoubleJonad tryMap(final DoubleUnaryOperator f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        try
+        {
+            return of(f.applyAsDouble(val));
+        }
+        // CSOFF: IllegalCatch
+        catch (Exception e)
+        {
+            return this;
+        }
+        // CSON: IllegalCatch
+    }
+
+    /**
+     * Switch to an alternative DoubleJonad if this one is empty
+     *
+     * @param u the alternative DoubleJonad
+     * @return this DoubleJonad or the alternative if empty
+     */
+    public DoubleJonad switchIfEmpty(final DoubleJonad u)
+    {
+        return present ? this : u;
+    }
+
+    /**
+     * Default to an alternative value if this DoubleJonad is empty
+     *
+     * @param u the default value
+     * @return this DoubleJonad or one of the default value if empty
+     */
+    public DoubleJonad defaultIfEmpty(final double u)
+    {
+        return present ? this : of(u);
+    }
+
+    /**
+     * Perform a side-effect if this DoubleJonad doesn't
+     * contain a value
+     *
+     * @param f the side-effect to run
+     * @return this DoubleJonad
+     */
+    public DoubleJonad doIfEmpty(final Runnable f)
+    {
+        if (!present)
+        {
+            f.run();
+        }
+
+        return this;
+    }
+
+    /**
+     * Perform a side-effect if this DoubleJonad contains
+     * a value
+     *
+     * @param f the consumer function
+     * @return this DoubleJonad
+     */
+    public DoubleJonad doIfPresent(final DoubleConsumer f)
+    {
+        if (present)
+        {
+            f.accept(val);
+        }
+
+        return this;
+    }
+
+    /**
+     * If this DoubleJonad has a value, return it;
+     * else return the given default value
+     *
+     * @param t the default value
+     * @return the value or the default value
+     */
+    public double getOrDefault(final double t)
+    {
+        return present ? val : t;
+    }
+
+    /**
+     * If this DoubleJonad doesn't have a value, invoke
+     * the given supplier and return its value
+     *
+     * @param f the supplier function
+     * @return the value or the value from the supplier
+     */
+    public double orElseGet(final DoubleSupplier f)
+    {
+        return present ? val : f.getAsDouble();
+    }
+
+    /**
+     * If this DoubleJonad doesn't have a value,
+     * invoke the given supplier and throw the
+     * error it provides
+     *
+     * @param <E> the type parameter
+     * @param f   the supplier function
+     * @return the value
+     * @throws E the supplied error
+     */
+    public <E extends Throwable> double orElseThrow(final Supplier<? extends E> f) throws E
+    {
+        if (!present)
+        {
+            throw f.get();
+        }
+
+        return val;
+    }
+
+    /**
+     * Return true if this DoubleJonad is empty
+     *
+     * @return boolean true if empty
+     */
+    public boolean isEmpty()
+    {
+        return !present;
+    }
+
+    /**
+     * Transform this DoubleJonad to an {@link OptionalDouble}
+     *
+     * @return OptionalDouble of the value or OptionalDouble.empty
+     */
+    public OptionalDouble toOptional()
+    {
+        return present ? OptionalDouble.of(val) : OptionalDouble.empty();
+    }
+
+    /**
+     * Transform this DoubleJonad to an {@link DoubleStream}
+     *
+     * @return DoubleStream of the value or an empty DoubleStream
+     */
+    public DoubleStream stream()
+    {
+        return present ? DoubleStream.of(val) : DoubleStream.empty();
+    }
+
+    /**
+     * Box this DoubleJonad into a {@link Monad}
+     *
+     * @return Monad of the value or empty
+     */
+    public Monad<Double> boxed()
+    {
+        return present ? Jonad.of(val) : Jonad.empty();
+    }
+}
@@ -0,0 +1,146 @@
+package jonad.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A table of failure handlers keyed by exception type, applied to a
+ * Monad in a single {@link Monad#onErrorFlatMap(Function)} call in
+ * place of a chain of matching error operators.
+ * <p>
+ * Exactly one rule handles each failure: the one registered for the
+ * nearest superclass of the failure's class, or for the class itself.
+ * A failure with no matching rule is passed through unchanged. Adding
+ * a rule for a type which already has one replaces it.
+ * <p>
+ * The handler chosen for each concrete exception class is found once
+ * and cached in a {@link ClassValue}, so routing a failure costs one
+ * lookup however many rules there are. Each operator returns a new
+ * router, so a router is immutable and may be shared between threads
+ *
+ * <pre>{@code
+ * ErrorRouter<Response> errors = ErrorRouter.<Response>create()
+ *         .onErrorMap(NotFoundException.class, e -> Response.notFound())
+ *         .onErrorFlatMap(IOException.class, e -> fallback())
+ *         .doOnError(RuntimeException.class, log::warn);
+ *
+ * lookup(id).map(Response::ok).onErrorFlatMap(errors);
+ * }</pre>
+ *
+ * @param <T> the type of the value handlers recover with
+ */
+public final class ErrorRouter<T> implements Function<Throwable, Monad<T>>
+{
+    private final Map<Class<?>, Function<Throwable, Monad<T>>> rules;
+
+    private final ClassValue<Function<Throwable, Monad<T>>> handlers = new ClassValue<>()
+    {
+        @Override
+        protected Function<Throwable, Monad<T>> computeValue(final Class<?> type)
+        {
+            return resolve(type);
+        }
+    };
+
+    private ErrorRouter(final Map<Class<?>, Function<Throwable, Monad<T>>> rules)
+    {
+        this.rules = rules;
+    }
+
+    /**
+     * Create a router with no rules, which
+     * passes every failure through unchanged
+     * @return a new ErrorRouter
+     */
+    public static <T> ErrorRouter<T> create()
+    {
+        return new ErrorRouter<>(Collections.emptyMap());
+    }
+
+    private ErrorRouter<T> with(final Class<?> type, final Function<Throwable, Monad<T>> handler)
+    {
+        final Map<Class<?>, Function<Throwable, Monad<T>>> copy = new LinkedHashMap<>(rules);
+
+        copy.put(type, handler);
+
+        return new ErrorRouter<>(Collections.unmodifiableMap(copy));
+    }
+
+    private Function<Throwable, Monad<T>> resolve(final Class<?> type)
+    {
+        for (Class<?> c = type; c != null; c = c.getSuperclass())
+        {
+            final Function<Throwable, Monad<T>> handler = rules.get(c);
+
+            if (handler != null)
+            {
+                return handler;
+            }
+        }
+
+        return Jonad::failure;
+    }
+
+    /**
+     * Recover from failures of the given type with the given value
+     * @param e the error type to match
+     * @param f the mapping function
+     * @return a new ErrorRouter
+     * @see Monad#onErrorMapMatching(java.util.function.Predicate, Function)
+     */
+    public <E extends Throwable> ErrorRouter<T> onErrorMap(final Class<E> e, final Function<? super E, ? extends T> f)
+    {
+        return with(e, err -> Jonad.of(f.apply(e.cast(err))));
+    }
+
+    /**
+     * Replace failures of the given type with the given Monad
+     * @param e the error type to match
+     * @param f the function resulting in a Monad
+     * @return a new ErrorRouter
+     * @see Monad#onErrorFlatMapMatching(java.util.function.Predicate, Function)
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Throwable> ErrorRouter<T> onErrorFlatMap(final Class<E> e,
+                                                               final Function<? super E, ? extends Monad<T>> f)
+    {
+        return with(e, err -> (Monad<T>) f.apply(e.cast(err)));
+    }
+
+    /**
+     * Perform a side-effect for failures of the
+     * given type and keep the failure
+     * @param e the error type to match
+     * @param f the error consumer
+     * @return a new ErrorRouter
+     * @see Monad#doOnError(Class, Consumer)
+     */
+    public <E extends Throwable> ErrorRouter<T> doOnError(final Class<E> e, final Consumer<? super E> f)
+    {
+        return with(e, err ->
+        {
+            f.accept(e.cast(err));
+            return Jonad.failure(err);
+        });
+    }
+
+    /**
+     * Route the given failure to its handler
+     * @param e the failure
+     * @return the Monad returned by the handler, or the failure if none matches
+     */
+    @Override
+    public Monad<T> apply(final Throwable e)
+    {
+        return handlers.get(e.getClass()).apply(e);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ErrorRouter[" + rules.size() + " rules]";
+    }
+}
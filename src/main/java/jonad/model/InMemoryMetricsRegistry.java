@@ -0,0 +1,103 @@
+package jonad.model;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsRegistry} counting outcomes in memory, one
+ * {@link LongAdder} per pipeline, operator and outcome so threads
+ * recording at once don't contend on a single counter. Recording
+ * an outcome for a pipeline which has been seen before doesn't
+ * allocate
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry
+{
+    private static final int OUTCOMES = Outcome.values().length;
+
+    private static final int COUNTERS = Operator.values().length * OUTCOMES;
+
+    private final ConcurrentMap<String, LongAdder[]> pipelines = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(final String pipeline, final Operator operator, final Outcome outcome)
+    {
+        LongAdder[] counters = pipelines.get(pipeline);
+
+        if (counters == null)
+        {
+            counters = pipelines.computeIfAbsent(pipeline, p -> newCounters());
+        }
+
+        counters[operator.ordinal() * OUTCOMES + outcome.ordinal()].increment();
+    }
+
+    private static LongAdder[] newCounters()
+    {
+        final LongAdder[] counters = new LongAdder[COUNTERS];
+
+        for (int i = 0; i < COUNTERS; i++)
+        {
+            counters[i] = new LongAdder();
+        }
+
+        return counters;
+    }
+
+    /**
+     * The number of times the operator returned the given outcome in the pipeline
+     *
+     * @param pipeline the pipeline name
+     * @param operator the operator
+     * @param outcome  the outcome
+     * @return the count
+     */
+    public long count(final String pipeline, final Operator operator, final Outcome outcome)
+    {
+        final LongAdder[] counters = pipelines.get(pipeline);
+
+        return counters == null ? 0 : counters[operator.ordinal() * OUTCOMES + outcome.ordinal()].sum();
+    }
+
+    /**
+     * Every non-zero count keyed by {@code pipeline.operator.outcome}
+     * in lower case, e.g. {@code default.try_map.failure}, sorted
+     * by key for scraping
+     *
+     * @return the counts
+     */
+    public Map<String, Long> snapshot()
+    {
+        final Map<String, Long> snapshot = new TreeMap<>();
+
+        pipelines.forEach((pipeline, counters) ->
+        {
+            for (final Operator operator : Operator.values())
+            {
+                for (final Outcome outcome : Outcome.values())
+                {
+                    final long count = counters[operator.ordinal() * OUTCOMES + outcome.ordinal()].sum();
+
+                    if (count != 0)
+                    {
+                        snapshot.put(pipeline + '.' + operator.name().toLowerCase(Locale.ROOT) + '.'
+                                + outcome.name().toLowerCase(Locale.ROOT), count);
+                    }
+                }
+            }
+        });
+
+        return snapshot;
+    }
+
+    /**
+     * Reset every count to zero
+     */
+    public void reset()
+    {
+        pipelines.clear();
+    }
+}
@@ -0,0 +1,395 @@
+package jonad.model;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * A Monad specialised for int values. The value is held
+ * alongside a present flag so pipelines of int operators
+ * never box
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@EqualsAndHashCode
+public final class IntJonad
+{
+    private static final IntJonad EMPTY = new IntJonad(false, 0);
+
+    private static final int CACHE_LOW = -128;
+
+    private static final int CACHE_HIGH = 127;
+
+    private static final IntJonad[] CACHE = new IntJonad[CACHE_HIGH - CACHE_LOW + 1];
+
+    static
+    {
+        for (int i = 0; i < CACHE.length; i++)
+        {
+            CACHE[i] = new IntJonad(true, i + CACHE_LOW);
+        }
+    }
+
+    private final boolean present;
+
+    private final int val;
+
+    /**
+     * Wrap the given value in an IntJonad
+     * @param val the given value
+     * @return an IntJonad of the value
+     */
+    public static IntJonad of(final int val)
+    {
+        if (val >= CACHE_LOW && val <= CACHE_HIGH)
+        {
+            return CACHE[val - CACHE_LOW];
+        }
+
+        return new IntJonad(true, val);
+    }
+
+    /**
+     * Wrap the given value in an IntJonad if present
+     * otherwise return an empty IntJonad
+     * @param val the given value
+     * @return an IntJonad of the value or empty
+     */
+    public static IntJonad orEmpty(final Integer val)
+    {
+        return val == null ? EMPTY : of(val);
+    }
+
+    /**
+     * Wrap the value of the given {@link OptionalInt}
+     * in an IntJonad if present otherwise return an
+     * empty IntJonad
+     * @param val the given optional
+     * @return an IntJonad of the value or empty
+     */
+    public static IntJonad orEmpty(final OptionalInt val)
+    {
+        return val.isPresent() ? of(val.getAsInt()) : EMPTY;
+    }
+
+    /**
+     * Wrap the given value from the supplier in an IntJonad
+     * @param f the supplier function providing the value to wrap
+     * @return an IntJonad of the value
+     */
+    public static IntJonad fromSupplier(final IntSupplier f)
+    {
+        return of(f.getAsInt());
+    }
+
+    /**
+     * Return the shared empty IntJonad
+     * @return the empty IntJonad
+     */
+    public static IntJonad empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Transform the value of this IntJonad into
+     * a new value from the given function.
+     * Does nothing if it has no value
+     *
+     * @param f the mapping function
+     * @return IntJonad of the result or empty
+     */
+    public IntJonad map(final IntUnaryOperator f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        return of(f.applyAsInt(val));
+    }
+
+    /**
+     * Transform the value of this IntJonad into
+     * a long value from the given function
+     *
+     * @param f the mapping function
+     * @return LongJonad of the result or empty
+     */
+    public LongJonad mapToLong(final IntToLongFunction f)
+    {
+        if (!present)
+        {
+            return LongJonad.empty();
+        }
+
+        return LongJonad.of(f.applyAsLong(val));
+    }
+
+    /**
+     * Transform the value of this IntJonad into
+     * a double value from the given function
+     *
+     * @param f the mapping function
+     * @return DoubleJonad of the result or empty
+     */
+    public DoubleJonad mapToDouble(final IntToDoubleFunction f)
+    {
+        if (!present)
+        {
+            return DoubleJonad.empty();
+        }
+
+        return DoubleJonad.of(f.applyAsDouble(val));
+    }
+
+    /**
+     * Transform the value of this IntJonad into
+     * an object from the given function
+     *
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return Monad of U or empty
+     */
+    public <U> Monad<U> mapToObj(final IntFunction<U> f)
+    {
+        if (!present)
+        {
+            return Jonad.empty();
+        }
+
+        return Jonad.of(f.apply(val));
+    }
+
+    /**
+     * If this IntJonad contains a value, apply
+     * the given IntJonad-bearing function and
+     * return its result
+     *
+     * @param f the function resulting in an IntJonad
+     * @return IntJonad of the result or empty
+     */
+    public IntJonad flatMap(final IntFunction<IntJonad> f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        return f.apply(val);
+    }
+
+    /**
+     * If a value is present and matches the given
+     * predicate retain this IntJonad, else return
+     * an empty IntJonad
+     *
+     * @param f the predicate function
+     * @return this IntJonad or empty
+     */
+    public IntJonad filter(final IntPredicate f)
+    {
+        if (!present || !f.test(val))
+        {
+            return EMPTY;
+        }
+
+        return this;
+    }
+
+    /**
+     * If a value is present apply the given Monad-bearing
+     * predicate function and retain this IntJonad when it
+     * holds true, else return an empty IntJonad
+     *
+     * @param f the predicate function
+     * @return this IntJonad or empty
+     */
+    public IntJonad filterWhen(final IntFunction<? extends Monad<? extends Boolean>> f)
+    {
+        if (!present || !Boolean.TRUE.equals(f.apply(val).getOrNull()))
+        {
+            return EMPTY;
+        }
+
+        return this;
+    }
+
+    /**
+     * Try and map the value, retaining this
+     * IntJonad if the given function throws
+     *
+     * @param f the mapping function
+     * @return IntJonad of the result or this IntJonad if the function threw
+     */
+    public IntJonad tryMap(final IntUnaryOperator f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        try
+        {
+            return of(f.applyAsInt(val));
+        }
+        // CSOFF: IllegalCatch
+        catch (Exception e)
+        {
+            return this;
+        }
+        // CSON: IllegalCatch
+    }
+
+    /**
+     * Switch to an alternative IntJonad if this one is empty
+     *
+     * @param u the alternative IntJonad
+     * @return this IntJonad or the alternative if empty
+     */
+    public IntJonad switchIfEmpty(final IntJonad u)
+    {
+        return present ? this : u;
+    }
+
+    /**
+     * Default to an alternative value if this IntJonad is empty
+     *
+     * @param u the default value
+     * @return this IntJonad or one of the default value if empty
+     */
+    public IntJonad defaultIfEmpty(final int u)
+    {
+        return present ? this : of(u);
+    }
+
+    /**
+     * Perform a side-effect if this IntJonad doesn't
+     * contain a value
+     *
+     * @param f the side-effect to run
+     * @return this IntJonad
+     */
+    public IntJonad doIfEmpty(final Runnable f)
+    {
+        if (!present)
+        {
+            f.run();
+        }
+
+        return this;
+    }
+
+    /**
+     * Perform a side-effect if this IntJonad contains
+     * a value
+     *
+     * @param f the consumer function
+     * @return this IntJonad
+     */
+    public IntJonad doIfPresent(final IntConsumer f)
+    {
+        if (present)
+        {
+            f.accept(val);
+        }
+
+        return this;
+    }
+
+    /**
+     * If this IntJonad has a value, return it;
+     * else return the given default value
+     *
+     * @param t the default value
+     * @return the value or the default value
+     */
+    public int getOrDefault(final int t)
+    {
+        return present ? val : t;
+    }
+
+    /**
+     * If this IntJonad doesn't have a value, invoke
+     * the given supplier and return its value
+     *
+     * @param f the supplier function
+     * @return the value or the value from the supplier
+     */
+    public int orElseGet(final IntSupplier f)
+    {
+        return present ? val : f.getAsInt();
+    }
+
+    /**
+     * If this IntJonad doesn't have a value,
+     * invoke the given supplier and throw the
+     * error it provides
+     *
+     * @param <E> the type parameter
+     * @param f   the supplier function
+     * @return the value
+     * @throws E the supplied error
+     */
+    public <E extends Throwable> int orElseThrow(final Supplier<? extends E> f) throws E
+    {
+        if (!present)
+        {
+            throw f.get();
+        }
+
+        return val;
+    }
+
+    /**
+     * Return true if this IntJonad is empty
+     *
+     * @return boolean true if empty
+     */
+    public boolean isEmpty()
+    {
+        return !present;
+    }
+
+    /**
+     * Transform this IntJonad to an {@link OptionalInt}
+     *
+     * @return OptionalInt of the value or OptionalInt.empty
+     */
+    public OptionalInt toOptional()
+    {
+        return present ? OptionalInt.of(val) : OptionalInt.empty();
+    }
+
+    /**
+     * Transform this IntJonad to an {@link IntStream}
+     *
+     * @return IntStream of the value or an empty IntStream
+     */
+    public IntStream stream()
+    {
+        return present ? IntStream.of(val) : IntStream.empty();
+    }
+
+    /**
+     * Box this IntJonad into a {@link Monad}
+     *
+     * @return Monad of the value or empty
+     */
+    public Monad<Integer> boxed()
+    {
+        return present ? Jonad.of(val) : Jonad.empty();
+    }
+}
@@ -1,11 +1,10 @@
 package jonad.model;
 
-import lombok.AccessLevel;
+import jonad.model.MetricsRegistry.Operator;
 import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
-import lombok.ToString;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -13,12 +12,31 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@ToString
-@EqualsAndHashCode
-public class Jonad<T> implements Monad<T>
+/**
+ * The eager Monad. Each state is its own class, so every method
+ * body is a single case: a present Jonad applies the function,
+ * while an empty or failed Jonad returns itself. A call site
+ * which only sees one state stays monomorphic
+ *
+ * @param <T> the type parameter
+ */
+public abstract class Jonad<T> implements Monad<T>
 {
-    private final T val;
+    private static final Jonad<?> EMPTY = new Empty<>();
+
+    /**
+     * Canonical Monad holding {@link Boolean#TRUE}
+     */
+    public static final Monad<Boolean> TRUE = new Present<>(Boolean.TRUE);
+
+    /**
+     * Canonical Monad holding {@link Boolean#FALSE}
+     */
+    public static final Monad<Boolean> FALSE = new Present<>(Boolean.FALSE);
+
+    private Jonad()
+    {
+    }
 
     /**
      * Wrap the given value in a Monad
@@ -27,7 +45,27 @@ public class Jonad<T> implements Monad<T>
      */
     public static <T> Monad<T> of(final T val)
     {
-        return new Jonad<>(val);
+        if (val == null)
+        {
+            return Jonad.empty();
+        }
+
+        final Monad<T> m = new Present<>(val);
+
+        return JonadTrace.isEnabled() ? JonadTrace.source("of", m) : m;
+    }
+
+    /**
+     * Wrap the given boolean in one of the
+     * canonical {@link #TRUE} or {@link #FALSE} Monads
+     * @param val the given value
+     * @return the shared Monad for the value
+     */
+    public static Monad<Boolean> ofBoolean(final boolean val)
+    {
+        final Monad<Boolean> m = val ? TRUE : FALSE;
+
+        return JonadTrace.isEnabled() ? JonadTrace.source("ofBoolean", m) : m;
     }
 
     /**
@@ -46,10 +84,9 @@ public class Jonad<T> implements Monad<T>
 
         if (val instanceof Optional)
         {
-            return (Monad<U>) Jonad.of(val)
-                    .map(Optional.class::cast)
-                    .filter(Predicate.not(Optional::isEmpty))
-                    .map(Optional::get);
+            final Optional<U> opt = (Optional<U>) val;
+
+            return opt.isPresent() ? Jonad.of(opt.get()) : Jonad.empty();
         }
 
         return (Monad<U>) Jonad.of(val);
@@ -62,261 +99,623 @@ public class Jonad<T> implements Monad<T>
      */
     public static <T> Monad<T> fromSupplier(final Supplier<T> f)
     {
-        return new Jonad<>(f.get());
+        return Jonad.of(JonadEvents.supply("fromSupplier", f));
     }
 
     /**
-     * Create a new empty Monad
-     * @return a new empty Monad
+     * Create a Monad holding the given failure. Unlike a Monad
+     * whose value happens to be a Throwable, a failure is what
+     * the onError operators act on
+     * @param e the failure
+     * @return a new failed Monad
      */
-    public static <T> Monad<T> empty()
+    public static <T> Monad<T> failure(final Throwable e)
     {
-        return new Jonad<>(null);
+        final Monad<T> m = new Failure<>(Objects.requireNonNull(e, "failure"));
+
+        return JonadTrace.isEnabled() ? JonadTrace.source("failure", m) : m;
     }
 
-    @Override
-    public <U> Monad<U> map(final Function<T, U> f)
+    /**
+     * Create a Monad holding a {@link StacklessException} with
+     * the given message, which is cheap enough to use for
+     * expected failures such as rejected input
+     * @param message the failure message
+     * @return a new failed Monad
+     */
+    public static <T> Monad<T> failure(final String message)
     {
-        if (val == null)
-        {
-            return Jonad.empty();
-        }
-
-        return Jonad.of(f.apply(val));
+        return failure(new StacklessException(message));
     }
 
+    /**
+     * Return the shared empty Monad
+     * @return the empty Monad
+     */
     @SuppressWarnings("unchecked")
-    @Override
-    public <U> Monad<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
+    public static <T> Monad<T> empty()
     {
-        if (val == null)
-        {
-            return Jonad.empty();
-        }
+        final Monad<T> m = (Monad<T>) EMPTY;
 
-        return (Jonad<U>) f.apply(val);
+        return JonadTrace.isEnabled() ? JonadTrace.source("empty", m) : m;
     }
 
-    @Override
-    public Monad<T> filter(final Predicate<? super T> f)
+    /**
+     * A Jonad holding a value
+     *
+     * @param <T> the type parameter
+     */
+    @EqualsAndHashCode(callSuper = false)
+    private static final class Present<T> extends Jonad<T>
     {
-        if (val == null || !f.test(val))
+        private final T val;
+
+        Present(final T val)
         {
-            return Jonad.empty();
+            this.val = val;
         }
 
-        return this;
-    }
+        @Override
+        public <U> Monad<U> map(final Function<T, U> f)
+        {
+            return JonadMetrics.observe(Operator.MAP, Jonad.of(f.apply(val)));
+        }
 
-    @Override
-    public Monad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
-    {
-        if (val == null || f.apply(val).filter(res -> res).isEmpty())
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
         {
-            return Jonad.empty();
+            return JonadMetrics.observe(Operator.FLAT_MAP, (Monad<U>) f.apply(val));
         }
 
-        return this;
-    }
+        @Override
+        public Monad<T> filter(final Predicate<? super T> f)
+        {
+            return JonadMetrics.observe(Operator.FILTER, f.test(val) ? this : Jonad.empty());
+        }
 
-    @Nullable
-    @Override
-    public T getOrNull()
-    {
-        return val;
-    }
+        @Override
+        public Monad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+        {
+            return JonadMetrics.observe(Operator.FILTER_WHEN,
+                    Boolean.TRUE.equals(f.apply(val).getOrNull()) ? this : Jonad.empty());
+        }
 
-    @Override
-    public Optional<T> toOptional()
-    {
-        return Optional.ofNullable(val);
-    }
+        @Override
+        public T getOrNull()
+        {
+            return val;
+        }
 
-    @Override
-    public Stream<T> stream()
-    {
-        return val == null ? Stream.empty() : Stream.of(val);
-    }
+        @Override
+        public Optional<T> toOptional()
+        {
+            return Optional.of(val);
+        }
 
-    @Override
-    public T getOrDefault(final T t)
-    {
-        return val == null ? t : val;
-    }
+        @Override
+        public Stream<T> stream()
+        {
+            return Stream.of(val);
+        }
 
-    @Override
-    public T orElseGet(final Supplier<T> f)
-    {
-        return val == null ? f.get() : val;
-    }
+        @Override
+        public T getOrDefault(final T t)
+        {
+            return val;
+        }
 
-    @Override
-    public <E extends Throwable> T orElseThrow(final Supplier<? extends E> f) throws E
-    {
-        if (val == null)
+        @Override
+        public T orElseGet(final Supplier<T> f)
         {
-            throw f.get();
+            return val;
         }
 
-        return val;
-    }
+        @Override
+        public <E extends Throwable> T orElseThrow(final Supplier<? extends E> f)
+        {
+            return val;
+        }
 
-    @Override
-    public boolean isEmpty()
-    {
-        return val == null;
-    }
+        @Override
+        public boolean isEmpty()
+        {
+            return false;
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <U> Monad<T> doIfEmpty(final Consumer<U> f)
-    {
-        if (val == null)
+        @Override
+        public boolean isFailure()
         {
-            f.accept((U) val);
+            return false;
         }
 
-        return this;
-    }
+        @Override
+        public Throwable getFailureOrNull()
+        {
+            return null;
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <U> Monad<T> doIfPresent(final Consumer<U> f)
-    {
-        if (val != null)
+        @Override
+        public <U> Monad<T> doIfEmpty(final Consumer<U> f)
+        {
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<T> doIfPresent(final Consumer<U> f)
         {
             f.accept((U) val);
+
+            return this;
         }
 
-        return this;
-    }
+        @Override
+        public <E extends Throwable> Monad<T> doOnError(final Consumer<E> f)
+        {
+            return this;
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <E extends Throwable> Monad<T> doOnError(final Consumer<E> f)
-    {
-        if (val instanceof Throwable)
+        @Override
+        public <E extends Throwable> Monad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
         {
-            f.accept((E) val);
+            return this;
         }
 
-        return this;
-    }
+        @Override
+        public <U> Monad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+        {
+            return this;
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <E extends Throwable> Monad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
-    {
-        if (e.isInstance(val))
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorMap(final Function<E, U> f)
         {
-            f.accept((E) val);
+            return (Monad<U>) this;
         }
 
-        return this;
-    }
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
+        {
+            return (Monad<U>) this;
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <U> Monad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
-    {
-        if (val instanceof Throwable && p.test((Throwable) val))
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
         {
-            f.accept((U) val);
+            return (Monad<U>) this;
         }
 
-        return this;
-    }
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                        final Function<E, Monad<U>> f)
+        {
+            return (Monad<U>) this;
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <E extends Throwable, U> Monad<U> onErrorMap(final Function<E, U> f)
-    {
-        if (val instanceof Throwable)
+        @Override
+        public <U> Monad<U> tryMap(final Function<T, U> f)
         {
-            return Jonad.of(f.apply((E) val));
+            try
+            {
+                return JonadMetrics.observe(Operator.TRY_MAP, Jonad.of(f.apply(val)));
+            }
+            // CSOFF: IllegalCatch
+            catch (Exception e)
+            {
+                JonadEvents.tryMapFailed(e);
+
+                return JonadMetrics.observe(Operator.TRY_MAP, Jonad.failure(e));
+            }
+            // CSON: IllegalCatch
         }
 
-        return (Monad<U>) this;
-    }
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> switchIfEmpty(final Monad<U> u)
+        {
+            return JonadMetrics.observe(Operator.SWITCH_IF_EMPTY, (Monad<U>) this);
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <E extends Throwable, U> Monad<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
-    {
-        if (val instanceof Throwable && p.test((E) val))
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> defaultIfEmpty(final U u)
         {
-            return Jonad.of(f.apply((E) val));
+            return JonadMetrics.observe(Operator.DEFAULT_IF_EMPTY, (Monad<U>) this);
         }
 
-        return (Monad<U>) this;
+        @Override
+        public String toString()
+        {
+            return "Jonad(val=" + val + ", failure=null)";
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <E extends Throwable, U> Monad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
+    /**
+     * The Jonad without a value, of which
+     * there is a single shared instance
+     *
+     * @param <T> the type parameter
+     */
+    private static final class Empty<T> extends Jonad<T>
     {
-        if (val instanceof Throwable)
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> map(final Function<T, U> f)
         {
-            return f.apply((E) val);
+            return JonadMetrics.observe(Operator.MAP, (Monad<U>) this);
         }
 
-        return (Monad<U>) this;
-    }
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
+        {
+            return JonadMetrics.observe(Operator.FLAT_MAP, (Monad<U>) this);
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <E extends Throwable, U> Monad<U> onErrorFlatMapMatching(final Predicate<E> p, final Function<E, Monad<U>> f)
-    {
-        if (val instanceof Throwable && p.test((E) val))
+        @Override
+        public Monad<T> filter(final Predicate<? super T> f)
         {
-            return f.apply((E) val);
+            return JonadMetrics.observe(Operator.FILTER, this);
         }
 
-        return (Monad<U>) this;
-    }
+        @Override
+        public Monad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+        {
+            return JonadMetrics.observe(Operator.FILTER_WHEN, this);
+        }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <U> Monad<U> tryMap(final Function<T, U> f)
-    {
-        if (val == null)
+        @Nullable
+        @Override
+        public T getOrNull()
+        {
+            return null;
+        }
+
+        @Override
+        public Optional<T> toOptional()
+        {
+            return Optional.empty();
+        }
+
+        @Override
+        public Stream<T> stream()
+        {
+            return Stream.empty();
+        }
+
+        @Override
+        public T getOrDefault(final T t)
+        {
+            return t;
+        }
+
+        @Override
+        public T orElseGet(final Supplier<T> f)
+        {
+            JonadEvents.fallback("orElseGet");
+
+            return JonadEvents.supply("orElseGet", f);
+        }
+
+        @Override
+        public <E extends Throwable> T orElseThrow(final Supplier<? extends E> f) throws E
+        {
+            throw JonadEvents.orElseThrow(f.get());
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return true;
+        }
+
+        @Override
+        public boolean isFailure()
+        {
+            return false;
+        }
+
+        @Override
+        public Throwable getFailureOrNull()
+        {
+            return null;
+        }
+
+        @Override
+        public <U> Monad<T> doIfEmpty(final Consumer<U> f)
+        {
+            f.accept(null);
+
+            return this;
+        }
+
+        @Override
+        public <U> Monad<T> doIfPresent(final Consumer<U> f)
+        {
+            return this;
+        }
+
+        @Override
+        public <E extends Throwable> Monad<T> doOnError(final Consumer<E> f)
+        {
+            return this;
+        }
+
+        @Override
+        public <E extends Throwable> Monad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
+        {
+            return this;
+        }
+
+        @Override
+        public <U> Monad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+        {
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorMap(final Function<E, U> f)
         {
             return (Monad<U>) this;
         }
 
-        try
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
         {
-            return Jonad.of(f.apply(val));
+            return (Monad<U>) this;
         }
-        // CSOFF: IllegalCatch
-        catch (Exception e)
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
         {
             return (Monad<U>) this;
         }
-        // CSON: IllegalCatch
-    }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <U> Monad<U> switchIfEmpty(final Monad<U> u)
-    {
-        if (val == null)
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                        final Function<E, Monad<U>> f)
         {
-            return u;
+            return (Monad<U>) this;
         }
 
-        return (Monad<U>) Jonad.of(val);
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> tryMap(final Function<T, U> f)
+        {
+            return JonadMetrics.observe(Operator.TRY_MAP, (Monad<U>) this);
+        }
+
+        @Override
+        public <U> Monad<U> switchIfEmpty(final Monad<U> u)
+        {
+            JonadEvents.fallback("switchIfEmpty");
+
+            return JonadMetrics.observe(Operator.SWITCH_IF_EMPTY, u);
+        }
+
+        @Override
+        public <U> Monad<U> defaultIfEmpty(final U u)
+        {
+            JonadEvents.fallback("defaultIfEmpty");
+
+            return JonadMetrics.observe(Operator.DEFAULT_IF_EMPTY, Jonad.of(u));
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Jonad(val=null, failure=null)";
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public <U> Monad<U> defaultIfEmpty(final U u)
+    /**
+     * A Jonad holding a failure
+     *
+     * @param <T> the type parameter
+     */
+    @EqualsAndHashCode(callSuper = false)
+    private static final class Failure<T> extends Jonad<T>
     {
-        if (val == null)
+        private final Throwable failure;
+
+        Failure(final Throwable failure)
         {
-            return Jonad.of(u);
+            this.failure = failure;
         }
 
-        return (Monad<U>) Jonad.of(val);
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> map(final Function<T, U> f)
+        {
+            return JonadMetrics.observe(Operator.MAP, (Monad<U>) this);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
+        {
+            return JonadMetrics.observe(Operator.FLAT_MAP, (Monad<U>) this);
+        }
+
+        @Override
+        public Monad<T> filter(final Predicate<? super T> f)
+        {
+            return JonadMetrics.observe(Operator.FILTER, this);
+        }
+
+        @Override
+        public Monad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+        {
+            return JonadMetrics.observe(Operator.FILTER_WHEN, this);
+        }
+
+        @Nullable
+        @Override
+        public T getOrNull()
+        {
+            return null;
+        }
+
+        @Override
+        public Optional<T> toOptional()
+        {
+            return Optional.empty();
+        }
+
+        @Override
+        public Stream<T> stream()
+        {
+            return Stream.empty();
+        }
+
+        @Override
+        public T getOrDefault(final T t)
+        {
+            return t;
+        }
+
+        @Override
+        public T orElseGet(final Supplier<T> f)
+        {
+            JonadEvents.fallback("orElseGet");
+
+            return JonadEvents.supply("orElseGet", f);
+        }
+
+        @Override
+        public <E extends Throwable> T orElseThrow(final Supplier<? extends E> f) throws E
+        {
+            throw JonadEvents.orElseThrow(f.get());
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isFailure()
+        {
+            return true;
+        }
+
+        @Override
+        public Throwable getFailureOrNull()
+        {
+            return failure;
+        }
+
+        @Override
+        public <U> Monad<T> doIfEmpty(final Consumer<U> f)
+        {
+            return this;
+        }
+
+        @Override
+        public <U> Monad<T> doIfPresent(final Consumer<U> f)
+        {
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable> Monad<T> doOnError(final Consumer<E> f)
+        {
+            f.accept((E) failure);
+
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable> Monad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
+        {
+            if (e.isInstance(failure))
+            {
+                f.accept((E) failure);
+            }
+
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+        {
+            if (p.test(failure))
+            {
+                f.accept((U) failure);
+            }
+
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorMap(final Function<E, U> f)
+        {
+            return JonadMetrics.observe(Operator.ON_ERROR_MAP, Jonad.of(f.apply((E) failure)));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
+        {
+            return p.test((E) failure) ? JonadMetrics.observe(Operator.ON_ERROR_MAP, Jonad.of(f.apply((E) failure)))
+                    : (Monad<U>) this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
+        {
+            return JonadMetrics.observe(Operator.ON_ERROR_FLAT_MAP, f.apply((E) failure));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <E extends Throwable, U> Monad<U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                        final Function<E, Monad<U>> f)
+        {
+            return p.test((E) failure) ? JonadMetrics.observe(Operator.ON_ERROR_FLAT_MAP, f.apply((E) failure))
+                    : (Monad<U>) this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> tryMap(final Function<T, U> f)
+        {
+            return JonadMetrics.observe(Operator.TRY_MAP, (Monad<U>) this);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> switchIfEmpty(final Monad<U> u)
+        {
+            return JonadMetrics.observe(Operator.SWITCH_IF_EMPTY, (Monad<U>) this);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <U> Monad<U> defaultIfEmpty(final U u)
+        {
+            return JonadMetrics.observe(Operator.DEFAULT_IF_EMPTY, (Monad<U>) this);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Jonad(val=null, failure=" + failure + ")";
+        }
     }
 }
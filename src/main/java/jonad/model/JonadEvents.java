@@ -0,0 +1,289 @@
+package jonad.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Emits JDK Flight Recorder events for failures, fallbacks and
+ * slow suppliers. Every event is disabled by default and is
+ * enabled by name in a recording, for example
+ * {@code jonad.SlowSupplier#enabled=true} with an optional
+ * {@code jonad.SlowSupplier#threshold=50 ms}.
+ * <p>
+ * Each check reads a shared probe event, so while an event is
+ * disabled, or no recording is running, the cost is a single
+ * branch with no allocation. Events carry the first frame
+ * outside of the library as their call site.
+ * <p>
+ * The events live in {@link Recorder}, which is only loaded when
+ * the runtime has the jdk.jfr module, so a runtime linked without
+ * it runs every Monad with recording switched off
+ */
+final class JonadEvents
+{
+    /**
+     * Where the library's own classes were loaded from. Callers in the
+     * same package but another code source, such as tests, still count
+     * as call sites
+     */
+    private static final CodeSource LIBRARY = codeSource(JonadEvents.class);
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final boolean JFR = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private JonadEvents()
+    {
+    }
+
+    /**
+     * Record an exception captured by tryMap
+     */
+    static void tryMapFailed(final Throwable e)
+    {
+        if (JFR)
+        {
+            Recorder.tryMapFailed(e);
+        }
+    }
+
+    /**
+     * Record an exception about to be thrown by orElseThrow
+     *
+     * @return the given exception
+     */
+    static <E extends Throwable> E orElseThrow(final E e)
+    {
+        return JFR ? Recorder.orElseThrow(e) : e;
+    }
+
+    /**
+     * Record a fallback taken by the given operator
+     */
+    static void fallback(final String operator)
+    {
+        if (JFR)
+        {
+            Recorder.fallback(operator);
+        }
+    }
+
+    /**
+     * Run the given supplier for the given operator, recording
+     * it if it takes longer than the event threshold
+     *
+     * @return the supplied value
+     */
+    static <T> T supply(final String operator, final Supplier<T> f)
+    {
+        return JFR ? Recorder.supply(operator, f) : f.get();
+    }
+
+    /**
+     * The first frame on the stack outside of the library
+     *
+     * @return the frame, or null if there is none
+     */
+    static String callSite()
+    {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> !isLibrary(frame.getDeclaringClass()))
+                .findFirst()
+                .map(frame -> frame.toStackTraceElement().toString())
+                .orElse(null));
+    }
+
+    /**
+     * Return true for any class of the jonad.model package which
+     * was loaded along with this one
+     */
+    private static boolean isLibrary(final Class<?> type)
+    {
+        return type.getPackageName().equals(JonadEvents.class.getPackageName())
+                && Objects.equals(codeSource(type), LIBRARY);
+    }
+
+    private static CodeSource codeSource(final Class<?> type)
+    {
+        final ProtectionDomain domain = type.getProtectionDomain();
+
+        return domain == null ? null : domain.getCodeSource();
+    }
+
+    /**
+     * The events and their shared probes, the only classes which
+     * link against jdk.jfr
+     */
+    private static final class Recorder
+    {
+        private static final TryMapFailureEvent TRY_MAP_FAILURE = new TryMapFailureEvent();
+
+        private static final OrElseThrowEvent OR_ELSE_THROW = new OrElseThrowEvent();
+
+        private static final FallbackEvent FALLBACK = new FallbackEvent();
+
+        private static final SlowSupplierEvent SLOW_SUPPLIER = new SlowSupplierEvent();
+
+        private Recorder()
+        {
+        }
+
+        static void tryMapFailed(final Throwable e)
+        {
+            if (TRY_MAP_FAILURE.isEnabled())
+            {
+                final TryMapFailureEvent event = new TryMapFailureEvent();
+
+                event.exceptionClass = e.getClass();
+                event.message = e.getMessage();
+                event.callSite = callSite();
+                event.commit();
+            }
+        }
+
+        static <E extends Throwable> E orElseThrow(final E e)
+        {
+            if (OR_ELSE_THROW.isEnabled())
+            {
+                final OrElseThrowEvent event = new OrElseThrowEvent();
+
+                event.exceptionClass = e.getClass();
+                event.message = e.getMessage();
+                event.callSite = callSite();
+                event.commit();
+            }
+
+            return e;
+        }
+
+        static void fallback(final String operator)
+        {
+            if (FALLBACK.isEnabled())
+            {
+                final FallbackEvent event = new FallbackEvent();
+
+                event.operator = operator;
+                event.callSite = callSite();
+                event.commit();
+            }
+        }
+
+        static <T> T supply(final String operator, final Supplier<T> f)
+        {
+            if (!SLOW_SUPPLIER.isEnabled())
+            {
+                return f.get();
+            }
+
+            final SlowSupplierEvent event = new SlowSupplierEvent();
+
+            event.begin();
+
+            try
+            {
+                return f.get();
+            }
+            finally
+            {
+                event.end();
+
+                if (event.shouldCommit())
+                {
+                    event.operator = operator;
+                    event.callSite = callSite();
+                    event.commit();
+                }
+            }
+        }
+
+        /**
+         * An exception captured by tryMap
+         */
+        @Name("jonad.TryMapFailure")
+        @Label("TryMap Failure")
+        @Description("An exception thrown by a tryMap function and captured as a failure")
+        @Category("Jonad")
+        @Enabled(false)
+        @StackTrace(false)
+        static final class TryMapFailureEvent extends Event
+        {
+            @Label("Exception Class")
+            private Class<?> exceptionClass;
+
+            @Label("Message")
+            private String message;
+
+            @Label("Call Site")
+            private String callSite;
+        }
+
+        /**
+         * An exception thrown by orElseThrow
+         */
+        @Name("jonad.OrElseThrow")
+        @Label("OrElseThrow")
+        @Description("An exception thrown by orElseThrow on an empty or failed Monad")
+        @Category("Jonad")
+        @Enabled(false)
+        @StackTrace(false)
+        static final class OrElseThrowEvent extends Event
+        {
+            @Label("Exception Class")
+            private Class<?> exceptionClass;
+
+            @Label("Message")
+            private String message;
+
+            @Label("Call Site")
+            private String callSite;
+        }
+
+        /**
+         * A fallback taken because a Monad had no value
+         */
+        @Name("jonad.Fallback")
+        @Label("Fallback")
+        @Description("switchIfEmpty, defaultIfEmpty or orElseGet falling back to an alternative")
+        @Category("Jonad")
+        @Enabled(false)
+        @StackTrace(false)
+        static final class FallbackEvent extends Event
+        {
+            @Label("Operator")
+            private String operator;
+
+            @Label("Call Site")
+            private String callSite;
+        }
+
+        /**
+         * A supplier taking longer than the threshold
+         */
+        @Name("jonad.SlowSupplier")
+        @Label("Slow Supplier")
+        @Description("A fromSupplier or orElseGet supplier exceeding the threshold")
+        @Category("Jonad")
+        @Enabled(false)
+        @StackTrace(false)
+        @Threshold("10 ms")
+        static final class SlowSupplierEvent extends Event
+        {
+            @Label("Operator")
+            private String operator;
+
+            @Label("Call Site")
+            private String callSite;
+        }
+    }
+}
@@ -0,0 +1,628 @@
+package jonad.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A cold {@link Flow.Publisher} of zero or more values sharing the
+ * operators of {@link Monad}. Each operator applies to every value:
+ * a value filtered out is skipped, and a failure, such as one from
+ * {@link #tryMap(Function)}, may be recovered by the onError operators
+ * or else ends the stream with {@code onError}. As with Monad, a
+ * function which throws from {@link #map(Function)} isn't recovered
+ * and ends the stream too. {@link #switchIfEmpty(Monad)} and
+ * {@link #defaultIfEmpty(Object)} apply once the source has
+ * completed without a value.
+ * <p>
+ * Consecutive operators are fused into a single function run once
+ * per value. Values are pulled from the source only as subscribers
+ * request them, looking at most one value ahead to signal completion,
+ * so nothing is buffered however fast the source is. Every
+ * subscription reads the source again
+ *
+ * @param <T> the type parameter
+ */
+public final class JonadFlux<T> implements Flow.Publisher<T>
+{
+    private final Supplier<? extends Iterator<?>> source;
+
+    private final Function<Object, Object> stage;
+
+    private JonadFlux(final Supplier<? extends Iterator<?>> source, final Function<Object, Object> stage)
+    {
+        this.source = source;
+        this.stage = stage;
+    }
+
+    /**
+     * Publish the values of the given iterable, skipping nulls
+     * @param values the values to publish
+     * @return a new JonadFlux
+     */
+    public static <T> JonadFlux<T> fromIterable(final Iterable<? extends T> values)
+    {
+        return new JonadFlux<>(values::iterator, null);
+    }
+
+    /**
+     * Publish the given values, skipping nulls
+     * @param values the values to publish
+     * @return a new JonadFlux
+     */
+    @SafeVarargs
+    public static <T> JonadFlux<T> of(final T... values)
+    {
+        // copy the values, so neither the caller's array nor its erased type is shared
+        final List<T> copy = new ArrayList<>(values.length);
+
+        for (final T val : values)
+        {
+            copy.add(val);
+        }
+
+        return fromIterable(copy);
+    }
+
+    /**
+     * Publish the value or failure of the given Monad
+     * @param m the Monad to read on every subscription
+     * @return a new JonadFlux
+     */
+    public static <T> JonadFlux<T> from(final Monad<T> m)
+    {
+        return new JonadFlux<>(() -> Collections.singleton(Stages.raw(m)).iterator(), null);
+    }
+
+    /**
+     * Create a JonadFlux which completes without a value
+     * @return a new empty JonadFlux
+     */
+    public static <T> JonadFlux<T> empty()
+    {
+        return new JonadFlux<>(Collections::emptyIterator, null);
+    }
+
+    /**
+     * Create a JonadFlux which fails with the given failure
+     * @param e the failure
+     * @return a new failed JonadFlux
+     */
+    public static <T> JonadFlux<T> failure(final Throwable e)
+    {
+        final Stages.Failed failed = new Stages.Failed(e);
+
+        return new JonadFlux<>(() -> Collections.singleton(failed).iterator(), null);
+    }
+
+    private <U> JonadFlux<U> then(final Function<Object, Object> next)
+    {
+        return new JonadFlux<>(source, Stages.then(stage, next));
+    }
+
+    private Iterator<Object> iterator()
+    {
+        return new Fused(source.get(), stage);
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber)
+    {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new FluxSubscription<>(this, subscriber));
+    }
+
+    /**
+     * Transform every value into a new value from the given function
+     *
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return JonadFlux of U
+     * @see Monad#map(Function)
+     */
+    public <U> JonadFlux<U> map(final Function<T, U> f)
+    {
+        return then(Stages.map(f));
+    }
+
+    /**
+     * Replace every value with the value of the
+     * Monad returned by the given function
+     *
+     * @param <U> the type parameter
+     * @param f   the function resulting in a Monad
+     * @return JonadFlux of U
+     * @see Monad#flatMap(Function)
+     */
+    public <U> JonadFlux<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
+    {
+        return then(Stages.flatMap(f));
+    }
+
+    /**
+     * Retain the values matching the given predicate
+     *
+     * @param f the predicate function
+     * @return JonadFlux of T
+     * @see Monad#filter(Predicate)
+     */
+    public JonadFlux<T> filter(final Predicate<? super T> f)
+    {
+        return then(Stages.filter(f));
+    }
+
+    /**
+     * Retain the values for which the Monad returned
+     * by the given predicate function holds true
+     *
+     * @param f the predicate function
+     * @return JonadFlux of T
+     * @see Monad#filterWhen(Function)
+     */
+    public JonadFlux<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+    {
+        return then(Stages.filterWhen(f));
+    }
+
+    /**
+     * Try and map every value, failing if the function throws
+     *
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return JonadFlux of U
+     * @see Monad#tryMap(Function)
+     */
+    public <U> JonadFlux<U> tryMap(final Function<T, U> f)
+    {
+        return then(Stages.tryMap(f));
+    }
+
+    /**
+     * Perform a side-effect for every value
+     *
+     * @param <U> the type parameter
+     * @param f   the consumer function
+     * @return JonadFlux of T
+     * @see Monad#doIfPresent(Consumer)
+     */
+    public <U> JonadFlux<T> doIfPresent(final Consumer<U> f)
+    {
+        return then(Stages.doIfPresent(f));
+    }
+
+    /**
+     * Perform a side-effect for a failure
+     *
+     * @param <E> the type parameter
+     * @param f   the error consumer
+     * @return JonadFlux of T
+     * @see Monad#doOnError(Consumer)
+     */
+    public <E extends Throwable> JonadFlux<T> doOnError(final Consumer<E> f)
+    {
+        return then(Stages.doOnError(err -> true, f));
+    }
+
+    /**
+     * Map a failure to a value, continuing the stream
+     *
+     * @param <E> the type parameter
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return JonadFlux of U
+     * @see Monad#onErrorMap(Function)
+     */
+    public <E extends Throwable, U> JonadFlux<U> onErrorMap(final Function<E, U> f)
+    {
+        return then(Stages.onErrorMap(err -> true, f));
+    }
+
+    /**
+     * Map a failure matching the predicate to a value, continuing the stream
+     *
+     * @param <E> the type parameter
+     * @param <U> the type parameter
+     * @param p   the predicate function
+     * @param f   the mapping function
+     * @return JonadFlux of U
+     * @see Monad#onErrorMapMatching(Predicate, Function)
+     */
+    public <E extends Throwable, U> JonadFlux<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
+    {
+        return then(Stages.onErrorMap(p, f));
+    }
+
+    /**
+     * Map a failure to the value of a Monad, continuing the stream
+     *
+     * @param <E> the type parameter
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return JonadFlux of U
+     * @see Monad#onErrorFlatMap(Function)
+     */
+    public <E extends Throwable, U> JonadFlux<U> onErrorFlatMap(final Function<E, Monad<U>> f)
+    {
+        return then(Stages.onErrorFlatMap(err -> true, f));
+    }
+
+    /**
+     * Publish the value of the given Monad if the
+     * source completes without a value
+     *
+     * @param <U> the type parameter
+     * @param u   the alternative Monad
+     * @return JonadFlux of U
+     * @see Monad#switchIfEmpty(Monad)
+     */
+    public <U> JonadFlux<U> switchIfEmpty(final Monad<U> u)
+    {
+        return new JonadFlux<>(() -> new OrElse(iterator(), () -> Stages.raw(u)), null);
+    }
+
+    /**
+     * Publish the given value if the source
+     * completes without a value
+     *
+     * @param <U> the type parameter
+     * @param u   the default value
+     * @return JonadFlux of U
+     * @see Monad#defaultIfEmpty(Object)
+     */
+    public <U> JonadFlux<U> defaultIfEmpty(final U u)
+    {
+        return new JonadFlux<>(() -> new OrElse(iterator(), () -> u), null);
+    }
+
+    /**
+     * Read the first value on the calling thread, stopping the source
+     * there. Empty if the stream completes without a value, and failed
+     * if it fails first
+     *
+     * @return Monad of the first value
+     */
+    public Monad<T> first()
+    {
+        try
+        {
+            final Iterator<Object> it = iterator();
+
+            return it.hasNext() ? Stages.toMonad(it.next()) : Jonad.empty();
+        }
+        // CSOFF: IllegalCatch
+        catch (RuntimeException e)
+        {
+            return Jonad.failure(e);
+        }
+        // CSON: IllegalCatch
+    }
+
+    /**
+     * Read every value on the calling thread, keeping only the last.
+     * Empty if the stream completes without a value, and failed
+     * if it fails
+     *
+     * @return Monad of the last value
+     */
+    public Monad<T> last()
+    {
+        try
+        {
+            final Iterator<Object> it = iterator();
+            Object last = null;
+
+            while (it.hasNext())
+            {
+                last = it.next();
+            }
+
+            return Stages.toMonad(last);
+        }
+        // CSOFF: IllegalCatch
+        catch (RuntimeException e)
+        {
+            return Jonad.failure(e);
+        }
+        // CSON: IllegalCatch
+    }
+
+    @Override
+    public String toString()
+    {
+        return "JonadFlux(cold)";
+    }
+
+    /**
+     * Runs the fused stage over each source value, skipping
+     * empty results and ending after the first failure
+     */
+    private static final class Fused implements Iterator<Object>
+    {
+        private final Iterator<?> source;
+
+        private final Function<Object, Object> stage;
+
+        private Object next;
+
+        private boolean done;
+
+        Fused(final Iterator<?> source, final Function<Object, Object> stage)
+        {
+            this.source = source;
+            this.stage = stage;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (next == null && !done)
+            {
+                try
+                {
+                    if (source.hasNext())
+                    {
+                        next = Stages.apply(stage, source.next());
+                    }
+                    else
+                    {
+                        done = true;
+                    }
+                }
+                // CSOFF: IllegalCatch
+                catch (RuntimeException e)
+                {
+                    next = new Stages.Failed(e);
+                }
+                // CSON: IllegalCatch
+
+                done |= next instanceof Stages.Failed;
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public Object next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            final Object v = next;
+
+            next = null;
+
+            return v;
+        }
+    }
+
+    /**
+     * Falls back to a single alternative value when
+     * the source ends without producing anything
+     */
+    private static final class OrElse implements Iterator<Object>
+    {
+        private final Iterator<Object> source;
+
+        private final Supplier<?> fallback;
+
+        private Object pending;
+
+        private boolean emitted;
+
+        private boolean switched;
+
+        OrElse(final Iterator<Object> source, final Supplier<?> fallback)
+        {
+            this.source = source;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (pending != null)
+            {
+                return true;
+            }
+
+            if (!switched && source.hasNext())
+            {
+                emitted = true;
+                return true;
+            }
+
+            if (!emitted && !switched)
+            {
+                switched = true;
+                pending = fallback.get();
+            }
+
+            return pending != null;
+        }
+
+        @Override
+        public Object next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            if (pending == null)
+            {
+                return source.next();
+            }
+
+            final Object v = pending;
+
+            pending = null;
+
+            return v;
+        }
+    }
+
+    /**
+     * Pulls values from the fused source as they are requested.
+     * Signals are serialised by a work-in-progress counter, so
+     * whichever thread requests more runs the drain loop and a
+     * request made from within {@code onNext} is picked up by
+     * the loop already running rather than recursing
+     *
+     * @param <T> the type parameter
+     */
+    private static final class FluxSubscription<T> implements Flow.Subscription
+    {
+        private final JonadFlux<T> flux;
+
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        private volatile IllegalArgumentException badRequest;
+
+        private Iterator<Object> it;
+
+        private boolean done;
+
+        FluxSubscription(final JonadFlux<T> flux, final Flow.Subscriber<? super T> subscriber)
+        {
+            this.flux = flux;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n)
+        {
+            if (n <= 0)
+            {
+                badRequest = new IllegalArgumentException("Requested " + n + " values, must be positive");
+            }
+            else
+            {
+                requested.getAndAccumulate(n, (r, m) -> r + m < 0 ? Long.MAX_VALUE : r + m);
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel()
+        {
+            cancelled = true;
+        }
+
+        private void drain()
+        {
+            if (wip.getAndIncrement() != 0)
+            {
+                return;
+            }
+
+            int missed = 1;
+
+            do
+            {
+                if (!cancelled && !done)
+                {
+                    emit();
+                }
+
+                missed = wip.addAndGet(-missed);
+            }
+            while (missed != 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void emit()
+        {
+            if (badRequest != null)
+            {
+                fail(badRequest);
+                return;
+            }
+
+            if (it == null && !open())
+            {
+                return;
+            }
+
+            final long r = requested.get();
+            long emitted = 0;
+
+            while (emitted != r && !cancelled)
+            {
+                if (!it.hasNext())
+                {
+                    complete();
+                    return;
+                }
+
+                final Object v = it.next();
+
+                if (v instanceof Stages.Failed)
+                {
+                    fail(Stages.failure(v));
+                    return;
+                }
+
+                subscriber.onNext((T) v);
+                emitted++;
+            }
+
+            if (!cancelled && !it.hasNext())
+            {
+                complete();
+                return;
+            }
+
+            if (r != Long.MAX_VALUE)
+            {
+                requested.addAndGet(-emitted);
+            }
+        }
+
+        private boolean open()
+        {
+            try
+            {
+                it = flux.iterator();
+                return true;
+            }
+            // CSOFF: IllegalCatch
+            catch (RuntimeException e)
+            {
+                fail(e);
+                return false;
+            }
+            // CSON: IllegalCatch
+        }
+
+        private void complete()
+        {
+            done = true;
+            subscriber.onComplete();
+        }
+
+        private void fail(final Throwable e)
+        {
+            done = true;
+            subscriber.onError(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package jonad.model;
+
+import java.util.function.Supplier;
+
+/**
+ * Installs the {@link MetricsRegistry} which Jonad operators report
+ * to. While none is installed the only cost to an operator is a
+ * single null check. Operators can be tagged with a pipeline name
+ * for the duration of {@link #withPipeline(String, Supplier)}; the
+ * name is held per thread, so it doesn't follow work handed to
+ * other threads such as the stages of an AsyncJonad
+ */
+public final class JonadMetrics
+{
+    /**
+     * The pipeline name reported for operators run outside
+     * of {@link #withPipeline(String, Supplier)}
+     */
+    public static final String DEFAULT_PIPELINE = "default";
+
+    private static final ThreadLocal<String> PIPELINE = new ThreadLocal<>();
+
+    private static volatile MetricsRegistry registry;
+
+    private JonadMetrics()
+    {
+    }
+
+    /**
+     * Report every Jonad operator to the given registry
+     * @param r the registry to report to
+     */
+    public static void install(final MetricsRegistry r)
+    {
+        registry = r;
+    }
+
+    /**
+     * Stop reporting Jonad operators
+     */
+    public static void uninstall()
+    {
+        registry = null;
+    }
+
+    /**
+     * Run the given function with the operators
+     * it runs on this thread tagged with a pipeline name
+     * @param name the pipeline name
+     * @param f    the function to run
+     * @return the result of the function
+     */
+    public static <T> T withPipeline(final String name, final Supplier<T> f)
+    {
+        final String previous = PIPELINE.get();
+
+        PIPELINE.set(name);
+
+        try
+        {
+            return f.get();
+        }
+        finally
+        {
+            if (previous == null)
+            {
+                PIPELINE.remove();
+            }
+            else
+            {
+                PIPELINE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Report the Monad returned by an operator
+     * to the installed registry, if any
+     */
+    static <U> Monad<U> observe(final MetricsRegistry.Operator operator, final Monad<U> m)
+    {
+        final MetricsRegistry r = registry;
+
+        if (r != null)
+        {
+            report(r, operator, m);
+        }
+
+        return m;
+    }
+
+    private static void report(final MetricsRegistry r, final MetricsRegistry.Operator operator, final Monad<?> m)
+    {
+        final String pipeline = PIPELINE.get();
+
+        r.record(pipeline == null ? DEFAULT_PIPELINE : pipeline, operator, MetricsRegistry.Outcome.of(m));
+    }
+}
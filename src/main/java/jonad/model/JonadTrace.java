@@ -0,0 +1,185 @@
+package jonad.model;
+
+import jonad.model.MetricsRegistry.Outcome;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * An opt-in debug mode recording where each Jonad operator was
+ * assembled and what it returned. When a traced Monad ends up
+ * empty or failed, the exception thrown by
+ * {@link Monad#orElseThrow(java.util.function.Supplier)} carries
+ * a suppressed {@link Trail} naming the stage which first produced
+ * the empty or failure, followed by every stage of the chain.
+ * <p>
+ * Tracing is switched on with {@code -Djonad.trace=true} or
+ * {@link #enable()} and only applies to Monads created afterwards.
+ * The switch is held in a {@link MutableCallSite}, which the JIT
+ * treats as a constant and deoptimises when it changes, so with
+ * tracing off the factories compile to exactly the untraced code
+ */
+public final class JonadTrace
+{
+    /**
+     * The system property enabling tracing at startup
+     */
+    public static final String PROPERTY = "jonad.trace";
+
+    private static final MutableCallSite SWITCH = new MutableCallSite(
+            MethodHandles.constant(boolean.class, Boolean.getBoolean(PROPERTY)));
+
+    private static final MethodHandle ENABLED = SWITCH.dynamicInvoker();
+
+    private JonadTrace()
+    {
+    }
+
+    /**
+     * Whether Monads created now are traced
+     *
+     * @return true if tracing is on
+     */
+    public static boolean isEnabled()
+    {
+        try
+        {
+            return (boolean) ENABLED.invokeExact();
+        }
+        // CSOFF: IllegalCatch
+        catch (Throwable e)
+        {
+            throw new IllegalStateException(e);
+        }
+        // CSON: IllegalCatch
+    }
+
+    /**
+     * Trace every Monad created from now on
+     */
+    public static void enable()
+    {
+        toggle(true);
+    }
+
+    /**
+     * Stop tracing Monads created from now on
+     */
+    public static void disable()
+    {
+        toggle(false);
+    }
+
+    private static synchronized void toggle(final boolean enabled)
+    {
+        SWITCH.setTarget(MethodHandles.constant(boolean.class, enabled));
+        MutableCallSite.syncAll(new MutableCallSite[]{SWITCH});
+    }
+
+    /**
+     * Wrap a Monad built by the given factory so that its
+     * operators are traced
+     */
+    static <T> Monad<T> source(final String operator, final Monad<T> m)
+    {
+        return new TracedJonad<>(m, new Stage(operator, JonadEvents.callSite(), Outcome.of(m), null));
+    }
+
+    /**
+     * One assembled operator and its outcome, linked to the
+     * stage before it
+     */
+    static final class Stage
+    {
+        private final String operator;
+
+        private final String site;
+
+        private final Outcome outcome;
+
+        private final Stage previous;
+
+        Stage(final String operator, final String site, final Outcome outcome, final Stage previous)
+        {
+            this.operator = operator;
+            this.site = site;
+            this.outcome = outcome;
+            this.previous = previous;
+        }
+
+        /**
+         * Append the stage for an operator returning the given Monad
+         */
+        Stage then(final String op, final Monad<?> m)
+        {
+            return new Stage(op, JonadEvents.callSite(), Outcome.of(m), this);
+        }
+
+        Trail toTrail()
+        {
+            final Deque<Stage> stages = new ArrayDeque<>();
+            Stage origin = null;
+            boolean unbroken = true;
+
+            for (Stage s = this; s != null; s = s.previous)
+            {
+                stages.addFirst(s);
+                unbroken = unbroken && s.outcome != Outcome.PRESENT;
+
+                if (unbroken)
+                {
+                    origin = s;
+                }
+            }
+
+            final StringBuilder message = new StringBuilder();
+
+            if (origin != null)
+            {
+                message.append(origin.outcome.name().toLowerCase(Locale.ROOT))
+                        .append(" first produced by ").append(origin);
+            }
+            else
+            {
+                message.append("no empty or failed stage");
+            }
+
+            for (final Stage s : stages)
+            {
+                message.append(System.lineSeparator()).append('\t').append(s)
+                        .append(" -> ").append(s.outcome.name().toLowerCase(Locale.ROOT));
+
+                if (s == origin)
+                {
+                    message.append(" <<<");
+                }
+            }
+
+            return new Trail(message.toString());
+        }
+
+        @Override
+        public String toString()
+        {
+            return operator + " at " + site;
+        }
+    }
+
+    /**
+     * The assembly trail of a traced Monad, attached as a
+     * suppressed exception to the one thrown by orElseThrow
+     */
+    public static final class Trail extends StacklessException
+    {
+        private static final long serialVersionUID = 1L;
+
+        Trail(final String message)
+        {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package jonad.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A Monad which records its operators instead of running them.
+ * Every operator is fused into a single function over the source
+ * value, which only runs when a terminal method such as
+ * {@link #getOrNull()}, {@link #orElseGet(Supplier)},
+ * {@link #toOptional()} or {@link #isEmpty()} is called.
+ * No intermediate Monads are created between stages.
+ * <p>
+ * The chain is evaluated again on every terminal call,
+ * including any side-effects, and two LazyJonads are only
+ * equal when they are the same instance
+ *
+ * @param <T> the type parameter
+ */
+public final class LazyJonad<T> implements Monad<T>
+{
+    private final Supplier<?> source;
+
+    private final Function<Object, Object> stage;
+
+    private LazyJonad(final Supplier<?> source, final Function<Object, Object> stage)
+    {
+        this.source = source;
+        this.stage = stage;
+    }
+
+    /**
+     * Lazily wrap the given value
+     * @param val the given value
+     * @return a new LazyJonad
+     */
+    public static <T> LazyJonad<T> of(final T val)
+    {
+        return new LazyJonad<>(() -> val, null);
+    }
+
+    /**
+     * Defer the given supplier until a terminal method is called
+     * @param f the supplier function providing the value to wrap
+     * @return a new LazyJonad
+     */
+    public static <T> LazyJonad<T> fromSupplier(final Supplier<T> f)
+    {
+        return new LazyJonad<>(f, null);
+    }
+
+    /**
+     * Lazily apply further operators to the given Monad
+     * @param m the Monad to read when a terminal method is called
+     * @return a new LazyJonad
+     */
+    public static <T> LazyJonad<T> from(final Monad<T> m)
+    {
+        return new LazyJonad<>(() -> Stages.raw(m), null);
+    }
+
+    /**
+     * Create a LazyJonad which always holds the given failure
+     * @param e the failure
+     * @return a new failed LazyJonad
+     */
+    public static <T> LazyJonad<T> failure(final Throwable e)
+    {
+        final Stages.Failed failed = new Stages.Failed(e);
+
+        return new LazyJonad<>(() -> failed, null);
+    }
+
+    /**
+     * Create a LazyJonad which is always empty
+     * @return a new empty LazyJonad
+     */
+    public static <T> LazyJonad<T> empty()
+    {
+        return new LazyJonad<>(() -> null, null);
+    }
+
+    private <U> LazyJonad<U> then(final Function<Object, Object> next)
+    {
+        return new LazyJonad<>(source, Stages.then(stage, next));
+    }
+
+    Object evaluate()
+    {
+        return Stages.apply(stage, source.get());
+    }
+
+    /**
+     * Run the recorded chain and capture its result
+     * in an eagerly evaluated Monad
+     *
+     * @return the evaluated Monad
+     */
+    public Monad<T> toJonad()
+    {
+        return Stages.toMonad(evaluate());
+    }
+
+    @Override
+    public <U> LazyJonad<U> map(final Function<T, U> f)
+    {
+        return then(Stages.map(f));
+    }
+
+    @Override
+    public <U> LazyJonad<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
+    {
+        return then(Stages.flatMap(f));
+    }
+
+    @Override
+    public LazyJonad<T> filter(final Predicate<? super T> f)
+    {
+        return then(Stages.filter(f));
+    }
+
+    @Override
+    public LazyJonad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+    {
+        return then(Stages.filterWhen(f));
+    }
+
+    @Nullable
+    @Override
+    public T getOrNull()
+    {
+        return Stages.value(evaluate());
+    }
+
+    @Override
+    public Optional<T> toOptional()
+    {
+        return Optional.ofNullable(getOrNull());
+    }
+
+    @Override
+    public Stream<T> stream()
+    {
+        final T val = getOrNull();
+
+        return val == null ? Stream.empty() : Stream.of(val);
+    }
+
+    @Override
+    public T getOrDefault(final T t)
+    {
+        final T val = getOrNull();
+
+        return val == null ? t : val;
+    }
+
+    @Override
+    public T orElseGet(final Supplier<T> f)
+    {
+        final T val = getOrNull();
+
+        if (val == null)
+        {
+            JonadEvents.fallback("orElseGet");
+
+            return JonadEvents.supply("orElseGet", f);
+        }
+
+        return val;
+    }
+
+    @Override
+    public <E extends Throwable> T orElseThrow(final Supplier<? extends E> f) throws E
+    {
+        final T val = getOrNull();
+
+        if (val == null)
+        {
+            throw JonadEvents.orElseThrow(f.get());
+        }
+
+        return val;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return evaluate() == null;
+    }
+
+    @Override
+    public boolean isFailure()
+    {
+        return Stages.failure(evaluate()) != null;
+    }
+
+    @Nullable
+    @Override
+    public Throwable getFailureOrNull()
+    {
+        return Stages.failure(evaluate());
+    }
+
+    @Override
+    public <U> LazyJonad<T> doIfEmpty(final Consumer<U> f)
+    {
+        return then(Stages.doIfEmpty(f));
+    }
+
+    @Override
+    public <U> LazyJonad<T> doIfPresent(final Consumer<U> f)
+    {
+        return then(Stages.doIfPresent(f));
+    }
+
+    @Override
+    public <E extends Throwable> LazyJonad<T> doOnError(final Consumer<E> f)
+    {
+        return then(Stages.doOnError(err -> true, f));
+    }
+
+    @Override
+    public <E extends Throwable> LazyJonad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
+    {
+        return then(Stages.doOnError(e::isInstance, f));
+    }
+
+    @Override
+    public <U> LazyJonad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+    {
+        return then(Stages.doOnError(p, f));
+    }
+
+    @Override
+    public <E extends Throwable, U> LazyJonad<U> onErrorMap(final Function<E, U> f)
+    {
+        return then(Stages.onErrorMap(err -> true, f));
+    }
+
+    @Override
+    public <E extends Throwable, U> LazyJonad<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
+    {
+        return then(Stages.onErrorMap(p, f));
+    }
+
+    @Override
+    public <E extends Throwable, U> LazyJonad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
+    {
+        return then(Stages.onErrorFlatMap(err -> true, f));
+    }
+
+    @Override
+    public <E extends Throwable, U> LazyJonad<U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                        final Function<E, Monad<U>> f)
+    {
+        return then(Stages.onErrorFlatMap(p, f));
+    }
+
+    @Override
+    public <U> LazyJonad<U> tryMap(final Function<T, U> f)
+    {
+        return then(Stages.tryMap(f));
+    }
+
+    @Override
+    public <U> LazyJonad<U> switchIfEmpty(final Monad<U> u)
+    {
+        return then(Stages.switchIfEmpty(u));
+    }
+
+    @Override
+    public <U> LazyJonad<U> defaultIfEmpty(final U u)
+    {
+        return then(Stages.defaultIfEmpty(u));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LazyJonad(deferred)";
+    }
+}
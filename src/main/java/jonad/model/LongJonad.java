@@ -0,0 +1,395 @@
+package jonad.model;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * A Monad specialised for long values. The value is held
+ * alongside a present flag so pipelines of long operators
+ * never box
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@EqualsAndHashCode
+public final class LongJonad
+{
+    private static final LongJonad EMPTY = new LongJonad(false, 0);
+
+    private static final int CACHE_LOW = -128;
+
+    private static final int CACHE_HIGH = 127;
+
+    private static final LongJonad[] CACHE = new LongJonad[CACHE_HIGH - CACHE_LOW + 1];
+
+    static
+    {
+        for (int i = 0; i < CACHE.length; i++)
+        {
+            CACHE[i] = new LongJonad(true, i + CACHE_LOW);
+        }
+    }
+
+    private final boolean present;
+
+    private final long val;
+
+    /**
+     * Wrap the given value in a LongJonad
+     * @param val the given value
+     * @return a LongJonad of the value
+     */
+    public static LongJonad of(final long val)
+    {
+        if (val >= CACHE_LOW && val <= CACHE_HIGH)
+        {
+            return CACHE[(int) val - CACHE_LOW];
+        }
+
+        return new LongJonad(true, val);
+    }
+
+    /**
+     * Wrap the given value in a LongJonad if present
+     * otherwise return an empty LongJonad
+     * @param val the given value
+     * @return a LongJonad of the value or empty
+     */
+    public static LongJonad orEmpty(final Long val)
+    {
+        return val == null ? EMPTY : of(val);
+    }
+
+    /**
+     * Wrap the value of the given {@link OptionalLong}
+     * in a LongJonad if present otherwise return an
+     * empty LongJonad
+     * @param val the given optional
+     * @return a LongJonad of the value or empty
+     */
+    public static LongJonad orEmpty(final OptionalLong val)
+    {
+        return val.isPresent() ? of(val.getAsLong()) : EMPTY;
+    }
+
+    /**
+     * Wrap the given value from the supplier in a LongJonad
+     * @param f the supplier function providing the value to wrap
+     * @return a LongJonad of the value
+     */
+    public static LongJonad fromSupplier(final LongSupplier f)
+    {
+        return of(f.getAsLong());
+    }
+
+    /**
+     * Return the shared empty LongJonad
+     * @return the empty LongJonad
+     */
+    public static LongJonad empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Transform the value of this LongJonad into
+     * a new value from the given function.
+     * Does nothing if it has no value
+     *
+     * @param f the mapping function
+     * @return LongJonad of the result or empty
+     */
+    public LongJonad map(final LongUnaryOperator f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        return of(f.applyAsLong(val));
+    }
+
+    /**
+     * Transform the value of this LongJonad into
+     * an int value from the given function
+     *
+     * @param f the mapping function
+     * @return IntJonad of the result or empty
+     */
+    public IntJonad mapToInt(final LongToIntFunction f)
+    {
+        if (!present)
+        {
+            return IntJonad.empty();
+        }
+
+        return IntJonad.of(f.applyAsInt(val));
+    }
+
+    /**
+     * Transform the value of this LongJonad into
+     * a double value from the given function
+     *
+     * @param f the mapping function
+     * @return DoubleJonad of the result or empty
+     */
+    public DoubleJonad mapToDouble(final LongToDoubleFunction f)
+    {
+        if (!present)
+        {
+            return DoubleJonad.empty();
+        }
+
+        return DoubleJonad.of(f.applyAsDouble(val));
+    }
+
+    /**
+     * Transform the value of this LongJonad into
+     * an object from the given function
+     *
+     * @param <U> the type parameter
+     * @param f   the mapping function
+     * @return Monad of U or empty
+     */
+    public <U> Monad<U> mapToObj(final LongFunction<U> f)
+    {
+        if (!present)
+        {
+            return Jonad.empty();
+        }
+
+        return Jonad.of(f.apply(val));
+    }
+
+    /**
+     * If this LongJonad contains a value, apply
+     * the given LongJonad-bearing function and
+     * return its result
+     *
+     * @param f the function resulting in a LongJonad
+     * @return LongJonad of the result or empty
+     */
+    public LongJonad flatMap(final LongFunction<LongJonad> f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        return f.apply(val);
+    }
+
+    /**
+     * If a value is present and matches the given
+     * predicate retain this LongJonad, else return
+     * an empty LongJonad
+     *
+     * @param f the predicate function
+     * @return this LongJonad or empty
+     */
+    public LongJonad filter(final LongPredicate f)
+    {
+        if (!present || !f.test(val))
+        {
+            return EMPTY;
+        }
+
+        return this;
+    }
+
+    /**
+     * If a value is present apply the given Monad-bearing
+     * predicate function and retain this LongJonad when it
+     * holds true, else return an empty LongJonad
+     *
+     * @param f the predicate function
+     * @return this LongJonad or empty
+     */
+    public LongJonad filterWhen(final LongFunction<? extends Monad<? extends Boolean>> f)
+    {
+        if (!present || !Boolean.TRUE.equals(f.apply(val).getOrNull()))
+        {
+            return EMPTY;
+        }
+
+        return this;
+    }
+
+    /**
+     * Try and map the value, retaining this
+     * LongJonad if the given function throws
+     *
+     * @param f the mapping function
+     * @return LongJonad of the result or this LongJonad if the function threw
+     */
+    public LongJonad tryMap(final LongUnaryOperator f)
+    {
+        if (!present)
+        {
+            return this;
+        }
+
+        try
+        {
+            return of(f.applyAsLong(val));
+        }
+        // CSOFF: IllegalCatch
+        catch (Exception e)
+        {
+            return this;
+        }
+        // CSON: IllegalCatch
+    }
+
+    /**
+     * Switch to an alternative LongJonad if this one is empty
+     *
+     * @param u the alternative LongJonad
+     * @return this LongJonad or the alternative if empty
+     */
+    public LongJonad switchIfEmpty(final LongJonad u)
+    {
+        return present ? this : u;
+    }
+
+    /**
+     * Default to an alternative value if this LongJonad is empty
+     *
+     * @param u the default value
+     * @return this LongJonad or one of the default value if empty
+     */
+    public LongJonad defaultIfEmpty(final long u)
+    {
+        return present ? this : of(u);
+    }
+
+    /**
+     * Perform a side-effect if this LongJonad doesn't
+     * contain a value
+     *
+     * @param f the side-effect to run
+     * @return this LongJonad
+     */
+    public LongJonad doIfEmpty(final Runnable f)
+    {
+        if (!present)
+        {
+            f.run();
+        }
+
+        return this;
+    }
+
+    /**
+     * Perform a side-effect if this LongJonad contains
+     * a value
+     *
+     * @param f the consumer function
+     * @return this LongJonad
+     */
+    public LongJonad doIfPresent(final LongConsumer f)
+    {
+        if (present)
+        {
+            f.accept(val);
+        }
+
+        return this;
+    }
+
+    /**
+     * If this LongJonad has a value, return it;
+     * else return the given default value
+     *
+     * @param t the default value
+     * @return the value or the default value
+     */
+    public long getOrDefault(final long t)
+    {
+        return present ? val : t;
+    }
+
+    /**
+     * If this LongJonad doesn't have a value, invoke
+     * the given supplier and return its value
+     *
+     * @param f the supplier function
+     * @return the value or the value from the supplier
+     */
+    public long orElseGet(final LongSupplier f)
+    {
+        return present ? val : f.getAsLong();
+    }
+
+    /**
+     * If this LongJonad doesn't have a value,
+     * invoke the given supplier and throw the
+     * error it provides
+     *
+     * @param <E> the type parameter
+     * @param f   the supplier function
+     * @return the value
+     * @throws E the supplied error
+     */
+    public <E extends Throwable> long orElseThrow(final Supplier<? extends E> f) throws E
+    {
+        if (!present)
+        {
+            throw f.get();
+        }
+
+        return val;
+    }
+
+    /**
+     * Return true if this LongJonad is empty
+     *
+     * @return boolean true if empty
+     */
+    public boolean isEmpty()
+    {
+        return !present;
+    }
+
+    /**
+     * Transform this LongJonad to an {@link OptionalLong}
+     *
+     * @return OptionalLong of the value or OptionalLong.empty
+     */
+    public OptionalLong toOptional()
+    {
+        return present ? OptionalLong.of(val) : OptionalLong.empty();
+    }
+
+    /**
+     * Transform this LongJonad to an {@link LongStream}
+     *
+     * @return LongStream of the value or an empty LongStream
+     */
+    public LongStream stream()
+    {
+        return present ? LongStream.of(val) : LongStream.empty();
+    }
+
+    /**
+     * Box this LongJonad into a {@link Monad}
+     *
+     * @return Monad of the value or empty
+     */
+    public Monad<Long> boxed()
+    {
+        return present ? Jonad.of(val) : Jonad.empty();
+    }
+}
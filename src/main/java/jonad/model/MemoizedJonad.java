@@ -0,0 +1,406 @@
+package jonad.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A Monad whose supplier runs on first use and whose result is
+ * shared between threads. However many threads read it at once
+ * the supplier runs at most once, the other threads waiting for
+ * its result, and every later read is a single field read.
+ * <p>
+ * The {@link Policy} decides whether an empty or failed result
+ * is kept or whether the next read runs the supplier again.
+ * A supplier which throws produces a failure.
+ * <p>
+ * Operators read the memoized Monad and return an evaluated
+ * Monad, and two MemoizedJonads are only equal when they are
+ * the same instance
+ *
+ * @param <T> the type parameter
+ */
+public final class MemoizedJonad<T> implements Monad<T>
+{
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MemoizedJonad, Load> LOAD =
+            AtomicReferenceFieldUpdater.newUpdater(MemoizedJonad.class, Load.class, "load");
+
+    private final Supplier<? extends T> supplier;
+
+    private final Policy policy;
+
+    private volatile Monad<T> result;
+
+    private volatile Load<T> load;
+
+    private MemoizedJonad(final Supplier<? extends T> supplier, final Policy policy)
+    {
+        this.supplier = supplier;
+        this.policy = policy;
+    }
+
+    /**
+     * Which results are kept once the supplier has run
+     */
+    public enum Policy
+    {
+        /**
+         * Keep every result, including empty and failed ones
+         */
+        ALL,
+
+        /**
+         * Keep values and empty results, running the
+         * supplier again after a failure
+         */
+        PRESENT_OR_EMPTY,
+
+        /**
+         * Only keep values, running the supplier
+         * again after an empty or failed result
+         */
+        PRESENT_ONLY;
+
+        boolean keeps(final Monad<?> m)
+        {
+            switch (this)
+            {
+                case PRESENT_OR_EMPTY:
+                    return !m.isFailure();
+                case PRESENT_ONLY:
+                    return !m.isEmpty() && !m.isFailure();
+                default:
+                    return true;
+            }
+        }
+    }
+
+    /**
+     * Defer the given supplier until first use, keeping every result
+     * @param f the supplier function providing the value to wrap
+     * @return a new MemoizedJonad
+     */
+    public static <T> MemoizedJonad<T> fromSupplier(final Supplier<? extends T> f)
+    {
+        return fromSupplier(f, Policy.ALL);
+    }
+
+    /**
+     * Defer the given supplier until first use, keeping
+     * the results allowed by the given policy
+     * @param f      the supplier function providing the value to wrap
+     * @param policy the policy deciding which results are kept
+     * @return a new MemoizedJonad
+     */
+    public static <T> MemoizedJonad<T> fromSupplier(final Supplier<? extends T> f, final Policy policy)
+    {
+        return new MemoizedJonad<>(f, policy);
+    }
+
+    /**
+     * Return true if a result has been kept, so
+     * reading this Monad won't run the supplier
+     *
+     * @return boolean true if memoized
+     */
+    public boolean isMemoized()
+    {
+        return result != null;
+    }
+
+    /**
+     * Return the memoized Monad, running the supplier
+     * if no result has been kept yet
+     *
+     * @return the evaluated Monad
+     */
+    public Monad<T> toJonad()
+    {
+        final Monad<T> m = result;
+
+        return m != null ? m : compute();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Monad<T> compute()
+    {
+        while (true)
+        {
+            final Load<T> pending = load;
+
+            if (pending != null)
+            {
+                return pending.await();
+            }
+
+            final Load<T> mine = new Load<>();
+
+            if (LOAD.compareAndSet(this, null, mine))
+            {
+                return run(mine);
+            }
+        }
+    }
+
+    private Monad<T> run(final Load<T> mine)
+    {
+        Monad<T> m = result;
+
+        try
+        {
+            // Another thread may have kept its result between
+            // the caller reading it and claiming the load
+            if (m == null)
+            {
+                m = supply();
+
+                if (policy.keeps(m))
+                {
+                    result = m;
+                }
+            }
+        }
+        // CSOFF: IllegalCatch
+        catch (Throwable e)
+        {
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        // CSON: IllegalCatch
+        finally
+        {
+            // Always release the load, so no reader waits on it forever
+            load = null;
+            mine.complete(m);
+        }
+
+        return m;
+    }
+
+    /**
+     * Run the supplier, turning anything it throws other than an
+     * Error into a failure, including a checked exception thrown
+     * sneakily
+     */
+    private Monad<T> supply()
+    {
+        try
+        {
+            return Jonad.of(supplier.get());
+        }
+        // CSOFF: IllegalCatch
+        catch (Throwable e)
+        {
+            if (e instanceof Error)
+            {
+                throw (Error) e;
+            }
+
+            return Jonad.failure(e);
+        }
+        // CSON: IllegalCatch
+    }
+
+    @Override
+    public <U> Monad<U> map(final Function<T, U> f)
+    {
+        return toJonad().map(f);
+    }
+
+    @Override
+    public <U> Monad<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
+    {
+        return toJonad().flatMap(f);
+    }
+
+    @Override
+    public Monad<T> filter(final Predicate<? super T> f)
+    {
+        return toJonad().filter(f);
+    }
+
+    @Override
+    public Monad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+    {
+        return toJonad().filterWhen(f);
+    }
+
+    @Nullable
+    @Override
+    public T getOrNull()
+    {
+        return toJonad().getOrNull();
+    }
+
+    @Override
+    public Optional<T> toOptional()
+    {
+        return toJonad().toOptional();
+    }
+
+    @Override
+    public Stream<T> stream()
+    {
+        return toJonad().stream();
+    }
+
+    @Override
+    public T getOrDefault(final T t)
+    {
+        return toJonad().getOrDefault(t);
+    }
+
+    @Override
+    public T orElseGet(final Supplier<T> f)
+    {
+        return toJonad().orElseGet(f);
+    }
+
+    @Override
+    public <E extends Throwable> T orElseThrow(final Supplier<? extends E> f) throws E
+    {
+        return toJonad().orElseThrow(f);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return toJonad().isEmpty();
+    }
+
+    @Override
+    public boolean isFailure()
+    {
+        return toJonad().isFailure();
+    }
+
+    @Nullable
+    @Override
+    public Throwable getFailureOrNull()
+    {
+        return toJonad().getFailureOrNull();
+    }
+
+    @Override
+    public <U> Monad<T> doIfEmpty(final Consumer<U> f)
+    {
+        return toJonad().doIfEmpty(f);
+    }
+
+    @Override
+    public <U> Monad<T> doIfPresent(final Consumer<U> f)
+    {
+        return toJonad().doIfPresent(f);
+    }
+
+    @Override
+    public <E extends Throwable> Monad<T> doOnError(final Consumer<E> f)
+    {
+        return toJonad().doOnError(f);
+    }
+
+    @Override
+    public <E extends Throwable> Monad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
+    {
+        return toJonad().doOnError(e, f);
+    }
+
+    @Override
+    public <U> Monad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+    {
+        return toJonad().doOnErrorMatching(p, f);
+    }
+
+    @Override
+    public <E extends Throwable, U> Monad<U> onErrorMap(final Function<E, U> f)
+    {
+        return toJonad().onErrorMap(f);
+    }
+
+    @Override
+    public <E extends Throwable, U> Monad<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
+    {
+        return toJonad().onErrorMapMatching(p, f);
+    }
+
+    @Override
+    public <E extends Throwable, U> Monad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
+    {
+        return toJonad().onErrorFlatMap(f);
+    }
+
+    @Override
+    public <E extends Throwable, U> Monad<U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                    final Function<E, Monad<U>> f)
+    {
+        return toJonad().onErrorFlatMapMatching(p, f);
+    }
+
+    @Override
+    public <U> Monad<U> tryMap(final Function<T, U> f)
+    {
+        return toJonad().tryMap(f);
+    }
+
+    @Override
+    public <U> Monad<U> switchIfEmpty(final Monad<U> u)
+    {
+        return toJonad().switchIfEmpty(u);
+    }
+
+    @Override
+    public <U> Monad<U> defaultIfEmpty(final U u)
+    {
+        return toJonad().defaultIfEmpty(u);
+    }
+
+    @Override
+    public String toString()
+    {
+        final Monad<T> m = result;
+
+        return m == null ? "MemoizedJonad(pending)" : "MemoizedJonad(" + m + ")";
+    }
+
+    /**
+     * A supplier run in progress, which the threads that
+     * lost the race to run the supplier wait on
+     *
+     * @param <T> the type parameter
+     */
+    private static final class Load<T> extends CompletableFuture<Monad<T>>
+    {
+        private final Thread owner = Thread.currentThread();
+
+        Monad<T> await()
+        {
+            if (owner == Thread.currentThread())
+            {
+                throw new IllegalStateException("MemoizedJonad read from its own supplier");
+            }
+
+            try
+            {
+                return join();
+            }
+            catch (CompletionException e)
+            {
+                if (e.getCause() instanceof Error)
+                {
+                    throw (Error) e.getCause();
+                }
+
+                throw e;
+            }
+        }
+    }
+}
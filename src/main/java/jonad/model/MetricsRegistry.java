@@ -0,0 +1,58 @@
+package jonad.model;
+
+/**
+ * Receives the outcome of every Jonad operator once installed
+ * with {@link JonadMetrics#install(MetricsRegistry)}. Called on
+ * the thread running the operator, so implementations must be
+ * thread-safe and cheap
+ */
+public interface MetricsRegistry
+{
+    /**
+     * Record the outcome of an operator
+     *
+     * @param pipeline the pipeline name, {@link JonadMetrics#DEFAULT_PIPELINE} if none was given
+     * @param operator the operator which ran
+     * @param outcome  the state of the Monad the operator returned
+     */
+    void record(String pipeline, Operator operator, Outcome outcome);
+
+    /**
+     * The instrumented operators. The onError operators are
+     * only recorded when they handle a failure, with the
+     * outcome of the recovery
+     */
+    enum Operator
+    {
+        MAP,
+        FLAT_MAP,
+        FILTER,
+        FILTER_WHEN,
+        TRY_MAP,
+        SWITCH_IF_EMPTY,
+        DEFAULT_IF_EMPTY,
+        ON_ERROR_MAP,
+        ON_ERROR_FLAT_MAP
+    }
+
+    /**
+     * The state of the Monad returned by an operator
+     */
+    enum Outcome
+    {
+        PRESENT,
+        EMPTY,
+        FAILURE;
+
+        /**
+         * The outcome of the given Monad
+         *
+         * @param m the Monad returned by an operator
+         * @return the outcome
+         */
+        public static Outcome of(final Monad<?> m)
+        {
+            return m.isFailure() ? FAILURE : m.isEmpty() ? EMPTY : PRESENT;
+        }
+    }
+}
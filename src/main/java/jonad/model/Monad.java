@@ -121,12 +121,29 @@ public interface Monad<T>
     <E extends Throwable> T orElseThrow(Supplier<? extends E> f) throws E;
 
     /**
-     * Return true if this Monad is Empty
+     * Return true if this Monad is Empty.
+     * A failed Monad isn't empty
      *
      * @return boolean true if empty
      */
     boolean isEmpty();
 
+    /**
+     * Return true if this Monad holds a failure,
+     * such as one captured by {@link #tryMap(Function)}
+     *
+     * @return boolean true if failed
+     */
+    boolean isFailure();
+
+    /**
+     * If this Monad holds a failure, return it;
+     * else return null
+     *
+     * @return the failure or null
+     */
+    @Nullable Throwable getFailureOrNull();
+
     /**
      * Perform a side-effect if this Monad doesn't
      * contain a value
@@ -226,10 +243,11 @@ public interface Monad<T>
     <E extends Throwable, U> Monad<U> onErrorFlatMapMatching(Predicate<E> p, Function<E, Monad<U>> f);
 
     /**
-     * Try and map to an alternative Monad if the given function throws
-     * return the original otherwise map the value
-     * @param f the mapping function providing the alternative Monad
-     * @return a new Monad if the mapping function threw an error
+     * Try and map the value of this Monad. If the given
+     * function throws, return a failed Monad holding the
+     * exception, otherwise map the value
+     * @param f the mapping function
+     * @return a new Monad, failed if the mapping function threw an error
      */
     <U> Monad<U> tryMap(Function<T, U> f);
 
@@ -0,0 +1,414 @@
+package jonad.model;
+
+import jonad.model.MemoizedJonad.Policy;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A memoizing Monad function backed by a concurrent cache of at
+ * most a given number of keys, for expensive pure lookups which
+ * are repeated with the same keys. Use it in place of the mapping
+ * function of {@link Monad#flatMap(Function)}.
+ * <p>
+ * Concurrent misses for the same key share a single call to the
+ * wrapped function. Which results are kept is decided by a
+ * {@link Policy}, so empty results can be cached as well as
+ * values, and entries can expire a fixed time after being loaded.
+ * <p>
+ * Once full, a new key is only admitted if it has been asked for
+ * more often than the least recently used key, which it then
+ * evicts. Frequencies are estimated by a small count-min sketch
+ * which is halved periodically, so a scan of keys seen once can't
+ * flush out the keys which are hot. Reads never block: recording
+ * a hit is skipped while another thread holds the eviction lock
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class MonadCache<K, V> implements Function<K, Monad<V>>
+{
+    private final Function<? super K, ? extends Monad<V>> f;
+
+    private final int maximumSize;
+
+    private final long expiryNanos;
+
+    private final Policy policy;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final LinkedHashMap<K, Entry<V>> order = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final FrequencySketch sketch;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private MonadCache(final Function<? super K, ? extends Monad<V>> f, final int maximumSize,
+                       final Duration expireAfterWrite, final Policy policy)
+    {
+        if (maximumSize < 1)
+        {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+
+        this.f = f;
+        this.maximumSize = maximumSize;
+        this.expiryNanos = expireAfterWrite == null ? 0 : expireAfterWrite.toNanos();
+        this.policy = policy;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Cache the results of the given mapping function, keeping values
+     * and empty results but calling the function again after it throws
+     * @param f           the mapping function
+     * @param maximumSize the most keys to keep
+     * @return a new MonadCache
+     * @see Monad#map(Function)
+     */
+    public static <K, V> MonadCache<K, V> mapping(final Function<? super K, ? extends V> f, final int maximumSize)
+    {
+        return mapping(f, maximumSize, null, Policy.PRESENT_OR_EMPTY);
+    }
+
+    /**
+     * Cache the results of the given mapping function
+     * @param f                the mapping function
+     * @param maximumSize      the most keys to keep
+     * @param expireAfterWrite how long to keep each result, or null to keep it until evicted
+     * @param policy           which results to keep
+     * @return a new MonadCache
+     * @see Monad#map(Function)
+     */
+    public static <K, V> MonadCache<K, V> mapping(final Function<? super K, ? extends V> f, final int maximumSize,
+                                                  final Duration expireAfterWrite, final Policy policy)
+    {
+        return new MonadCache<>(key -> Jonad.of(f.apply(key)), maximumSize, expireAfterWrite, policy);
+    }
+
+    /**
+     * Cache the results of the given Monad-bearing function, keeping
+     * values and empty results but calling the function again after
+     * a failure
+     * @param f           the function resulting in a Monad
+     * @param maximumSize the most keys to keep
+     * @return a new MonadCache
+     * @see Monad#flatMap(Function)
+     */
+    public static <K, V> MonadCache<K, V> flatMapping(final Function<? super K, ? extends Monad<V>> f,
+                                                      final int maximumSize)
+    {
+        return flatMapping(f, maximumSize, null, Policy.PRESENT_OR_EMPTY);
+    }
+
+    /**
+     * Cache the results of the given Monad-bearing function
+     * @param f                the function resulting in a Monad
+     * @param maximumSize      the most keys to keep
+     * @param expireAfterWrite how long to keep each result, or null to keep it until evicted
+     * @param policy           which results to keep
+     * @return a new MonadCache
+     * @see Monad#flatMap(Function)
+     */
+    public static <K, V> MonadCache<K, V> flatMapping(final Function<? super K, ? extends Monad<V>> f,
+                                                      final int maximumSize, final Duration expireAfterWrite,
+                                                      final Policy policy)
+    {
+        return new MonadCache<>(f, maximumSize, expireAfterWrite, policy);
+    }
+
+    /**
+     * The cached result for the given key, calling the wrapped
+     * function on a miss. A function which throws caches nothing
+     * and the exception is rethrown to every caller waiting on it
+     * @param key the key to look up
+     * @return the cached or loaded Monad
+     */
+    @Override
+    public Monad<V> apply(final K key)
+    {
+        while (true)
+        {
+            final Entry<V> existing = entries.get(key);
+
+            if (existing != null && !existing.isExpired())
+            {
+                hits.increment();
+                recordHit(key);
+
+                return existing.join();
+            }
+
+            if (existing != null)
+            {
+                expire(key, existing);
+                continue;
+            }
+
+            final Entry<V> created = new Entry<>();
+
+            if (entries.putIfAbsent(key, created) == null)
+            {
+                misses.increment();
+
+                return load(key, created);
+            }
+        }
+    }
+
+    private Monad<V> load(final K key, final Entry<V> entry)
+    {
+        final Monad<V> m;
+
+        try
+        {
+            final Monad<V> loaded = f.apply(key);
+
+            m = loaded == null ? Jonad.empty() : loaded;
+        }
+        // CSOFF: IllegalCatch
+        catch (Throwable e)
+        {
+            // including a checked exception thrown sneakily, which
+            // would otherwise leave the entry pending for every reader
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+        // CSON: IllegalCatch
+
+        entry.complete(m, expiryNanos);
+
+        if (policy.keeps(m))
+        {
+            admit(key, entry);
+        }
+        else
+        {
+            entries.remove(key, entry);
+        }
+
+        return m;
+    }
+
+    private void recordHit(final K key)
+    {
+        if (lock.tryLock())
+        {
+            try
+            {
+                sketch.increment(key);
+                order.get(key);
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void admit(final K key, final Entry<V> entry)
+    {
+        lock.lock();
+
+        try
+        {
+            sketch.increment(key);
+            order.put(key, entry);
+
+            while (order.size() > maximumSize)
+            {
+                final K victim = order.keySet().iterator().next();
+                final K evicted = sketch.frequency(key) > sketch.frequency(victim) ? victim : key;
+
+                entries.remove(evicted, order.remove(evicted));
+                evictions.increment();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void expire(final K key, final Entry<V> entry)
+    {
+        entries.remove(key, entry);
+        lock.lock();
+
+        try
+        {
+            order.remove(key, entry);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The number of cached keys, including those still loading
+     * @return the estimated size
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * The hits, misses and evictions so far
+     * @return the cache statistics
+     */
+    public MonadCacheStats stats()
+    {
+        return new MonadCacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MonadCache(size=" + size() + ", maximumSize=" + maximumSize + ", " + stats() + ")";
+    }
+
+    /**
+     * A cached result, pending until its first caller has loaded it
+     *
+     * @param <V> the value type
+     */
+    private static final class Entry<V>
+    {
+        private final CompletableFuture<Monad<V>> future = new CompletableFuture<>();
+
+        private volatile long expiresAt;
+
+        private volatile boolean expires;
+
+        void complete(final Monad<V> m, final long expiryNanos)
+        {
+            if (expiryNanos > 0)
+            {
+                expiresAt = System.nanoTime() + expiryNanos;
+                expires = true;
+            }
+
+            future.complete(m);
+        }
+
+        boolean isExpired()
+        {
+            return expires && System.nanoTime() - expiresAt >= 0;
+        }
+
+        Monad<V> join()
+        {
+            try
+            {
+                return future.join();
+            }
+            catch (CompletionException e)
+            {
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+
+                if (e.getCause() instanceof Error)
+                {
+                    throw (Error) e.getCause();
+                }
+
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters estimating how often each
+     * key has been seen. Every counter is halved once the number of
+     * increments reaches ten times the width, so old popularity fades.
+     * Only used while holding the eviction lock
+     */
+    private static final class FrequencySketch
+    {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+                                             0xcbf29ce484222325L};
+
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private static final int MAX_COUNT = 15;
+
+        private final long[] table;
+
+        private final int sampleSize;
+
+        private int additions;
+
+        FrequencySketch(final int maximumSize)
+        {
+            final int width = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 24)) - 1) << 1;
+
+            this.table = new long[width];
+            this.sampleSize = 10 * width;
+        }
+
+        private long hash(final Object key, final int i)
+        {
+            long h = (key.hashCode() + SEEDS[i]) * SEEDS[i];
+
+            return h + (h >>> 32);
+        }
+
+        int frequency(final Object key)
+        {
+            int frequency = MAX_COUNT;
+
+            for (int i = 0; i < SEEDS.length; i++)
+            {
+                final long h = hash(key, i);
+                final int shift = (int) (h >>> 60) << 2;
+
+                frequency = Math.min(frequency, (int) (table[(int) h & (table.length - 1)] >>> shift) & MAX_COUNT);
+            }
+
+            return frequency;
+        }
+
+        void increment(final Object key)
+        {
+            for (int i = 0; i < SEEDS.length; i++)
+            {
+                final long h = hash(key, i);
+                final int index = (int) h & (table.length - 1);
+                final int shift = (int) (h >>> 60) << 2;
+
+                if ((table[index] >>> shift & MAX_COUNT) < MAX_COUNT)
+                {
+                    table[index] += 1L << shift;
+                }
+            }
+
+            if (++additions == sampleSize)
+            {
+                for (int i = 0; i < table.length; i++)
+                {
+                    table[i] = table[i] >>> 1 & RESET_MASK;
+                }
+
+                additions /= 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package jonad.model;
+
+import lombok.Value;
+
+/**
+ * The number of hits, misses and evictions
+ * seen by a {@link MonadCache}
+ */
+@Value
+public class MonadCacheStats
+{
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    /**
+     * The total number of lookups
+     *
+     * @return the request count
+     */
+    public long getRequestCount()
+    {
+        return hitCount + missCount;
+    }
+
+    /**
+     * The fraction of lookups answered from the cache,
+     * or 1 if there have been none
+     *
+     * @return the hit rate
+     */
+    public double getHitRate()
+    {
+        final long requests = getRequestCount();
+
+        return requests == 0 ? 1 : (double) hitCount / requests;
+    }
+}
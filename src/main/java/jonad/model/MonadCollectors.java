@@ -0,0 +1,251 @@
+package jonad.model;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Collectors and stream sources for streams of Monads. Each reads
+ * the Monad directly rather than going through {@link Monad#stream()},
+ * so no Stream is created per element, and each combines partial
+ * results so it can be used with parallel streams
+ */
+public final class MonadCollectors
+{
+    private MonadCollectors()
+    {
+    }
+
+    /**
+     * The present values of the given Monads, skipping
+     * empty and failed Monads
+     * @param monads the stream of Monads
+     * @return a stream of the present values
+     */
+    public static <T> Stream<T> values(final Stream<? extends Monad<? extends T>> monads)
+    {
+        return monads.<T>map(Monad::getOrNull).filter(Objects::nonNull);
+    }
+
+    /**
+     * The failures of the given Monads, skipping
+     * present and empty Monads
+     * @param monads the stream of Monads
+     * @return a stream of the failures
+     */
+    public static Stream<Throwable> failures(final Stream<? extends Monad<?>> monads)
+    {
+        return monads.<Throwable>map(Monad::getFailureOrNull).filter(Objects::nonNull);
+    }
+
+    /**
+     * Pass the present values to the given collector, skipping
+     * empty and failed Monads
+     * @param downstream the collector receiving the values
+     * @return a collector of Monads
+     */
+    public static <T, A, R> Collector<Monad<? extends T>, A, R> flattening(final Collector<? super T, A, R> downstream)
+    {
+        final BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+
+        return Collector.of(downstream.supplier(),
+                (a, m) ->
+                {
+                    final T val = m.getOrNull();
+
+                    if (val != null)
+                    {
+                        accumulator.accept(a, val);
+                    }
+                },
+                downstream.combiner(),
+                downstream.finisher(),
+                downstream.characteristics().toArray(new Collector.Characteristics[0]));
+    }
+
+    /**
+     * Collect the present values into a list, skipping
+     * empty and failed Monads
+     * @return a collector of Monads
+     */
+    public static <T> Collector<Monad<? extends T>, ?, List<T>> toList()
+    {
+        return Collector.<Monad<? extends T>, List<T>>of(ArrayList::new,
+                (list, m) ->
+                {
+                    final T val = m.getOrNull();
+
+                    if (val != null)
+                    {
+                        list.add(val);
+                    }
+                },
+                (left, right) ->
+                {
+                    left.addAll(right);
+                    return left;
+                });
+    }
+
+    /**
+     * Count the present, empty and failed Monads in one pass
+     * @return a collector of Monads
+     */
+    public static Collector<Monad<?>, ?, MonadCounts> counting()
+    {
+        return Collector.<Monad<?>, long[], MonadCounts>of(() -> new long[3],
+                (counts, m) -> counts[m.isFailure() ? 2 : m.isEmpty() ? 1 : 0]++,
+                (left, right) ->
+                {
+                    left[0] += right[0];
+                    left[1] += right[1];
+                    left[2] += right[2];
+                    return left;
+                },
+                counts -> new MonadCounts(counts[0], counts[1], counts[2]),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Split the Monads into their present values and their
+     * failures in one pass, counting the empty Monads
+     * @return a collector of Monads
+     */
+    public static <T> Collector<Monad<? extends T>, ?, MonadPartition<T>> partitioning()
+    {
+        return Collector.<Monad<? extends T>, Partial<T>, MonadPartition<T>>of(Partial::new,
+                Partial::add,
+                Partial::combine,
+                p -> new MonadPartition<>(p.values, p.failures, p.emptyCount));
+    }
+
+    /**
+     * Summarise the present values as ints, skipping
+     * empty and failed Monads
+     * @param f the function reading an int from a value
+     * @return a collector of Monads
+     */
+    public static <T> Collector<Monad<? extends T>, ?, IntSummaryStatistics> summarizingInt(
+            final ToIntFunction<? super T> f)
+    {
+        return Collector.<Monad<? extends T>, IntSummaryStatistics>of(IntSummaryStatistics::new,
+                (stats, m) ->
+                {
+                    final T val = m.getOrNull();
+
+                    if (val != null)
+                    {
+                        stats.accept(f.applyAsInt(val));
+                    }
+                },
+                (left, right) ->
+                {
+                    left.combine(right);
+                    return left;
+                },
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Summarise the present values as longs, skipping
+     * empty and failed Monads
+     * @param f the function reading a long from a value
+     * @return a collector of Monads
+     */
+    public static <T> Collector<Monad<? extends T>, ?, LongSummaryStatistics> summarizingLong(
+            final ToLongFunction<? super T> f)
+    {
+        return Collector.<Monad<? extends T>, LongSummaryStatistics>of(LongSummaryStatistics::new,
+                (stats, m) ->
+                {
+                    final T val = m.getOrNull();
+
+                    if (val != null)
+                    {
+                        stats.accept(f.applyAsLong(val));
+                    }
+                },
+                (left, right) ->
+                {
+                    left.combine(right);
+                    return left;
+                },
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Summarise the present values as doubles, skipping
+     * empty and failed Monads
+     * @param f the function reading a double from a value
+     * @return a collector of Monads
+     */
+    public static <T> Collector<Monad<? extends T>, ?, DoubleSummaryStatistics> summarizingDouble(
+            final ToDoubleFunction<? super T> f)
+    {
+        return Collector.<Monad<? extends T>, DoubleSummaryStatistics>of(DoubleSummaryStatistics::new,
+                (stats, m) ->
+                {
+                    final T val = m.getOrNull();
+
+                    if (val != null)
+                    {
+                        stats.accept(f.applyAsDouble(val));
+                    }
+                },
+                (left, right) ->
+                {
+                    left.combine(right);
+                    return left;
+                },
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * The mutable state behind {@link #partitioning()}
+     *
+     * @param <T> the type parameter
+     */
+    private static final class Partial<T>
+    {
+        private final List<T> values = new ArrayList<>();
+
+        private final List<Throwable> failures = new ArrayList<>();
+
+        private long emptyCount;
+
+        void add(final Monad<? extends T> m)
+        {
+            final T val = m.getOrNull();
+
+            if (val != null)
+            {
+                values.add(val);
+            }
+            else if (m.isFailure())
+            {
+                failures.add(m.getFailureOrNull());
+            }
+            else
+            {
+                emptyCount++;
+            }
+        }
+
+        Partial<T> combine(final Partial<T> right)
+        {
+            values.addAll(right.values);
+            failures.addAll(right.failures);
+            emptyCount += right.emptyCount;
+            return this;
+        }
+    }
+}
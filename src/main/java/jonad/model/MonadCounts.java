@@ -0,0 +1,27 @@
+package jonad.model;
+
+import lombok.Value;
+
+/**
+ * The number of present, empty and failed Monads
+ * seen by {@link MonadCollectors#counting()}
+ */
+@Value
+public class MonadCounts
+{
+    private final long presentCount;
+
+    private final long emptyCount;
+
+    private final long failureCount;
+
+    /**
+     * The total number of Monads counted
+     *
+     * @return the total count
+     */
+    public long getTotalCount()
+    {
+        return presentCount + emptyCount + failureCount;
+    }
+}
@@ -0,0 +1,21 @@
+package jonad.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The values and failures of a stream of Monads, split by
+ * {@link MonadCollectors#partitioning()} in encounter order
+ *
+ * @param <T> the type parameter
+ */
+@Value
+public class MonadPartition<T>
+{
+    private final List<T> values;
+
+    private final List<Throwable> failures;
+
+    private final long emptyCount;
+}
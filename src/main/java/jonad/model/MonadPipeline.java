@@ -0,0 +1,328 @@
+package jonad.model;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A reusable chain of Monad operators, built once and then
+ * applied to any number of inputs.
+ * <p>
+ * Each operator returns a new pipeline, so a pipeline is
+ * immutable and may be shared and applied from any thread.
+ * The operators are held as a flat array of stages over the
+ * raw value of the input, and {@link #apply(Object)} runs them
+ * in a single loop, creating only the Monad it returns. Each
+ * stage is tagged with the states it acts on, so an empty or
+ * failed value skips straight past the stages meant for a
+ * present value without calling them
+ *
+ * <pre>{@code
+ * MonadPipeline<String, Integer> parse = MonadPipeline.<String>start()
+ *         .map(String::trim)
+ *         .filter(s -> !s.isEmpty())
+ *         .tryMap(Integer::valueOf)
+ *         .defaultIfEmpty(0);
+ *
+ * records.stream().map(parse)...
+ * }</pre>
+ *
+ * @param <T> the input type
+ * @param <R> the result type
+ */
+public final class MonadPipeline<T, R> implements Function<T, Monad<R>>
+{
+    private static final int PRESENT = 1;
+
+    private static final int EMPTY = 2;
+
+    private static final int FAILED = 4;
+
+    private static final Function<Object, Object>[] NO_STAGES = stages(0);
+
+    private static final int[] NO_STATES = new int[0];
+
+    private final Function<Object, Object>[] stages;
+
+    private final int[] states;
+
+    private MonadPipeline(final Function<Object, Object>[] stages, final int[] states)
+    {
+        this.stages = stages;
+        this.states = states;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object>[] stages(final int size)
+    {
+        return (Function<Object, Object>[]) new Function<?, ?>[size];
+    }
+
+    /**
+     * Start a pipeline which returns its input
+     * @return a new pipeline with no operators
+     */
+    public static <T> MonadPipeline<T, T> start()
+    {
+        return new MonadPipeline<>(NO_STAGES, NO_STATES);
+    }
+
+    private <U> MonadPipeline<T, U> then(final int on, final Function<Object, Object> next)
+    {
+        final Function<Object, Object>[] copy = Arrays.copyOf(stages, stages.length + 1);
+        final int[] copyStates = Arrays.copyOf(states, states.length + 1);
+
+        copy[stages.length] = next;
+        copyStates[states.length] = on;
+
+        return new MonadPipeline<>(copy, copyStates);
+    }
+
+    private static int state(final Object v)
+    {
+        if (v == null)
+        {
+            return EMPTY;
+        }
+
+        return v instanceof Stages.Failed ? FAILED : PRESENT;
+    }
+
+    private Object evaluate(final Object v)
+    {
+        Object raw = v;
+        int state = state(raw);
+
+        for (int i = 0; i < stages.length; i++)
+        {
+            if ((states[i] & state) != 0)
+            {
+                raw = stages[i].apply(raw);
+                state = state(raw);
+            }
+        }
+
+        return raw;
+    }
+
+    /**
+     * Run the pipeline over the given input,
+     * where null is treated as empty
+     * @param val the input
+     * @return the result of the pipeline
+     */
+    @Override
+    public Monad<R> apply(final T val)
+    {
+        return Stages.toMonad(evaluate(val));
+    }
+
+    /**
+     * Run the pipeline over the value, emptiness
+     * or failure held by the given Monad
+     * @param m the input Monad
+     * @return the result of the pipeline
+     */
+    public Monad<R> applyTo(final Monad<? extends T> m)
+    {
+        return Stages.toMonad(evaluate(Stages.raw(m)));
+    }
+
+    /**
+     * Append the operators of the given pipeline to this one
+     * @param next the pipeline to run on the result of this one
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, U> then(final MonadPipeline<R, U> next)
+    {
+        final Function<Object, Object>[] copy = Arrays.copyOf(stages, stages.length + next.stages.length);
+        final int[] copyStates = Arrays.copyOf(states, states.length + next.states.length);
+
+        System.arraycopy(next.stages, 0, copy, stages.length, next.stages.length);
+        System.arraycopy(next.states, 0, copyStates, states.length, next.states.length);
+
+        return new MonadPipeline<>(copy, copyStates);
+    }
+
+    /**
+     * Return the number of operators in this pipeline
+     * @return the number of operators
+     */
+    public int size()
+    {
+        return stages.length;
+    }
+
+    /**
+     * Append {@link Monad#map(Function)}
+     * @param f the mapping function
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, U> map(final Function<R, U> f)
+    {
+        return then(PRESENT, Stages.map(f));
+    }
+
+    /**
+     * Append {@link Monad#flatMap(Function)}
+     * @param f the mapping function
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, U> flatMap(final Function<? super R, ? extends Monad<? extends U>> f)
+    {
+        return then(PRESENT, Stages.flatMap(f));
+    }
+
+    /**
+     * Append {@link Monad#filter(Predicate)}
+     * @param f the predicate function
+     * @return a new pipeline
+     */
+    public MonadPipeline<T, R> filter(final Predicate<? super R> f)
+    {
+        return then(PRESENT, Stages.filter(f));
+    }
+
+    /**
+     * Append {@link Monad#filterWhen(Function)}
+     * @param f the function returning a Monad of the filter result
+     * @return a new pipeline
+     */
+    public MonadPipeline<T, R> filterWhen(final Function<? super R, ? extends Monad<? extends Boolean>> f)
+    {
+        return then(PRESENT, Stages.filterWhen(f));
+    }
+
+    /**
+     * Append {@link Monad#tryMap(Function)}
+     * @param f the mapping function which may throw
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, U> tryMap(final Function<R, U> f)
+    {
+        return then(PRESENT, Stages.tryMap(f));
+    }
+
+    /**
+     * Append {@link Monad#switchIfEmpty(Monad)}
+     * @param u the alternative Monad
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, U> switchIfEmpty(final Monad<U> u)
+    {
+        return then(EMPTY, Stages.switchIfEmpty(u));
+    }
+
+    /**
+     * Append {@link Monad#defaultIfEmpty(Object)}
+     * @param u the default value
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, U> defaultIfEmpty(final U u)
+    {
+        return then(EMPTY, Stages.defaultIfEmpty(u));
+    }
+
+    /**
+     * Append {@link Monad#doIfEmpty(Consumer)}
+     * @param f the side-effect
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, R> doIfEmpty(final Consumer<U> f)
+    {
+        return then(EMPTY, Stages.doIfEmpty(f));
+    }
+
+    /**
+     * Append {@link Monad#doIfPresent(Consumer)}
+     * @param f the side-effect
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, R> doIfPresent(final Consumer<U> f)
+    {
+        return then(PRESENT, Stages.doIfPresent(f));
+    }
+
+    /**
+     * Append {@link Monad#doOnError(Consumer)}
+     * @param f the error consumer
+     * @return a new pipeline
+     */
+    public <E extends Throwable> MonadPipeline<T, R> doOnError(final Consumer<E> f)
+    {
+        return then(FAILED, Stages.doOnError(err -> true, f));
+    }
+
+    /**
+     * Append {@link Monad#doOnError(Class, Consumer)}
+     * @param e the error type to match
+     * @param f the error consumer
+     * @return a new pipeline
+     */
+    public <E extends Throwable> MonadPipeline<T, R> doOnError(final Class<E> e, final Consumer<? super E> f)
+    {
+        return then(FAILED, Stages.doOnError(e::isInstance, f));
+    }
+
+    /**
+     * Append {@link Monad#doOnErrorMatching(Predicate, Consumer)}
+     * @param p the predicate function
+     * @param f the error consumer
+     * @return a new pipeline
+     */
+    public <U> MonadPipeline<T, R> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+    {
+        return then(FAILED, Stages.doOnError(p, f));
+    }
+
+    /**
+     * Append {@link Monad#onErrorMap(Function)}
+     * @param f the mapping function
+     * @return a new pipeline
+     */
+    public <E extends Throwable, U> MonadPipeline<T, U> onErrorMap(final Function<E, U> f)
+    {
+        return then(FAILED, Stages.onErrorMap(err -> true, f));
+    }
+
+    /**
+     * Append {@link Monad#onErrorMapMatching(Predicate, Function)}
+     * @param p the predicate function
+     * @param f the mapping function
+     * @return a new pipeline
+     */
+    public <E extends Throwable, U> MonadPipeline<T, U> onErrorMapMatching(final Predicate<E> p,
+                                                                           final Function<E, U> f)
+    {
+        return then(FAILED, Stages.onErrorMap(p, f));
+    }
+
+    /**
+     * Append {@link Monad#onErrorFlatMap(Function)}
+     * @param f the mapping function
+     * @return a new pipeline
+     */
+    public <E extends Throwable, U> MonadPipeline<T, U> onErrorFlatMap(final Function<E, Monad<U>> f)
+    {
+        return then(FAILED, Stages.onErrorFlatMap(err -> true, f));
+    }
+
+    /**
+     * Append {@link Monad#onErrorFlatMapMatching(Predicate, Function)}
+     * @param p the predicate function
+     * @param f the mapping function
+     * @return a new pipeline
+     */
+    public <E extends Throwable, U> MonadPipeline<T, U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                               final Function<E, Monad<U>> f)
+    {
+        return then(FAILED, Stages.onErrorFlatMap(p, f));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MonadPipeline[" + stages.length + " stages]";
+    }
+}
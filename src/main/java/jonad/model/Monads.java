@@ -0,0 +1,292 @@
+package jonad.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Operators combining many Monads into one. The sequential
+ * operators stop at the first empty or failed Monad and
+ * return it, the parallel operators cancel the remaining
+ * work instead. Results are collected into a fixed-size
+ * list sized up front
+ * <p>
+ * The zip operators run independent suppliers at the same time on
+ * the default executor, virtual threads where the JVM has them,
+ * and combine their values. The first empty or failed supplier
+ * completes the result and cancels the others, so a zip takes as
+ * long as its slowest supplier rather than the sum of them all
+ */
+public final class Monads
+{
+    private Monads()
+    {
+    }
+
+    /**
+     * Combine the values of the given Monads into a Monad of a list,
+     * or return the first empty or failed Monad
+     * @param monads the Monads to combine
+     * @return a Monad of every value in order, or the first miss
+     */
+    public static <T> Monad<List<T>> sequence(final Collection<? extends Monad<? extends T>> monads)
+    {
+        return traverse(monads, Function.identity());
+    }
+
+    /**
+     * Apply the given function to each element in order, combining
+     * the values into a Monad of a list. Stops at the first empty
+     * or failed Monad, without applying the function to the
+     * remaining elements
+     * @param elements the elements to apply the function to
+     * @param f        the function resulting in a Monad
+     * @return a Monad of every value in order, or the first miss
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, T> Monad<List<T>> traverse(final Collection<? extends A> elements,
+                                                 final Function<? super A, ? extends Monad<? extends T>> f)
+    {
+        final Object[] values = new Object[elements.size()];
+        final Iterator<? extends A> it = elements.iterator();
+
+        for (int i = 0; i < values.length; i++)
+        {
+            // Read the element once and return a fresh miss, since the
+            // element itself may be a deferred Monad of another type
+            final Object raw = Stages.raw(f.apply(it.next()));
+
+            if (!Stages.isPresent(raw))
+            {
+                return Stages.toMonad(raw);
+            }
+
+            values[i] = raw;
+        }
+
+        return Jonad.of((List<T>) Arrays.asList(values));
+    }
+
+    /**
+     * Combine the values of the given AsyncJonads once they have all
+     * completed. The first empty or failed AsyncJonad completes the
+     * result and cancels the others
+     * @param asyncs the AsyncJonads to combine
+     * @return an AsyncJonad of every value in order, or the first miss
+     */
+    public static <T> AsyncJonad<List<T>> sequenceAsync(final Collection<? extends AsyncJonad<? extends T>> asyncs)
+    {
+        final ParallelScope<T> scope = new ParallelScope<>(asyncs.size());
+        int i = 0;
+
+        for (final AsyncJonad<? extends T> async : asyncs)
+        {
+            scope.add(i++, async);
+        }
+
+        return scope.join();
+    }
+
+    /**
+     * Apply the given function to every element in parallel on
+     * the default executor
+     * @param elements the elements to apply the function to
+     * @param f        the function resulting in a Monad
+     * @return an AsyncJonad of every value in order, or the first miss
+     * @see #traverseParallel(Collection, Function, Executor)
+     */
+    public static <A, T> AsyncJonad<List<T>> traverseParallel(final Collection<? extends A> elements,
+                                                              final Function<? super A, ? extends Monad<T>> f)
+    {
+        return traverseParallel(elements, f, AsyncJonad.defaultExecutor());
+    }
+
+    /**
+     * Apply the given function to every element in parallel on the
+     * given executor. The first empty or failed Monad completes the
+     * result, interrupting the functions still running and skipping
+     * those not yet started
+     * @param elements the elements to apply the function to
+     * @param f        the function resulting in a Monad
+     * @param executor the executor to apply the function on
+     * @return an AsyncJonad of every value in order, or the first miss
+     */
+    public static <A, T> AsyncJonad<List<T>> traverseParallel(final Collection<? extends A> elements,
+                                                              final Function<? super A, ? extends Monad<T>> f,
+                                                              final Executor executor)
+    {
+        final ParallelScope<T> scope = new ParallelScope<>(elements.size());
+        int i = 0;
+
+        for (final A element : elements)
+        {
+            scope.fork(i++, () -> f.apply(element), executor);
+        }
+
+        return scope.join();
+    }
+
+    /**
+     * Run both suppliers in parallel and combine their values
+     * @param a the first supplier
+     * @param b the second supplier
+     * @param f the combining function
+     * @return an AsyncJonad of the combined value, or the first miss
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> AsyncJonad<R> zip(final Supplier<? extends Monad<A>> a,
+                                              final Supplier<? extends Monad<B>> b,
+                                              final BiFunction<? super A, ? super B, ? extends R> f)
+    {
+        return fork(a, b).map(v -> f.apply((A) v.get(0), (B) v.get(1)));
+    }
+
+    /**
+     * Run the three suppliers in parallel and combine their values
+     * @param a the first supplier
+     * @param b the second supplier
+     * @param c the third supplier
+     * @param f the combining function
+     * @return an AsyncJonad of the combined value, or the first miss
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B, C, R> AsyncJonad<R> zip(final Supplier<? extends Monad<A>> a,
+                                                 final Supplier<? extends Monad<B>> b,
+                                                 final Supplier<? extends Monad<C>> c,
+                                                 final Function3<? super A, ? super B, ? super C, ? extends R> f)
+    {
+        return fork(a, b, c).map(v -> f.apply((A) v.get(0), (B) v.get(1), (C) v.get(2)));
+    }
+
+    /**
+     * Run the four suppliers in parallel and combine their values
+     * @param a the first supplier
+     * @param b the second supplier
+     * @param c the third supplier
+     * @param d the fourth supplier
+     * @param f the combining function
+     * @return an AsyncJonad of the combined value, or the first miss
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B, C, D, R> AsyncJonad<R> zip(final Supplier<? extends Monad<A>> a,
+                                                    final Supplier<? extends Monad<B>> b,
+                                                    final Supplier<? extends Monad<C>> c,
+                                                    final Supplier<? extends Monad<D>> d,
+                                                    final Function4<? super A, ? super B, ? super C, ? super D,
+                                                            ? extends R> f)
+    {
+        return fork(a, b, c, d).map(v -> f.apply((A) v.get(0), (B) v.get(1), (C) v.get(2), (D) v.get(3)));
+    }
+
+    /**
+     * Run the five suppliers in parallel and combine their values
+     * @param a the first supplier
+     * @param b the second supplier
+     * @param c the third supplier
+     * @param d the fourth supplier
+     * @param e the fifth supplier
+     * @param f the combining function
+     * @return an AsyncJonad of the combined value, or the first miss
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B, C, D, E, R> AsyncJonad<R> zip(final Supplier<? extends Monad<A>> a,
+                                                       final Supplier<? extends Monad<B>> b,
+                                                       final Supplier<? extends Monad<C>> c,
+                                                       final Supplier<? extends Monad<D>> d,
+                                                       final Supplier<? extends Monad<E>> e,
+                                                       final Function5<? super A, ? super B, ? super C, ? super D,
+                                                               ? super E, ? extends R> f)
+    {
+        return fork(a, b, c, d, e).map(v -> f.apply((A) v.get(0), (B) v.get(1), (C) v.get(2), (D) v.get(3),
+                (E) v.get(4)));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private static AsyncJonad<List<Object>> fork(final Supplier<? extends Monad<?>>... suppliers)
+    {
+        final ParallelScope<Object> scope = new ParallelScope<>(suppliers.length);
+        final Executor executor = DefaultExecutor.get();
+
+        for (int i = 0; i < suppliers.length; i++)
+        {
+            scope.fork(i, (Supplier<? extends Monad<Object>>) suppliers[i], executor);
+        }
+
+        return scope.join();
+    }
+
+    /**
+     * A function of three arguments
+     *
+     * @param <A> the first argument type
+     * @param <B> the second argument type
+     * @param <C> the third argument type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface Function3<A, B, C, R>
+    {
+        /**
+         * Apply this function to the given arguments
+         * @param a the first argument
+         * @param b the second argument
+         * @param c the third argument
+         * @return the result
+         */
+        R apply(A a, B b, C c);
+    }
+
+    /**
+     * A function of four arguments
+     *
+     * @param <A> the first argument type
+     * @param <B> the second argument type
+     * @param <C> the third argument type
+     * @param <D> the fourth argument type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface Function4<A, B, C, D, R>
+    {
+        /**
+         * Apply this function to the given arguments
+         * @param a the first argument
+         * @param b the second argument
+         * @param c the third argument
+         * @param d the fourth argument
+         * @return the result
+         */
+        R apply(A a, B b, C c, D d);
+    }
+
+    /**
+     * A function of five arguments
+     *
+     * @param <A> the first argument type
+     * @param <B> the second argument type
+     * @param <C> the third argument type
+     * @param <D> the fourth argument type
+     * @param <E> the fifth argument type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface Function5<A, B, C, D, E, R>
+    {
+        /**
+         * Apply this function to the given arguments
+         * @param a the first argument
+         * @param b the second argument
+         * @param c the third argument
+         * @param d the fourth argument
+         * @param e the fifth argument
+         * @return the result
+         */
+        R apply(A a, B b, C c, D d, E e);
+    }
+}
@@ -0,0 +1,613 @@
+package jonad.model;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A fixed number of optional values stored outside the collected
+ * heap, in a direct or memory-mapped {@link ByteBuffer}. Rows are
+ * read as Monads and written from them, and the bulk operators
+ * filter and map the rows in place, so a large table of optional
+ * values costs the GC a single buffer object rather than a Monad
+ * per row.
+ * <p>
+ * The buffer holds a header, a presence bitmap and one slot per
+ * row, whose layout is given by a {@link Slot}. Presence bits are
+ * updated atomically and published after the slot is written, so a
+ * reader never sees a row become present before its value is
+ * complete, including a reader in another process mapping the same
+ * file. Overwriting a present row clears its bit first, so the row
+ * reads as empty until the new value is published, and
+ * {@link #get(int)} checks the bit again after reading. This
+ * doesn't cover a row overwritten twice within a single read, so
+ * values which readers must never see torn shouldn't be
+ * overwritten while they are being read. Each row should have one
+ * writer at a time. A store can't hold failures, and a buffer is
+ * limited to 2GB, so very large tables are split across stores
+ *
+ * @param <T> the type parameter
+ */
+public final class OffHeapStore<T>
+{
+    private static final int MAGIC = 0x4A4E4144;
+
+    private static final int HEADER_BYTES = 16;
+
+    private static final int SIZE_OFFSET = 4;
+
+    private static final int WIDTH_OFFSET = 8;
+
+    private static final int WORD_SHIFT = 6;
+
+    private static final VarHandle WORDS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private final ByteBuffer buffer;
+
+    private final Slot<T> slot;
+
+    private final int size;
+
+    private final int slotsOffset;
+
+    private OffHeapStore(final ByteBuffer buffer, final Slot<T> slot, final int size)
+    {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.slot = slot;
+        this.size = size;
+        this.slotsOffset = HEADER_BYTES + words(size) * Long.BYTES;
+    }
+
+    private static int words(final int size)
+    {
+        return (size + Long.SIZE - 1) >>> WORD_SHIFT;
+    }
+
+    private static long capacity(final int size, final Slot<?> slot)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        final long capacity = HEADER_BYTES + (long) words(size) * Long.BYTES + (long) size * slot.width();
+
+        if (capacity > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(size + " rows of " + slot.width() + " bytes don't fit in a buffer");
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Create an empty store in a direct buffer
+     * @param size the number of rows
+     * @param slot the layout of each row
+     * @return a new OffHeapStore
+     */
+    public static <T> OffHeapStore<T> allocate(final int size, final Slot<T> slot)
+    {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect((int) capacity(size, slot));
+
+        return init(buffer, size, slot);
+    }
+
+    /**
+     * Map a store onto the given file, creating an empty store if
+     * the file is new or empty. A store already in the file must
+     * have the same size and slot width. Writes are visible to
+     * other mappings of the file straight away, and are saved to
+     * the file by the operating system or by {@link #force()}
+     * @param file the file to map
+     * @param size the number of rows
+     * @param slot the layout of each row
+     * @return an OffHeapStore backed by the file
+     * @throws IOException if the file can't be mapped
+     */
+    public static <T> OffHeapStore<T> map(final Path file, final int size, final Slot<T> slot) throws IOException
+    {
+        final long capacity = capacity(size, slot);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE))
+        {
+            final boolean created = channel.size() == 0;
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+            if (created)
+            {
+                return init(buffer, size, slot);
+            }
+
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(SIZE_OFFSET) != size
+                    || buffer.getInt(WIDTH_OFFSET) != slot.width())
+            {
+                throw new IOException(file + " doesn't hold a store of " + size + " rows of " + slot.width()
+                        + " bytes");
+            }
+
+            return new OffHeapStore<>(buffer, slot, size);
+        }
+    }
+
+    private static <T> OffHeapStore<T> init(final ByteBuffer buffer, final int size, final Slot<T> slot)
+    {
+        buffer.order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(0, MAGIC)
+                .putInt(SIZE_OFFSET, size)
+                .putInt(WIDTH_OFFSET, slot.width());
+
+        return new OffHeapStore<>(buffer, slot, size);
+    }
+
+    private int wordOffset(final int row)
+    {
+        return HEADER_BYTES + (row >>> WORD_SHIFT) * Long.BYTES;
+    }
+
+    private int slotOffset(final int row)
+    {
+        return slotsOffset + row * slot.width();
+    }
+
+    private long word(final int row)
+    {
+        return (long) WORDS.getAcquire(buffer, wordOffset(row));
+    }
+
+    private void update(final int offset, final long set, final long clear)
+    {
+        long current;
+
+        do
+        {
+            current = (long) WORDS.getVolatile(buffer, offset);
+        }
+        while (!WORDS.compareAndSet(buffer, offset, current, (current | set) & ~clear));
+    }
+
+    /**
+     * The number of rows
+     * @return the size
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Return true if the given row holds a value
+     * @param row the row index
+     * @return boolean true if present
+     */
+    public boolean isPresent(final int row)
+    {
+        return (word(Objects.checkIndex(row, size)) & 1L << row) != 0;
+    }
+
+    /**
+     * The given row as a Monad
+     * @param row the row index
+     * @return a Monad of the value or empty
+     */
+    public Monad<T> get(final int row)
+    {
+        if (!isPresent(row))
+        {
+            return Jonad.empty();
+        }
+
+        final T val = slot.read(buffer, slotOffset(row));
+
+        // keep the slot reads ahead of the second check, which
+        // fails if the row was cleared for an overwrite meanwhile
+        VarHandle.acquireFence();
+
+        return isPresent(row) ? Jonad.of(val) : Jonad.empty();
+    }
+
+    /**
+     * Store the value of the given Monad in the given row,
+     * or clear the row if the Monad is empty
+     * @param row the row index
+     * @param m   the Monad to store
+     * @throws IllegalArgumentException if the Monad holds a failure
+     */
+    public void set(final int row, final Monad<? extends T> m)
+    {
+        Objects.checkIndex(row, size);
+
+        if (m.isFailure())
+        {
+            throw new IllegalArgumentException("Failures can't be stored off-heap", m.getFailureOrNull());
+        }
+
+        final T val = m.getOrNull();
+
+        if (val == null)
+        {
+            update(wordOffset(row), 0, 1L << row);
+            return;
+        }
+
+        write(row, val);
+    }
+
+    /**
+     * Write a present value, unpublishing the row while its slot is
+     * rewritten. The value is checked first, so a value the slot
+     * can't hold leaves the row as it was
+     */
+    private void write(final int row, final T val)
+    {
+        final int offset = wordOffset(row);
+
+        slot.check(val);
+        update(offset, 0, 1L << row);
+        slot.write(buffer, slotOffset(row), val);
+        update(offset, 1L << row, 0);
+    }
+
+    /**
+     * The number of present rows
+     * @return the present count
+     */
+    public int count()
+    {
+        int count = 0;
+
+        for (int w = 0; w < words(size); w++)
+        {
+            count += Long.bitCount(word(w << WORD_SHIFT));
+        }
+
+        return count;
+    }
+
+    /**
+     * Clear every present row whose value doesn't match the
+     * given predicate, as {@link Monad#filter(Predicate)} would
+     * @param f the predicate function
+     */
+    public void filter(final Predicate<? super T> f)
+    {
+        for (int w = 0; w < words(size); w++)
+        {
+            final int base = w << WORD_SHIFT;
+            long bits = word(base);
+            long rejected = 0;
+
+            while (bits != 0)
+            {
+                final int bit = Long.numberOfTrailingZeros(bits);
+
+                if (!f.test(slot.read(buffer, slotOffset(base + bit))))
+                {
+                    rejected |= 1L << bit;
+                }
+
+                bits &= bits - 1;
+            }
+
+            if (rejected != 0)
+            {
+                update(wordOffset(base), 0, rejected);
+            }
+        }
+    }
+
+    /**
+     * Replace the value of every present row with the result of
+     * the given function, clearing rows for which it returns null,
+     * as {@link Monad#map(Function)} would. A result the slot can't
+     * hold stops the scan, leaving that row and the rows after it
+     * unchanged
+     * @param f the mapping function
+     * @throws IllegalArgumentException if a result doesn't fit in its slot
+     */
+    public void map(final Function<? super T, ? extends T> f)
+    {
+        for (int w = 0; w < words(size); w++)
+        {
+            final int base = w << WORD_SHIFT;
+            long bits = word(base);
+            long cleared = 0;
+
+            while (bits != 0)
+            {
+                final int bit = Long.numberOfTrailingZeros(bits);
+                final T val = f.apply(slot.read(buffer, slotOffset(base + bit)));
+
+                if (val == null)
+                {
+                    cleared |= 1L << bit;
+                }
+                else
+                {
+                    write(base + bit, val);
+                }
+
+                bits &= bits - 1;
+            }
+
+            if (cleared != 0)
+            {
+                update(wordOffset(base), 0, cleared);
+            }
+        }
+    }
+
+    /**
+     * Save the contents of a store mapped from a file to the
+     * file. Does nothing for a store in a direct buffer
+     */
+    public void force()
+    {
+        if (buffer instanceof MappedByteBuffer)
+        {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "OffHeapStore(size=" + size + ", present=" + count() + ", slotWidth=" + slot.width() + ")";
+    }
+
+    /**
+     * The layout of a value in a row of an {@link OffHeapStore}.
+     * Every row has a slot of the same width, read and written
+     * at an absolute offset in the buffer
+     *
+     * @param <T> the type parameter
+     */
+    public interface Slot<T>
+    {
+        /**
+         * The number of bytes in each slot
+         * @return the slot width
+         */
+        int width();
+
+        /**
+         * Read the value in the slot at the given offset
+         * @param buffer the buffer holding the store
+         * @param offset the offset of the slot
+         * @return the value
+         */
+        T read(ByteBuffer buffer, int offset);
+
+        /**
+         * Write the given value into the slot at the given offset
+         * @param buffer the buffer holding the store
+         * @param offset the offset of the slot
+         * @param val    the value, never null
+         */
+        void write(ByteBuffer buffer, int offset, T val);
+
+        /**
+         * Check the given value can be written, before its row is
+         * cleared for the write. A slot whose writes can fail must
+         * throw here, so a rejected value never loses the one before
+         * it. The default accepts every value
+         * @param val the value, never null
+         * @throws IllegalArgumentException if the value doesn't fit
+         */
+        default void check(final T val)
+        {
+        }
+
+        /**
+         * Fixed-width slots of 4-byte ints
+         * @return the int slot layout
+         */
+        static Slot<Integer> ints()
+        {
+            return new Fixed<>(Integer.BYTES, ByteBuffer::getInt, ByteBuffer::putInt);
+        }
+
+        /**
+         * Fixed-width slots of 8-byte longs
+         * @return the long slot layout
+         */
+        static Slot<Long> longs()
+        {
+            return new Fixed<>(Long.BYTES, ByteBuffer::getLong, ByteBuffer::putLong);
+        }
+
+        /**
+         * Fixed-width slots of 8-byte doubles
+         * @return the double slot layout
+         */
+        static Slot<Double> doubles()
+        {
+            return new Fixed<>(Double.BYTES, ByteBuffer::getDouble, ByteBuffer::putDouble);
+        }
+
+        /**
+         * Length-prefixed slots of UTF-8 strings of up to the given
+         * number of bytes, each slot holding a 4-byte length
+         * followed by room for the longest string
+         * @param maxBytes the most bytes a string may encode to
+         * @return the string slot layout
+         */
+        static Slot<String> utf8(final int maxBytes)
+        {
+            if (maxBytes < 0)
+            {
+                throw new IllegalArgumentException("Maximum length must not be negative: " + maxBytes);
+            }
+
+            return new Utf8(maxBytes);
+        }
+    }
+
+    /**
+     * A slot of a primitive read and written by absolute
+     * ByteBuffer accessors
+     *
+     * @param <T> the type parameter
+     */
+    private static final class Fixed<T> implements Slot<T>
+    {
+        private final int width;
+
+        private final Reader<T> reader;
+
+        private final Writer<T> writer;
+
+        Fixed(final int width, final Reader<T> reader, final Writer<T> writer)
+        {
+            this.width = width;
+            this.reader = reader;
+            this.writer = writer;
+        }
+
+        @Override
+        public int width()
+        {
+            return width;
+        }
+
+        @Override
+        public T read(final ByteBuffer buffer, final int offset)
+        {
+            return reader.read(buffer, offset);
+        }
+
+        @Override
+        public void write(final ByteBuffer buffer, final int offset, final T val)
+        {
+            writer.write(buffer, offset, val);
+        }
+
+        /**
+         * An absolute ByteBuffer getter
+         *
+         * @param <T> the type parameter
+         */
+        interface Reader<T>
+        {
+            T read(ByteBuffer buffer, int offset);
+        }
+
+        /**
+         * An absolute ByteBuffer setter
+         *
+         * @param <T> the type parameter
+         */
+        interface Writer<T>
+        {
+            ByteBuffer write(ByteBuffer buffer, int offset, T val);
+        }
+    }
+
+    /**
+     * A length-prefixed slot of a UTF-8 string
+     */
+    private static final class Utf8 implements Slot<String>
+    {
+        private final int maxBytes;
+
+        Utf8(final int maxBytes)
+        {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int width()
+        {
+            return Integer.BYTES + maxBytes;
+        }
+
+        @Override
+        public String read(final ByteBuffer buffer, final int offset)
+        {
+            final int length = buffer.getInt(offset);
+
+            if (length < 0 || length > maxBytes)
+            {
+                throw new IllegalStateException("String length " + length + " at offset " + offset
+                        + " is outside 0 to " + maxBytes);
+            }
+
+            final byte[] bytes = new byte[length];
+
+            buffer.duplicate().position(offset + Integer.BYTES).get(bytes);
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void write(final ByteBuffer buffer, final int offset, final String val)
+        {
+            final byte[] bytes = val.getBytes(StandardCharsets.UTF_8);
+
+            fits(bytes.length);
+
+            buffer.duplicate().position(offset + Integer.BYTES).put(bytes);
+            buffer.putInt(offset, bytes.length);
+        }
+
+        @Override
+        public void check(final String val)
+        {
+            fits(encodedLength(val));
+        }
+
+        private void fits(final int length)
+        {
+            if (length > maxBytes)
+            {
+                throw new IllegalArgumentException("String of " + length + " bytes doesn't fit in " + maxBytes);
+            }
+        }
+
+        /**
+         * Count the bytes the string encodes to without encoding it,
+         * a lone surrogate being written as a single replacement byte
+         */
+        private static int encodedLength(final String val)
+        {
+            int length = 0;
+            int i = 0;
+
+            while (i < val.length())
+            {
+                final int c = val.codePointAt(i);
+
+                i += Character.charCount(c);
+
+                if (c < 0x80 || c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE)
+                {
+                    length += 1;
+                }
+                else if (c < 0x800)
+                {
+                    length += 2;
+                }
+                else
+                {
+                    length += c < Character.MIN_SUPPLEMENTARY_CODE_POINT ? 3 : 4;
+                }
+            }
+
+            return length;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package jonad.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Gathers a fixed number of AsyncJonads into one AsyncJonad of
+ * their values in index order. The first empty or failed result
+ * completes the scope and cancels every other AsyncJonad in it,
+ * and cancelling the scope cancels them all
+ *
+ * @param <T> the type parameter
+ */
+final class ParallelScope<T>
+{
+    private final AtomicReferenceArray<AsyncJonad<? extends T>> tasks;
+
+    private final Object[] values;
+
+    private final AtomicInteger remaining;
+
+    private final CompletableFuture<Monad<List<T>>> result = new CompletableFuture<>();
+
+    ParallelScope(final int size)
+    {
+        this.tasks = new AtomicReferenceArray<>(size);
+        this.values = new Object[size];
+        this.remaining = new AtomicInteger(size);
+
+        result.whenComplete((m, err) -> cancelAll());
+
+        if (size == 0)
+        {
+            result.complete(Jonad.of(Collections.emptyList()));
+        }
+    }
+
+    /**
+     * Run the given supplier on the executor as the given index,
+     * unless the scope has already completed
+     */
+    void fork(final int index, final Supplier<? extends Monad<T>> f, final Executor executor)
+    {
+        if (!result.isDone())
+        {
+            add(index, AsyncJonad.fromMonadSupplier(f, executor));
+        }
+    }
+
+    /**
+     * Gather the given AsyncJonad as the given index
+     */
+    void add(final int index, final AsyncJonad<? extends T> task)
+    {
+        tasks.set(index, task);
+
+        // The scope may have completed before the task was
+        // published, in which case cancelAll can't have seen it
+        if (result.isDone())
+        {
+            task.cancel();
+            return;
+        }
+
+        task.toFuture().whenComplete((m, err) -> complete(index, m, err));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete(final int index, final Monad<? extends T> m, final Throwable err)
+    {
+        if (result.isDone())
+        {
+            return;
+        }
+
+        final Object raw = Stages.raw(err == null ? m : failed(err));
+
+        if (!Stages.isPresent(raw))
+        {
+            // a fresh miss rather than the task's own Monad, which may be deferred
+            result.complete(Stages.toMonad(raw));
+            return;
+        }
+
+        values[index] = raw;
+
+        if (remaining.decrementAndGet() == 0)
+        {
+            result.complete(Jonad.of((List<T>) Arrays.asList(values)));
+        }
+    }
+
+    private static <T> Monad<T> failed(final Throwable err)
+    {
+        try
+        {
+            return AsyncJonad.failed(err);
+        }
+        catch (CancellationException e)
+        {
+            return Jonad.failure(e);
+        }
+    }
+
+    private void cancelAll()
+    {
+        for (int i = 0; i < tasks.length(); i++)
+        {
+            final AsyncJonad<? extends T> task = tasks.get(i);
+
+            if (task != null)
+            {
+                task.cancel();
+            }
+        }
+    }
+
+    /**
+     * The AsyncJonad of every value in index order
+     */
+    AsyncJonad<List<T>> join()
+    {
+        return AsyncJonad.wrap(result, null);
+    }
+}
@@ -0,0 +1,433 @@
+package jonad.model;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs a supplier as an {@link AsyncJonad}, retrying it while it
+ * fails with exponential backoff and jitter. Each attempt can be
+ * bounded by a timeout and all attempts together by a deadline.
+ * Empty results are never retried, only failures.
+ * <p>
+ * Backoff delays and timeouts are timers on a shared scheduler
+ * thread, so a retry waiting out its backoff holds no thread and
+ * thousands of them can be outstanding at once. The timers only
+ * hand each attempt to the executor, which also runs every
+ * downstream stage
+ */
+public final class Retry
+{
+    /**
+     * The default number of attempts, including the first
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private static final double DEFAULT_MULTIPLIER = 2;
+
+    private static final double DEFAULT_JITTER = 0.5;
+
+    private static final Retry DEFAULT = new Retry(DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF,
+            DEFAULT_MAX_BACKOFF, DEFAULT_MULTIPLIER, DEFAULT_JITTER, null, null, e -> true);
+
+    private final int maxAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    private final double multiplier;
+
+    private final double jitter;
+
+    private final Duration attemptTimeout;
+
+    private final Duration deadline;
+
+    private final Predicate<? super Throwable> retryIf;
+
+    private Retry(final int maxAttempts, final Duration initialBackoff, final Duration maxBackoff,
+                  final double multiplier, final double jitter, final Duration attemptTimeout,
+                  final Duration deadline, final Predicate<? super Throwable> retryIf)
+    {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.attemptTimeout = attemptTimeout;
+        this.deadline = deadline;
+        this.retryIf = retryIf;
+    }
+
+    /**
+     * Three attempts backing off from 100ms, doubling up to 10s with
+     * half of each delay jittered, retrying every failure and with
+     * neither an attempt timeout nor a deadline
+     *
+     * @return the default Retry
+     */
+    public static Retry defaults()
+    {
+        return DEFAULT;
+    }
+
+    /**
+     * Copy this Retry with a new number of attempts
+     *
+     * @param attempts the number of attempts, including the first
+     * @return the configured Retry
+     */
+    public Retry withMaxAttempts(final int attempts)
+    {
+        if (attempts < 1)
+        {
+            throw new IllegalArgumentException("Attempts must be positive: " + attempts);
+        }
+
+        return new Retry(attempts, initialBackoff, maxBackoff, multiplier, jitter, attemptTimeout, deadline,
+                retryIf);
+    }
+
+    /**
+     * Copy this Retry with new backoff bounds
+     *
+     * @param initial the delay before the first retry
+     * @param max     the longest delay between attempts
+     * @return the configured Retry
+     */
+    public Retry withBackoff(final Duration initial, final Duration max)
+    {
+        if (initial.isNegative() || max.compareTo(initial) < 0)
+        {
+            throw new IllegalArgumentException("Invalid backoff: " + initial + " to " + max);
+        }
+
+        return new Retry(maxAttempts, initial, max, multiplier, jitter, attemptTimeout, deadline, retryIf);
+    }
+
+    /**
+     * Copy this Retry with a new backoff multiplier
+     *
+     * @param backoffMultiplier the factor each delay grows by, at least 1
+     * @return the configured Retry
+     */
+    public Retry withMultiplier(final double backoffMultiplier)
+    {
+        if (!(backoffMultiplier >= 1))
+        {
+            throw new IllegalArgumentException("Multiplier must be at least 1: " + backoffMultiplier);
+        }
+
+        return new Retry(maxAttempts, initialBackoff, maxBackoff, backoffMultiplier, jitter, attemptTimeout,
+                deadline, retryIf);
+    }
+
+    /**
+     * Copy this Retry with a new jitter. Each delay is reduced by a
+     * random amount up to this fraction of it, so 0 disables
+     * jitter and 1 picks any delay up to the backoff
+     *
+     * @param jitterFactor the fraction of each delay to randomise, from 0 to 1
+     * @return the configured Retry
+     */
+    public Retry withJitter(final double jitterFactor)
+    {
+        if (!(jitterFactor >= 0 && jitterFactor <= 1))
+        {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1: " + jitterFactor);
+        }
+
+        return new Retry(maxAttempts, initialBackoff, maxBackoff, multiplier, jitterFactor, attemptTimeout,
+                deadline, retryIf);
+    }
+
+    /**
+     * Copy this Retry with a timeout on each attempt. An attempt
+     * still running after it is cancelled and fails with a
+     * {@link TimeoutException}, which may be retried
+     *
+     * @param timeout how long each attempt may take
+     * @return the configured Retry
+     */
+    public Retry withAttemptTimeout(final Duration timeout)
+    {
+        return new Retry(maxAttempts, initialBackoff, maxBackoff, multiplier, jitter, positive(timeout), deadline,
+                retryIf);
+    }
+
+    /**
+     * Copy this Retry with an overall deadline, measured from the
+     * start of the first attempt. No attempt runs past it and no
+     * retry is scheduled which would start after it
+     *
+     * @param timeout how long all attempts together may take
+     * @return the configured Retry
+     */
+    public Retry withDeadline(final Duration timeout)
+    {
+        return new Retry(maxAttempts, initialBackoff, maxBackoff, multiplier, jitter, attemptTimeout,
+                positive(timeout), retryIf);
+    }
+
+    /**
+     * Copy this Retry to only retry failures matching the given predicate
+     *
+     * @param p the predicate a failure must match to be retried
+     * @return the configured Retry
+     */
+    public Retry withRetryIf(final Predicate<? super Throwable> p)
+    {
+        return new Retry(maxAttempts, initialBackoff, maxBackoff, multiplier, jitter, attemptTimeout, deadline, p);
+    }
+
+    private static Duration positive(final Duration timeout)
+    {
+        if (timeout.isNegative() || timeout.isZero())
+        {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+
+        return timeout;
+    }
+
+    /**
+     * Run the given supplier on the default executor
+     *
+     * @param f the supplier function providing the value to wrap
+     * @return an AsyncJonad of the last attempt
+     * @see #fromMonadSupplier(Supplier, Executor)
+     */
+    public <T> AsyncJonad<T> fromSupplier(final Supplier<T> f)
+    {
+        return fromMonadSupplier(() -> Jonad.of(f.get()), DefaultExecutor.get());
+    }
+
+    /**
+     * Run the given Monad-bearing supplier on the default executor
+     *
+     * @param f the supplier function providing the Monad
+     * @return an AsyncJonad of the last attempt
+     * @see #fromMonadSupplier(Supplier, Executor)
+     */
+    public <T> AsyncJonad<T> fromMonadSupplier(final Supplier<? extends Monad<T>> f)
+    {
+        return fromMonadSupplier(f, DefaultExecutor.get());
+    }
+
+    /**
+     * Run the given Monad-bearing supplier on the given executor,
+     * retrying while it fails. The result is the first present or
+     * empty Monad, or the last failure once the attempts, the
+     * deadline or the retry predicate rule out another attempt.
+     * Cancelling the result cancels the running attempt and any
+     * pending retry
+     *
+     * @param f        the supplier function providing the Monad
+     * @param executor the executor to run each attempt on
+     * @return an AsyncJonad of the last attempt
+     */
+    public <T> AsyncJonad<T> fromMonadSupplier(final Supplier<? extends Monad<T>> f, final Executor executor)
+    {
+        final Attempts<T> attempts = new Attempts<>(f, executor);
+
+        attempts.next();
+
+        return AsyncJonad.wrap(attempts.result, attempts::cancel);
+    }
+
+    /**
+     * The delay before the given retry, counting from 1
+     */
+    Duration backoff(final int retry)
+    {
+        final double nanos = Math.min(DefaultScheduler.toNanos(initialBackoff) * Math.pow(multiplier, retry - 1d),
+                DefaultScheduler.toNanos(maxBackoff));
+
+        return Duration.ofNanos((long) (nanos * (1 - jitter * ThreadLocalRandom.current().nextDouble())));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Retry(maxAttempts=" + maxAttempts + ", backoff=" + initialBackoff + " to " + maxBackoff
+                + ", multiplier=" + multiplier + ", jitter=" + jitter + ", attemptTimeout=" + attemptTimeout
+                + ", deadline=" + deadline + ")";
+    }
+
+    /**
+     * The attempts of one retried supplier. Only one attempt or
+     * backoff timer is outstanding at a time
+     *
+     * @param <T> the type parameter
+     */
+    private final class Attempts<T>
+    {
+        private final Supplier<? extends Monad<T>> f;
+
+        private final Executor executor;
+
+        private final long deadlineNanos;
+
+        private final CompletableFuture<Monad<T>> result = new CompletableFuture<>();
+
+        private volatile AsyncJonad<T> attempt;
+
+        private volatile ScheduledFuture<?> timer;
+
+        private int count;
+
+        Attempts(final Supplier<? extends Monad<T>> f, final Executor executor)
+        {
+            this.f = f;
+            this.executor = executor;
+            this.deadlineNanos = deadline == null ? 0 : System.nanoTime() + DefaultScheduler.toNanos(deadline);
+        }
+
+        private Duration remaining()
+        {
+            return Duration.ofNanos(deadlineNanos - System.nanoTime());
+        }
+
+        void next()
+        {
+            if (result.isDone())
+            {
+                return;
+            }
+
+            count++;
+
+            AsyncJonad<T> current = AsyncJonad.fromMonadSupplier(f, executor);
+
+            if (attemptTimeout != null && (deadline == null || attemptTimeout.compareTo(remaining()) < 0))
+            {
+                current = current.timeout(attemptTimeout);
+            }
+            else if (deadline != null)
+            {
+                current = current.timeout(remaining());
+            }
+
+            attempt = current;
+
+            // The result may have been cancelled before the attempt
+            // was published, in which case cancel can't have seen it
+            if (result.isDone())
+            {
+                current.cancel();
+                return;
+            }
+
+            current.toFuture().whenComplete(this::complete);
+        }
+
+        /**
+         * Finish with the given attempt or schedule the next one. This
+         * runs as a dependent of the attempt, where anything thrown
+         * would be lost, so a throwing retry predicate or backoff
+         * fails the result instead
+         */
+        private void complete(final Monad<T> attempted, final Throwable err)
+        {
+            try
+            {
+                retryOrComplete(err == null ? attempted : AsyncJonad.failed(err));
+            }
+            // CSOFF: IllegalCatch
+            catch (Throwable e)
+            {
+                result.complete(Jonad.failure(e));
+            }
+            // CSON: IllegalCatch
+        }
+
+        private void retryOrComplete(final Monad<T> m)
+        {
+            if (result.isDone())
+            {
+                return;
+            }
+
+            if (!m.isFailure() || count >= maxAttempts || !retryIf.test(m.getFailureOrNull()))
+            {
+                result.complete(m);
+                return;
+            }
+
+            final Duration delay = backoff(count);
+
+            if (deadline != null && delay.compareTo(remaining()) >= 0)
+            {
+                result.complete(m);
+                return;
+            }
+
+            timer = DefaultScheduler.schedule(this::resume, delay);
+
+            if (result.isDone())
+            {
+                timer.cancel(false);
+            }
+        }
+
+        /**
+         * Hand the next attempt from the scheduler thread to the executor
+         */
+        private void resume()
+        {
+            try
+            {
+                executor.execute(this::retry);
+            }
+            catch (RejectedExecutionException e)
+            {
+                result.complete(Jonad.failure(e));
+            }
+        }
+
+        /**
+         * Start a retry on the executor, where nothing
+         * thrown starting it would reach the caller
+         */
+        private void retry()
+        {
+            try
+            {
+                next();
+            }
+            // CSOFF: IllegalCatch
+            catch (Throwable e)
+            {
+                result.complete(Jonad.failure(e));
+            }
+            // CSON: IllegalCatch
+        }
+
+        void cancel()
+        {
+            final ScheduledFuture<?> pending = timer;
+            final AsyncJonad<T> current = attempt;
+
+            if (pending != null)
+            {
+                pending.cancel(false);
+            }
+
+            if (current != null)
+            {
+                current.cancel();
+            }
+        }
+    }
+}
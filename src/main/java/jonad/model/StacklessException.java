@@ -0,0 +1,34 @@
+package jonad.model;
+
+/**
+ * An exception which doesn't capture a stack trace. Filling in the
+ * stack trace is usually the most expensive part of creating an
+ * exception, so this is intended for failures which are expected
+ * and frequent, such as input rejected by a parser, where the
+ * message identifies the problem well enough on its own
+ */
+public class StacklessException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create a stackless exception
+     *
+     * @param message the detail message
+     */
+    public StacklessException(final String message)
+    {
+        super(message, null, true, false);
+    }
+
+    /**
+     * Create a stackless exception with a cause
+     *
+     * @param message the detail message
+     * @param cause   the cause
+     */
+    public StacklessException(final String message, final Throwable cause)
+    {
+        super(message, cause, true, false);
+    }
+}
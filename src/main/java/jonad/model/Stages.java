@@ -0,0 +1,234 @@
+package jonad.model;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Builds the fused stage functions used by the deferred
+ * Monad implementations. A stage works on the raw value of
+ * a Monad, where null stands for empty and a {@link Failed}
+ * holder for a failure, so any number of stages compose into
+ * a single function with no intermediate Monads between them
+ */
+final class Stages
+{
+    private Stages()
+    {
+    }
+
+    /**
+     * The raw form of a failed Monad
+     */
+    static final class Failed
+    {
+        private final Throwable failure;
+
+        Failed(final Throwable failure)
+        {
+            this.failure = failure;
+        }
+
+        Throwable failure()
+        {
+            return failure;
+        }
+    }
+
+    /**
+     * Compose two stages, where either may be null
+     * to stand for the identity stage
+     */
+    static Function<Object, Object> then(final Function<Object, Object> first, final Function<Object, Object> next)
+    {
+        if (first == null)
+        {
+            return next;
+        }
+
+        return v -> next.apply(first.apply(v));
+    }
+
+    /**
+     * Run the given stage over the given raw value
+     */
+    static Object apply(final Function<Object, Object> stage, final Object v)
+    {
+        return stage == null ? v : stage.apply(v);
+    }
+
+    /**
+     * Read the raw value of a Monad. The deferred Monads run their
+     * chain on every terminal call, so they are evaluated once here
+     * rather than once for the failure check and again for the value
+     */
+    static Object raw(final Monad<?> m)
+    {
+        if (m instanceof LazyJonad)
+        {
+            return ((LazyJonad<?>) m).evaluate();
+        }
+
+        if (m instanceof TrampolinedJonad)
+        {
+            return ((TrampolinedJonad<?>) m).evaluate();
+        }
+
+        final Monad<?> evaluated = m instanceof MemoizedJonad ? ((MemoizedJonad<?>) m).toJonad() : m;
+
+        return evaluated.isFailure() ? new Failed(evaluated.getFailureOrNull()) : evaluated.getOrNull();
+    }
+
+    /**
+     * Return true if the raw value is neither empty nor failed
+     */
+    static boolean isPresent(final Object v)
+    {
+        return v != null && !(v instanceof Failed);
+    }
+
+    /**
+     * Return the failure of a raw value or null
+     */
+    static Throwable failure(final Object v)
+    {
+        return v instanceof Failed ? ((Failed) v).failure : null;
+    }
+
+    /**
+     * Return the present raw value or null
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T value(final Object v)
+    {
+        return v instanceof Failed ? null : (T) v;
+    }
+
+    /**
+     * Wrap a raw value back up in an evaluated Monad
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Monad<T> toMonad(final Object v)
+    {
+        if (v instanceof Failed)
+        {
+            return Jonad.failure(((Failed) v).failure);
+        }
+
+        return Jonad.of((T) v);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, U> Function<Object, Object> map(final Function<T, U> f)
+    {
+        return v -> isPresent(v) ? f.apply((T) v) : v;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, Object> flatMap(final Function<? super T, ? extends Monad<?>> f)
+    {
+        return v -> isPresent(v) ? raw(f.apply((T) v)) : v;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, Object> filter(final Predicate<? super T> f)
+    {
+        return v -> !isPresent(v) || f.test((T) v) ? v : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Function<Object, Object> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+    {
+        return v -> !isPresent(v) || Boolean.TRUE.equals(f.apply((T) v).getOrNull()) ? v : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <U> Function<Object, Object> doIfEmpty(final Consumer<U> f)
+    {
+        return v ->
+        {
+            if (v == null)
+            {
+                f.accept((U) v);
+            }
+
+            return v;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <U> Function<Object, Object> doIfPresent(final Consumer<U> f)
+    {
+        return v ->
+        {
+            if (isPresent(v))
+            {
+                f.accept((U) v);
+            }
+
+            return v;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <U> Function<Object, Object> doOnError(final Predicate<? super Throwable> p, final Consumer<U> f)
+    {
+        return v ->
+        {
+            if (v instanceof Failed && p.test(((Failed) v).failure))
+            {
+                f.accept((U) ((Failed) v).failure);
+            }
+
+            return v;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E extends Throwable, U> Function<Object, Object> onErrorMap(final Predicate<E> p, final Function<E, U> f)
+    {
+        return v -> v instanceof Failed && p.test((E) failure(v)) ? f.apply((E) failure(v)) : v;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E extends Throwable, U> Function<Object, Object> onErrorFlatMap(final Predicate<E> p,
+                                                                            final Function<E, Monad<U>> f)
+    {
+        return v -> v instanceof Failed && p.test((E) failure(v)) ? raw(f.apply((E) failure(v))) : v;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, U> Function<Object, Object> tryMap(final Function<T, U> f)
+    {
+        return v ->
+        {
+            if (!isPresent(v))
+            {
+                return v;
+            }
+
+            try
+            {
+                return f.apply((T) v);
+            }
+            // CSOFF: IllegalCatch
+            catch (Exception e)
+            {
+                JonadEvents.tryMapFailed(e);
+
+                return new Failed(e);
+            }
+            // CSON: IllegalCatch
+        };
+    }
+
+    static Function<Object, Object> switchIfEmpty(final Monad<?> u)
+    {
+        return v -> v == null ? raw(u) : v;
+    }
+
+    static Function<Object, Object> defaultIfEmpty(final Object u)
+    {
+        return v -> v == null ? u : v;
+    }
+}
@@ -0,0 +1,232 @@
+package jonad.model;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A Monad created while {@link JonadTrace} is enabled. Each
+ * operator is applied to the wrapped Monad and appends a stage
+ * to the trail, which orElseThrow attaches to its exception.
+ * Two TracedJonads are equal when their wrapped Monads are, but a
+ * TracedJonad is never equal to an untraced Monad, so equality
+ * stays symmetric when tracing is switched on at runtime
+ *
+ * @param <T> the type parameter
+ */
+final class TracedJonad<T> implements Monad<T>
+{
+    private final Monad<T> delegate;
+
+    private final JonadTrace.Stage trail;
+
+    TracedJonad(final Monad<T> delegate, final JonadTrace.Stage trail)
+    {
+        this.delegate = delegate;
+        this.trail = trail;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> Monad<U> unwrap(final Monad<? extends U> m)
+    {
+        return m instanceof TracedJonad ? ((TracedJonad<U>) m).delegate : (Monad<U>) m;
+    }
+
+    private <U> Monad<U> then(final String operator, final Monad<? extends U> m)
+    {
+        final Monad<U> result = unwrap(m);
+
+        return new TracedJonad<>(result, trail.then(operator, result));
+    }
+
+    @Override
+    public <U> Monad<U> map(final Function<T, U> f)
+    {
+        return then("map", delegate.map(f));
+    }
+
+    @Override
+    public <U> Monad<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
+    {
+        return then("flatMap", delegate.flatMap(f));
+    }
+
+    @Override
+    public Monad<T> filter(final Predicate<? super T> f)
+    {
+        return then("filter", delegate.filter(f));
+    }
+
+    @Override
+    public Monad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+    {
+        return then("filterWhen", delegate.filterWhen(f));
+    }
+
+    @Override
+    public T getOrNull()
+    {
+        return delegate.getOrNull();
+    }
+
+    @Override
+    public Optional<T> toOptional()
+    {
+        return delegate.toOptional();
+    }
+
+    @Override
+    public Stream<T> stream()
+    {
+        return delegate.stream();
+    }
+
+    @Override
+    public T getOrDefault(final T t)
+    {
+        return delegate.getOrDefault(t);
+    }
+
+    @Override
+    public T orElseGet(final Supplier<T> f)
+    {
+        return delegate.orElseGet(f);
+    }
+
+    @Override
+    public <E extends Throwable> T orElseThrow(final Supplier<? extends E> f) throws E
+    {
+        return delegate.orElseThrow(() ->
+        {
+            final E e = f.get();
+
+            e.addSuppressed(trail.toTrail());
+
+            return e;
+        });
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public boolean isFailure()
+    {
+        return delegate.isFailure();
+    }
+
+    @Override
+    public Throwable getFailureOrNull()
+    {
+        return delegate.getFailureOrNull();
+    }
+
+    @Override
+    public <U> Monad<T> doIfEmpty(final Consumer<U> f)
+    {
+        delegate.doIfEmpty(f);
+
+        return this;
+    }
+
+    @Override
+    public <U> Monad<T> doIfPresent(final Consumer<U> f)
+    {
+        delegate.doIfPresent(f);
+
+        return this;
+    }
+
+    @Override
+    public <E extends Throwable> Monad<T> doOnError(final Consumer<E> f)
+    {
+        delegate.doOnError(f);
+
+        return this;
+    }
+
+    @Override
+    public <E extends Throwable> Monad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
+    {
+        delegate.doOnError(e, f);
+
+        return this;
+    }
+
+    @Override
+    public <U> Monad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+    {
+        delegate.doOnErrorMatching(p, f);
+
+        return this;
+    }
+
+    @Override
+    public <E extends Throwable, U> Monad<U> onErrorMap(final Function<E, U> f)
+    {
+        return then("onErrorMap", delegate.onErrorMap(f));
+    }
+
+    @Override
+    public <E extends Throwable, U> Monad<U> onErrorMapMatching(final Predicate<E> p, final Function<E, U> f)
+    {
+        return then("onErrorMapMatching", delegate.onErrorMapMatching(p, f));
+    }
+
+    @Override
+    public <E extends Throwable, U> Monad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
+    {
+        return then("onErrorFlatMap", delegate.onErrorFlatMap(f));
+    }
+
+    @Override
+    public <E extends Throwable, U> Monad<U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                    final Function<E, Monad<U>> f)
+    {
+        return then("onErrorFlatMapMatching", delegate.onErrorFlatMapMatching(p, f));
+    }
+
+    @Override
+    public <U> Monad<U> tryMap(final Function<T, U> f)
+    {
+        return then("tryMap", delegate.tryMap(f));
+    }
+
+    @Override
+    public <U> Monad<U> switchIfEmpty(final Monad<U> u)
+    {
+        return then("switchIfEmpty", delegate.switchIfEmpty(unwrap(u)));
+    }
+
+    @Override
+    public <U> Monad<U> defaultIfEmpty(final U u)
+    {
+        return then("defaultIfEmpty", delegate.defaultIfEmpty(u));
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        // Only another TracedJonad, since an untraced Monad can't
+        // see through the wrapper and equality must be symmetric
+        return o instanceof TracedJonad && delegate.equals(((TracedJonad<?>) o).delegate);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return delegate.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,548 @@
+package jonad.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A deferred Monad which runs in constant stack space however deep
+ * its chain of {@link #flatMap(Function)} calls, for recursive
+ * computations such as tree walks, pagination and retry loops.
+ * <p>
+ * Operators only record a step. A terminal method such as
+ * {@link #getOrNull()} runs the steps in a loop, so a function passed
+ * to flatMap or {@link #defer(Supplier)} which returns another
+ * TrampolinedJonad hands it to the loop instead of calling deeper
+ * into the Java stack. Short chains are run by bounded recursion,
+ * and longer ones keep the steps still to run on a heap stack.
+ * Recursion written as
+ *
+ * <pre>{@code
+ * TrampolinedJonad<Long> sum(final long n, final long acc)
+ * {
+ *     return n == 0 ? TrampolinedJonad.of(acc) : TrampolinedJonad.defer(() -> sum(n - 1, acc + n));
+ * }
+ * }</pre>
+ *
+ * completes for millions of steps. As with {@link LazyJonad}, the chain
+ * runs again on every terminal call, including any side-effects, so
+ * call {@link #toJonad()} once to keep the result, and two
+ * TrampolinedJonads are only equal when they are the same instance
+ *
+ * @param <T> the type parameter
+ */
+public final class TrampolinedJonad<T> implements Monad<T>
+{
+    /**
+     * Returned by a bind step which doesn't apply to the current
+     * value, so it passes through unchanged. A private marker rather
+     * than null, so a user function returning null is caught
+     */
+    private static final Object PASS = new Object();
+
+    /**
+     * The deepest chain run by plain recursion before
+     * switching to the heap stack of {@link #unwind()}
+     */
+    private static final int MAX_NESTING = 32;
+
+    private static final byte VALUE = 0;
+
+    private static final byte DEFER = 1;
+
+    private static final byte STAGE = 2;
+
+    private static final byte MAP = 3;
+
+    private static final byte FLAT_MAP = 4;
+
+    private static final byte BIND = 5;
+
+    /**
+     * The raw value of a VALUE node, or the supplier of a DEFER node
+     */
+    private final Object value;
+
+    private final TrampolinedJonad<?> source;
+
+    /**
+     * The stage of a STAGE node, the user's function of a MAP or
+     * FLAT_MAP node, or the function of a BIND node returning PASS
+     * when it doesn't apply
+     */
+    private final Function<Object, Object> step;
+
+    private final int depth;
+
+    private final byte kind;
+
+    private TrampolinedJonad(final byte kind, final Object value, final TrampolinedJonad<?> source,
+                             final Function<Object, Object> step)
+    {
+        this.kind = kind;
+        this.value = value;
+        this.source = source;
+        this.step = step;
+        this.depth = source == null ? 0 : source.depth + 1;
+    }
+
+    /**
+     * Wrap the given value
+     * @param val the given value
+     * @return a new TrampolinedJonad
+     */
+    public static <T> TrampolinedJonad<T> of(final T val)
+    {
+        return new TrampolinedJonad<>(VALUE, val, null, null);
+    }
+
+    /**
+     * Create a TrampolinedJonad which is always empty
+     * @return a new empty TrampolinedJonad
+     */
+    public static <T> TrampolinedJonad<T> empty()
+    {
+        return of(null);
+    }
+
+    /**
+     * Create a TrampolinedJonad which always holds the given failure
+     * @param e the failure
+     * @return a new failed TrampolinedJonad
+     */
+    public static <T> TrampolinedJonad<T> failure(final Throwable e)
+    {
+        return new TrampolinedJonad<>(VALUE, new Stages.Failed(e), null, null);
+    }
+
+    /**
+     * Run further operators on the given Monad
+     * in constant stack space
+     * @param m the Monad to read when a terminal method is called
+     * @return a new TrampolinedJonad
+     */
+    public static <T> TrampolinedJonad<T> from(final Monad<T> m)
+    {
+        return defer(() -> m);
+    }
+
+    /**
+     * Defer the given Monad-bearing supplier until a terminal method
+     * is called. A supplier returning null is empty. This is the step
+     * which makes recursion stack-safe: the supplier is called from the
+     * evaluation loop rather than from the recursive method
+     * @param f the supplier function providing the Monad
+     * @return a new TrampolinedJonad
+     */
+    public static <T> TrampolinedJonad<T> defer(final Supplier<? extends Monad<T>> f)
+    {
+        return new TrampolinedJonad<>(DEFER, f, null, null);
+    }
+
+    private <U> TrampolinedJonad<U> then(final Function<Object, Object> next)
+    {
+        return new TrampolinedJonad<>(STAGE, null, this, next);
+    }
+
+    private <U> TrampolinedJonad<U> bind(final Function<Object, Object> next)
+    {
+        return new TrampolinedJonad<>(BIND, null, this, next);
+    }
+
+    private static Object raw(final Monad<?> m)
+    {
+        return m == null ? null : Stages.raw(m);
+    }
+
+    /**
+     * Call the supplier of a DEFER node
+     */
+    @SuppressWarnings("unchecked")
+    private Monad<?> supply()
+    {
+        return ((Supplier<? extends Monad<?>>) value).get();
+    }
+
+    private boolean binds()
+    {
+        return kind == FLAT_MAP || kind == BIND;
+    }
+
+    /**
+     * Apply a STAGE or MAP node to the given raw value
+     */
+    private Object stageTo(final Object raw)
+    {
+        if (kind == MAP && !Stages.isPresent(raw))
+        {
+            return raw;
+        }
+
+        return step.apply(raw);
+    }
+
+    /**
+     * Apply a FLAT_MAP or BIND node to the given raw value, returning
+     * the Monad to continue with or PASS to keep the value
+     */
+    private Object bindTo(final Object raw)
+    {
+        if (kind == FLAT_MAP && !Stages.isPresent(raw))
+        {
+            return PASS;
+        }
+
+        return step.apply(raw);
+    }
+
+    /**
+     * Read the Monad returned by a bind step which isn't a TrampolinedJonad
+     */
+    private static Object rawOf(final Object next, final Object raw)
+    {
+        if (next == PASS)
+        {
+            return raw;
+        }
+
+        return Stages.raw((Monad<?>) Objects.requireNonNull(next, "Function returned a null Monad"));
+    }
+
+    /**
+     * Run the recorded steps. A chain of up to {@link #MAX_NESTING}
+     * steps runs its sources by recursion, which needs no heap stack,
+     * and a step handing back another TrampolinedJonad continues with
+     * it in the same frame, so recursive computations built from
+     * short chains stay in constant stack space. A deeper chain is
+     * handed to {@link #unwind()}
+     */
+    Object evaluate()
+    {
+        return run(this, MAX_NESTING);
+    }
+
+    private static Object run(final TrampolinedJonad<?> start, final int budget)
+    {
+        TrampolinedJonad<?> node = start;
+
+        while (node.depth <= budget)
+        {
+            if (node.source == null)
+            {
+                if (node.kind == VALUE)
+                {
+                    return node.value;
+                }
+
+                final Monad<?> next = node.supply();
+
+                if (!(next instanceof TrampolinedJonad))
+                {
+                    return raw(next);
+                }
+
+                node = (TrampolinedJonad<?>) next;
+                continue;
+            }
+
+            final Object raw = run(node.source, budget - 1);
+
+            if (!node.binds())
+            {
+                return node.stageTo(raw);
+            }
+
+            final Object next = node.bindTo(raw);
+
+            if (!(next instanceof TrampolinedJonad))
+            {
+                return rawOf(next, raw);
+            }
+
+            node = (TrampolinedJonad<?>) next;
+        }
+
+        return node.unwind();
+    }
+
+    /**
+     * Run the recorded steps on a heap stack. Each pass walks down to
+     * the innermost source, pushing the steps above it, then pops and
+     * runs them until a step hands back another TrampolinedJonad to
+     * continue with
+     */
+    private Object unwind()
+    {
+        TrampolinedJonad<?>[] steps = new TrampolinedJonad<?>[depth];
+        int top = 0;
+        TrampolinedJonad<?> node = this;
+
+        while (true)
+        {
+            if (top + node.depth > steps.length)
+            {
+                steps = Arrays.copyOf(steps, Math.max(top + node.depth, steps.length * 2));
+            }
+
+            while (node.source != null)
+            {
+                steps[top++] = node;
+                node = node.source;
+            }
+
+            Object raw = node.value;
+
+            if (node.kind == DEFER)
+            {
+                final Monad<?> next = node.supply();
+
+                if (next instanceof TrampolinedJonad)
+                {
+                    node = (TrampolinedJonad<?>) next;
+                    continue;
+                }
+
+                raw = raw(next);
+            }
+
+            node = null;
+
+            while (node == null && top > 0)
+            {
+                final TrampolinedJonad<?> pending = steps[--top];
+
+                steps[top] = null;
+
+                if (!pending.binds())
+                {
+                    raw = pending.stageTo(raw);
+                    continue;
+                }
+
+                final Object next = pending.bindTo(raw);
+
+                if (next instanceof TrampolinedJonad)
+                {
+                    node = (TrampolinedJonad<?>) next;
+                }
+                else
+                {
+                    raw = rawOf(next, raw);
+                }
+            }
+
+            if (node == null)
+            {
+                return raw;
+            }
+        }
+    }
+
+    /**
+     * Run the recorded steps and capture their result
+     * in an eagerly evaluated Monad
+     *
+     * @return the evaluated Monad
+     */
+    public Monad<T> toJonad()
+    {
+        return Stages.toMonad(evaluate());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <U> TrampolinedJonad<U> map(final Function<T, U> f)
+    {
+        // the function is held as it is, checking for a value in the loop, so map allocates one node
+        return new TrampolinedJonad<>(MAP, null, this, (Function<Object, Object>) (Function<?, ?>) f);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <U> TrampolinedJonad<U> flatMap(final Function<? super T, ? extends Monad<? extends U>> f)
+    {
+        // held as it is, like map
+        return new TrampolinedJonad<>(FLAT_MAP, null, this, (Function<Object, Object>) (Function<?, ?>) f);
+    }
+
+    @Override
+    public TrampolinedJonad<T> filter(final Predicate<? super T> f)
+    {
+        return then(Stages.filter(f));
+    }
+
+    @Override
+    public TrampolinedJonad<T> filterWhen(final Function<? super T, ? extends Monad<? extends Boolean>> f)
+    {
+        return then(Stages.filterWhen(f));
+    }
+
+    @Nullable
+    @Override
+    public T getOrNull()
+    {
+        return Stages.value(evaluate());
+    }
+
+    @Override
+    public Optional<T> toOptional()
+    {
+        return Optional.ofNullable(getOrNull());
+    }
+
+    @Override
+    public Stream<T> stream()
+    {
+        final T val = getOrNull();
+
+        return val == null ? Stream.empty() : Stream.of(val);
+    }
+
+    @Override
+    public T getOrDefault(final T t)
+    {
+        final T val = getOrNull();
+
+        return val == null ? t : val;
+    }
+
+    @Override
+    public T orElseGet(final Supplier<T> f)
+    {
+        final T val = getOrNull();
+
+        if (val == null)
+        {
+            JonadEvents.fallback("orElseGet");
+
+            return JonadEvents.supply("orElseGet", f);
+        }
+
+        return val;
+    }
+
+    @Override
+    public <E extends Throwable> T orElseThrow(final Supplier<? extends E> f) throws E
+    {
+        final T val = getOrNull();
+
+        if (val == null)
+        {
+            throw JonadEvents.orElseThrow(f.get());
+        }
+
+        return val;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return evaluate() == null;
+    }
+
+    @Override
+    public boolean isFailure()
+    {
+        return Stages.failure(evaluate()) != null;
+    }
+
+    @Nullable
+    @Override
+    public Throwable getFailureOrNull()
+    {
+        return Stages.failure(evaluate());
+    }
+
+    @Override
+    public <U> TrampolinedJonad<T> doIfEmpty(final Consumer<U> f)
+    {
+        return then(Stages.doIfEmpty(f));
+    }
+
+    @Override
+    public <U> TrampolinedJonad<T> doIfPresent(final Consumer<U> f)
+    {
+        return then(Stages.doIfPresent(f));
+    }
+
+    @Override
+    public <E extends Throwable> TrampolinedJonad<T> doOnError(final Consumer<E> f)
+    {
+        return then(Stages.doOnError(err -> true, f));
+    }
+
+    @Override
+    public <E extends Throwable> TrampolinedJonad<T> doOnError(final Class<E> e, final Consumer<? super E> f)
+    {
+        return then(Stages.doOnError(e::isInstance, f));
+    }
+
+    @Override
+    public <U> TrampolinedJonad<T> doOnErrorMatching(final Predicate<? super Throwable> p, final Consumer<U> f)
+    {
+        return then(Stages.doOnError(p, f));
+    }
+
+    @Override
+    public <E extends Throwable, U> TrampolinedJonad<U> onErrorMap(final Function<E, U> f)
+    {
+        return then(Stages.onErrorMap(err -> true, f));
+    }
+
+    @Override
+    public <E extends Throwable, U> TrampolinedJonad<U> onErrorMapMatching(final Predicate<E> p,
+                                                                           final Function<E, U> f)
+    {
+        return then(Stages.onErrorMap(p, f));
+    }
+
+    @Override
+    public <E extends Throwable, U> TrampolinedJonad<U> onErrorFlatMap(final Function<E, Monad<U>> f)
+    {
+        return onErrorFlatMapMatching(err -> true, f);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E extends Throwable, U> TrampolinedJonad<U> onErrorFlatMapMatching(final Predicate<E> p,
+                                                                               final Function<E, Monad<U>> f)
+    {
+        return bind(v ->
+        {
+            final E failure = (E) Stages.failure(v);
+
+            return failure != null && p.test(failure) ? f.apply(failure) : PASS;
+        });
+    }
+
+    @Override
+    public <U> TrampolinedJonad<U> tryMap(final Function<T, U> f)
+    {
+        return then(Stages.tryMap(f));
+    }
+
+    @Override
+    public <U> TrampolinedJonad<U> switchIfEmpty(final Monad<U> u)
+    {
+        return bind(v -> v == null ? u : PASS);
+    }
+
+    @Override
+    public <U> TrampolinedJonad<U> defaultIfEmpty(final U u)
+    {
+        return then(Stages.defaultIfEmpty(u));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TrampolinedJonad(deferred)";
+    }
+}
@@ -0,0 +1,398 @@
+package jonad.model;
+
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class AsyncJonadTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final Integer I_VAL_1 = 1;
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private static final String SCHEDULER_THREAD = "jonad-scheduler";
+
+    private static final RuntimeException EXCEPTION = new IllegalStateException("");
+
+    private static final IOException CHECKED = new IOException("");
+
+    @SneakyThrows
+    private static RuntimeException sneaky(final Exception e)
+    {
+        throw e;
+    }
+
+    @Nested
+    @DisplayName("Source tests")
+    class Sources
+    {
+        @Test
+        void itRunsTheSupplierOnTheExecutor() throws InterruptedException
+        {
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            try
+            {
+                final Thread caller = Thread.currentThread();
+
+                Assertions.assertEquals(Jonad.of(true), AsyncJonad.fromSupplier(() -> Thread.currentThread() != caller,
+                        executor).join());
+            }
+            finally
+            {
+                executor.shutdownNow();
+                executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+
+        @Test
+        void itRunsTheSupplierOnTheDefaultExecutor()
+        {
+            Assertions.assertNotNull(AsyncJonad.defaultExecutor());
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.fromSupplier(() -> S_VAL_1).join());
+        }
+
+        @Test
+        void itCapturesSupplierErrors()
+        {
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), AsyncJonad.fromSupplier(() ->
+            {
+                throw EXCEPTION;
+            }).join());
+        }
+
+        @Test
+        void itCompletesWhenTheSupplierThrowsACancellation()
+        {
+            final AsyncJonad<String> m = AsyncJonad.fromSupplier(() ->
+            {
+                throw new CancellationException();
+            });
+
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(TIMEOUT_SECONDS),
+                    () -> Assertions.assertThrows(CancellationException.class, m::join));
+        }
+
+        @Test
+        void itCompletesWhenTheSupplierThrowsAWrappedCancellation()
+        {
+            final AsyncJonad<String> m = AsyncJonad.fromSupplier(() ->
+            {
+                throw new CompletionException(new CancellationException());
+            });
+
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(TIMEOUT_SECONDS),
+                    () -> Assertions.assertThrows(CancellationException.class, m::join));
+        }
+
+        @Test
+        void itFailsWhenTheSupplierThrowsACheckedException()
+        {
+            final AsyncJonad<String> m = AsyncJonad.fromSupplier(() ->
+            {
+                throw sneaky(CHECKED);
+            });
+
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(TIMEOUT_SECONDS),
+                    () -> Assertions.assertEquals(Jonad.failure(CHECKED), m.join()));
+        }
+
+        @Test
+        void itCreatesEmptyFromANullSupplier()
+        {
+            Assertions.assertEquals(Jonad.empty(), AsyncJonad.fromSupplier(() -> null).join());
+        }
+
+        @Test
+        void itRunsAMonadSupplierOnTheExecutor()
+        {
+            final Executor executor = AsyncJonad.defaultExecutor();
+
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.fromMonadSupplier(() -> Jonad.of(S_VAL_1), executor)
+                    .join());
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), AsyncJonad.fromMonadSupplier(() -> Jonad.failure(EXCEPTION),
+                    executor).join());
+            Assertions.assertEquals(Jonad.empty(), AsyncJonad.fromMonadSupplier(() -> null, executor).join());
+        }
+
+        @Test
+        void itAdaptsFutures()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.fromFuture(CompletableFuture.completedFuture(S_VAL_1))
+                    .join());
+            Assertions.assertEquals(Jonad.empty(), AsyncJonad.fromFuture(CompletableFuture.completedFuture(null))
+                    .join());
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), AsyncJonad.fromFuture(CompletableFuture.failedFuture(EXCEPTION))
+                    .join());
+        }
+
+        @Test
+        void itConvertsToAFuture()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.of(S_VAL_1).toFuture().join());
+            Assertions.assertEquals(Jonad.empty(), AsyncJonad.empty().toFuture().join());
+        }
+    }
+
+    @Nested
+    @DisplayName("Operator tests")
+    class Operators
+    {
+        @Test
+        void itMaps()
+        {
+            Assertions.assertEquals(Jonad.of(I_VAL_1), AsyncJonad.fromSupplier(() -> S_VAL_1).map(Integer::valueOf)
+                    .join());
+            Assertions.assertEquals(Jonad.empty(), AsyncJonad.<String>empty().map(Integer::valueOf).join());
+        }
+
+        @Test
+        void itCapturesErrorsThrownByOperators()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.of(S_VAL_1)
+                    .map(val ->
+                    {
+                        throw EXCEPTION;
+                    })
+                    .onErrorMap(err -> S_VAL_2)
+                    .join());
+        }
+
+        @Test
+        void itFlatMaps()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.of(S_VAL_1)
+                    .flatMap(val -> AsyncJonad.fromSupplier(() -> S_VAL_2))
+                    .join());
+            Assertions.assertEquals(Jonad.empty(), AsyncJonad.empty()
+                    .flatMap(val -> AsyncJonad.of(S_VAL_2))
+                    .join());
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.of(S_VAL_1)
+                    .flatMapMonad(val -> Jonad.of(S_VAL_2))
+                    .join());
+        }
+
+        @Test
+        void itCapturesErrorsThrownByFlatMap()
+        {
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), AsyncJonad.of(S_VAL_1)
+                    .flatMap(val ->
+                    {
+                        throw EXCEPTION;
+                    })
+                    .join());
+        }
+
+        @Test
+        void itFilters()
+        {
+            Assertions.assertEquals(Jonad.empty(), AsyncJonad.of(S_VAL_1).filter(val -> false).join());
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.of(S_VAL_1).filterWhen(val -> Jonad.TRUE).join());
+        }
+
+        @Test
+        void itTryMaps()
+        {
+            Assertions.assertEquals(Jonad.of(I_VAL_1), AsyncJonad.of(S_VAL_1).tryMap(Integer::valueOf).join());
+        }
+
+        @Test
+        void itSwitchesIfEmpty()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.empty().switchIfEmpty(Jonad.of(S_VAL_2)).join());
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.empty()
+                    .switchIfEmpty(AsyncJonad.fromSupplier(() -> S_VAL_2)).join());
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.of(S_VAL_1)
+                    .switchIfEmpty(AsyncJonad.of(S_VAL_2)).join());
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.empty().defaultIfEmpty(S_VAL_2).join());
+        }
+
+        @Test
+        void itRunsSideEffects()
+        {
+            final MutableInt calls = new MutableInt();
+
+            AsyncJonad.empty().doIfEmpty(val -> calls.increment()).doIfPresent(val -> Assertions.fail()).join();
+            AsyncJonad.of(S_VAL_1).doIfPresent(val -> calls.increment()).join();
+            AsyncJonad.failure(EXCEPTION)
+                    .doOnError(err -> calls.increment())
+                    .doOnError(IllegalStateException.class, err -> calls.increment())
+                    .doOnErrorMatching(err -> true, err -> calls.increment())
+                    .join();
+
+            Assertions.assertEquals(5, calls.intValue());
+        }
+
+        @Test
+        void itMapsErrors()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.failure(EXCEPTION)
+                    .onErrorMapMatching(err -> true, err -> S_VAL_2).join());
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.failure(EXCEPTION)
+                    .onErrorFlatMap(err -> Jonad.of(S_VAL_2)).join());
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.failure(EXCEPTION)
+                    .onErrorFlatMapMatching(err -> true, err -> Jonad.of(S_VAL_2)).join());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation tests")
+    class Cancellation
+    {
+        @Test
+        void itInterruptsARunningSupplier() throws InterruptedException
+        {
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch interrupted = new CountDownLatch(1);
+
+            final AsyncJonad<String> mapped = AsyncJonad.fromSupplier(() ->
+            {
+                started.countDown();
+
+                try
+                {
+                    new CountDownLatch(1).await();
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted.countDown();
+                }
+
+                return S_VAL_1;
+            }).map(val -> val + S_VAL_2);
+
+            Assertions.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            Assertions.assertTrue(mapped.cancel());
+            Assertions.assertTrue(interrupted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            Assertions.assertTrue(mapped.isCancelled());
+            Assertions.assertThrows(CancellationException.class, mapped::join);
+        }
+
+        @Test
+        void itCancelsTheInnerAsyncJonadOfAFlatMap() throws InterruptedException
+        {
+            final CompletableFuture<String> inner = new CompletableFuture<>();
+            final CountDownLatch subscribed = new CountDownLatch(1);
+
+            final AsyncJonad<String> result = AsyncJonad.of(S_VAL_1).flatMap(val ->
+            {
+                subscribed.countDown();
+                return AsyncJonad.fromFuture(inner);
+            });
+
+            Assertions.assertTrue(subscribed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            result.cancel();
+            Assertions.assertTrue(inner.isCancelled());
+        }
+
+        @Test
+        void itCancelsFromTheConvertedFuture()
+        {
+            final CompletableFuture<String> source = new CompletableFuture<>();
+
+            AsyncJonad.fromFuture(source).map(val -> val).toFuture().cancel(true);
+
+            Assertions.assertTrue(source.isCancelled());
+        }
+    }
+
+    @Nested
+    @DisplayName("Timeout tests")
+    class Timeouts
+    {
+        @Test
+        void itAcceptsATimeoutTooLongForNanoseconds()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.of(S_VAL_1)
+                    .timeout(ChronoUnit.FOREVER.getDuration())
+                    .join());
+        }
+
+        @Test
+        void itFailsAndCancelsAfterTheTimeout()
+        {
+            final CompletableFuture<String> source = new CompletableFuture<>();
+
+            final Monad<String> m = AsyncJonad.fromFuture(source).timeout(Duration.ofMillis(10)).join();
+
+            Assertions.assertTrue(m.getFailureOrNull() instanceof TimeoutException);
+            Assertions.assertTrue(source.isCancelled());
+        }
+
+        @Test
+        void itRunsDownstreamStagesOffTheSchedulerThread()
+        {
+            final Monad<String> thread = AsyncJonad.fromFuture(new CompletableFuture<String>())
+                    .timeout(Duration.ofMillis(10))
+                    .onErrorMap(e -> Thread.currentThread().getName())
+                    .join();
+
+            Assertions.assertNotNull(thread.getOrNull());
+            Assertions.assertNotEquals(SCHEDULER_THREAD, thread.getOrNull());
+        }
+
+        @Test
+        void itKeepsAResultWhichBeatsTheTimeout()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.of(S_VAL_1).timeout(Duration.ofSeconds(1)).join());
+        }
+
+        @Test
+        void itOnlyRunsTheBoundedFallbackIfEmpty()
+        {
+            final MutableInt calls = new MutableInt();
+
+            Assertions.assertEquals(Jonad.of(S_VAL_1), AsyncJonad.of(S_VAL_1).switchIfEmpty(() ->
+            {
+                calls.increment();
+                return Jonad.of(S_VAL_2);
+            }, Duration.ofSeconds(1)).join());
+            Assertions.assertEquals(0, calls.intValue());
+            Assertions.assertEquals(Jonad.of(S_VAL_2), AsyncJonad.<String>empty()
+                    .switchIfEmpty(() -> Jonad.of(S_VAL_2), Duration.ofSeconds(1)).join());
+        }
+
+        @Test
+        void itStaysEmptyWhenTheFallbackIsTooSlow() throws InterruptedException
+        {
+            final CountDownLatch interrupted = new CountDownLatch(1);
+
+            final Monad<String> m = AsyncJonad.<String>empty().switchIfEmpty(() ->
+            {
+                try
+                {
+                    new CountDownLatch(1).await();
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted.countDown();
+                }
+
+                return Jonad.of(S_VAL_2);
+            }, Duration.ofMillis(10)).join();
+
+            Assertions.assertEquals(Jonad.empty(), m);
+            Assertions.assertTrue(interrupted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+}
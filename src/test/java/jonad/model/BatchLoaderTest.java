@@ -0,0 +1,270 @@
+package jonad.model;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class BatchLoaderTest
+{
+    private static final Duration LONG_WINDOW = Duration.ofSeconds(30);
+
+    private static final Duration SHORT_WINDOW = Duration.ofMillis(20);
+
+    private static final RuntimeException EXCEPTION = new IllegalStateException("");
+
+    private static final IOException CHECKED = new IOException("");
+
+    @SneakyThrows
+    private static RuntimeException sneaky(final Exception e)
+    {
+        throw e;
+    }
+
+    /**
+     * An in-memory stand-in for a backend with a bulk lookup,
+     * recording the keys of every call made to it
+     */
+    private static final class Backend
+    {
+        private final Map<Integer, String> rows = new HashMap<>();
+
+        private final List<Set<Integer>> calls = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile boolean down;
+
+        Backend(final int size)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                rows.put(i, "row" + i);
+            }
+        }
+
+        Map<Integer, String> lookup(final Set<Integer> keys)
+        {
+            calls.add(new HashSet<>(keys));
+
+            if (down)
+            {
+                throw EXCEPTION;
+            }
+
+            return keys.stream()
+                    .filter(rows::containsKey)
+                    .collect(Collectors.toMap(key -> key, rows::get));
+        }
+    }
+
+    @Nested
+    @DisplayName("Batching tests")
+    class Batching
+    {
+        @Test
+        void itSendsKeysFromOneWindowInOneCall()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup, 100, SHORT_WINDOW);
+
+            final List<AsyncJonad<String>> results = Arrays.asList(1, 2, 3).stream()
+                    .map(loader)
+                    .collect(Collectors.toList());
+
+            Assertions.assertEquals(Jonad.of("row1"), results.get(0).join());
+            Assertions.assertEquals(Jonad.of("row2"), results.get(1).join());
+            Assertions.assertEquals(Jonad.of("row3"), results.get(2).join());
+            Assertions.assertEquals(Collections.singletonList(new HashSet<>(Arrays.asList(1, 2, 3))),
+                    backend.calls);
+            Assertions.assertEquals(1, loader.batchCount());
+        }
+
+        @Test
+        void itRemovesDuplicateKeys()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup, 100, LONG_WINDOW);
+
+            final AsyncJonad<String> first = loader.apply(1);
+            final AsyncJonad<String> second = loader.apply(1);
+
+            loader.dispatch();
+
+            Assertions.assertEquals(Jonad.of("row1"), first.join());
+            Assertions.assertEquals(Jonad.of("row1"), second.join());
+            Assertions.assertEquals(Collections.singletonList(Collections.singleton(1)), backend.calls);
+        }
+
+        @Test
+        void itSplitsBatchesAtTheMaximumSize()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup, 2, LONG_WINDOW);
+
+            final List<AsyncJonad<String>> results = Arrays.asList(1, 2, 3, 4, 5).stream()
+                    .map(loader)
+                    .collect(Collectors.toList());
+
+            loader.dispatch();
+            results.forEach(AsyncJonad::join);
+
+            Assertions.assertEquals(3, backend.calls.size());
+            Assertions.assertTrue(backend.calls.stream().allMatch(keys -> keys.size() <= 2));
+        }
+
+        @Test
+        void itPlugsIntoFlatMap()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup, 100, SHORT_WINDOW);
+
+            final List<AsyncJonad<String>> results = Arrays.asList(4, 5, 20).stream()
+                    .map(id -> AsyncJonad.of(id).flatMap(loader).map(String::toUpperCase))
+                    .collect(Collectors.toList());
+
+            Assertions.assertEquals(Jonad.of("ROW4"), results.get(0).join());
+            Assertions.assertEquals(Jonad.of("ROW5"), results.get(1).join());
+            Assertions.assertEquals(Jonad.empty(), results.get(2).join());
+            Assertions.assertEquals(1, backend.calls.size());
+        }
+
+        @Test
+        void itNeverSendsANullKey()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup);
+
+            Assertions.assertEquals(Jonad.empty(), loader.apply(null).join());
+            Assertions.assertTrue(backend.calls.isEmpty());
+        }
+
+        @Test
+        void itRejectsAnInvalidConfiguration()
+        {
+            final Backend backend = new Backend(1);
+
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> BatchLoader.of(backend::lookup, 0, SHORT_WINDOW));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> BatchLoader.of(backend::lookup, 1, Duration.ofMillis(-1)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache tests")
+    class Cache
+    {
+        @Test
+        void itServesRepeatedKeysFromTheCache()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup, 100, SHORT_WINDOW);
+
+            Assertions.assertEquals(Jonad.of("row1"), loader.apply(1).join());
+            Assertions.assertEquals(Jonad.of("row1"), loader.apply(1).join());
+            Assertions.assertEquals(Jonad.empty(), loader.apply(11).join());
+            Assertions.assertEquals(Jonad.empty(), loader.apply(11).join());
+            Assertions.assertEquals(2, backend.calls.size());
+        }
+
+        @Test
+        void itLoadsAgainAfterClearing()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup, 100, SHORT_WINDOW);
+
+            loader.apply(1).join();
+            loader.clear(1);
+            loader.apply(1).join();
+            loader.clearAll();
+            loader.apply(1).join();
+
+            Assertions.assertEquals(3, backend.calls.size());
+        }
+
+        @Test
+        void itFailsTheWholeBatchWithoutCachingIt()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup, 100, LONG_WINDOW);
+
+            backend.down = true;
+
+            final AsyncJonad<String> first = loader.apply(1);
+            final AsyncJonad<String> second = loader.apply(2);
+
+            loader.dispatch();
+
+            Assertions.assertSame(EXCEPTION, first.join().getFailureOrNull());
+            Assertions.assertSame(EXCEPTION, second.join().getFailureOrNull());
+
+            backend.down = false;
+
+            final AsyncJonad<String> retried = loader.apply(1);
+
+            loader.dispatch();
+
+            Assertions.assertEquals(Jonad.of("row1"), retried.join());
+            Assertions.assertEquals(2, backend.calls.size());
+        }
+
+        @Test
+        void itFailsTheBatchWhateverTheBulkFunctionThrows()
+        {
+            final BatchLoader<Integer, String> thrown = BatchLoader.of(keys ->
+            {
+                throw sneaky(CHECKED);
+            }, 100, LONG_WINDOW);
+            final BatchLoader<Integer, String> unreadable = BatchLoader.of(keys -> new HashMap<>()
+            {
+                @Override
+                public String get(final Object key)
+                {
+                    throw EXCEPTION;
+                }
+            }, 100, LONG_WINDOW);
+
+            final AsyncJonad<String> first = thrown.apply(1);
+            final AsyncJonad<String> second = unreadable.apply(1);
+            final AsyncJonad<String> third = unreadable.apply(2);
+
+            thrown.dispatch();
+            unreadable.dispatch();
+
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+            {
+                Assertions.assertSame(CHECKED, first.join().getFailureOrNull());
+                Assertions.assertSame(EXCEPTION, second.join().getFailureOrNull());
+                Assertions.assertSame(EXCEPTION, third.join().getFailureOrNull());
+            });
+        }
+
+        @Test
+        void itKeepsTheSharedResultWhenOneCallerCancels()
+        {
+            final Backend backend = new Backend(10);
+            final BatchLoader<Integer, String> loader = BatchLoader.of(backend::lookup, 100, LONG_WINDOW);
+
+            final AsyncJonad<String> cancelled = loader.apply(1);
+            final AsyncJonad<String> other = loader.apply(1);
+
+            cancelled.cancel();
+            loader.dispatch();
+
+            Assertions.assertTrue(cancelled.isCancelled());
+            Assertions.assertEquals(Jonad.of("row1"), other.join());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class BulkTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final String NOT_A_NUMBER = "x";
+
+    private static final int LARGE_SIZE = 100_000;
+
+    private static final int SMALL_THRESHOLD = 1_000;
+
+    @Nested
+    @DisplayName("Map tests")
+    class Map
+    {
+        @Test
+        void itMapsEveryElement()
+        {
+            final BulkResult<Integer> result = Bulk.defaults().map(Arrays.asList(S_VAL_1, null, S_VAL_2),
+                    Integer::valueOf);
+
+            Assertions.assertEquals(Arrays.asList(1, 2), result.getValues());
+            Assertions.assertEquals(2, result.getPresentCount());
+            Assertions.assertEquals(1, result.getEmptyCount());
+            Assertions.assertEquals(0, result.getErrorCount());
+            Assertions.assertEquals(3, result.getTotalCount());
+        }
+
+        @Test
+        void itCountsNullResultsAsEmpty()
+        {
+            final BulkResult<String> result = Bulk.defaults().map(new String[] {S_VAL_1, S_VAL_2},
+                    val -> S_VAL_1.equals(val) ? null : val);
+
+            Assertions.assertEquals(Collections.singletonList(S_VAL_2), result.getValues());
+            Assertions.assertEquals(1, result.getEmptyCount());
+        }
+
+        @Test
+        void itMapsASpliterator()
+        {
+            final BulkResult<Integer> result = Bulk.defaults().map(Arrays.asList(S_VAL_1, S_VAL_2).spliterator(),
+                    Integer::valueOf);
+
+            Assertions.assertEquals(Arrays.asList(1, 2), result.getValues());
+        }
+
+        @Test
+        void itKeepsEncounterOrderWhenSplit()
+        {
+            final List<Integer> input = IntStream.range(0, LARGE_SIZE).boxed().collect(Collectors.toList());
+            final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+            final BulkResult<Integer> result = Bulk.defaults()
+                    .withThreshold(SMALL_THRESHOLD)
+                    .withPool(new ForkJoinPool(4))
+                    .map(input, val ->
+                    {
+                        threads.add(Thread.currentThread());
+                        return val % 10 == 0 ? null : val * 2;
+                    });
+
+            final List<Integer> expected = input.stream()
+                    .filter(val -> val % 10 != 0)
+                    .map(val -> val * 2)
+                    .collect(Collectors.toList());
+
+            Assertions.assertEquals(expected, result.getValues());
+            Assertions.assertEquals(LARGE_SIZE / 10, result.getEmptyCount());
+            Assertions.assertTrue(threads.size() > 1);
+        }
+
+        @Test
+        void itRejectsANonPositiveThreshold()
+        {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> Bulk.defaults().withThreshold(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter tests")
+    class Filter
+    {
+        @Test
+        void itRetainsMatchingElements()
+        {
+            final BulkResult<String> result = Bulk.defaults().filter(Arrays.asList(S_VAL_1, null, S_VAL_2),
+                    S_VAL_1::equals);
+
+            Assertions.assertEquals(Collections.singletonList(S_VAL_1), result.getValues());
+            Assertions.assertEquals(2, result.getEmptyCount());
+        }
+
+        @Test
+        void itFiltersArraysAndSpliterators()
+        {
+            Assertions.assertEquals(Collections.singletonList(S_VAL_2), Bulk.defaults()
+                    .filter(new String[] {S_VAL_1, S_VAL_2}, S_VAL_2::equals).getValues());
+            Assertions.assertEquals(Collections.singletonList(S_VAL_2), Bulk.defaults()
+                    .filter(Arrays.asList(S_VAL_1, S_VAL_2).spliterator(), S_VAL_2::equals).getValues());
+        }
+
+        @Test
+        void itFiltersInParallel()
+        {
+            final List<Integer> input = IntStream.range(0, LARGE_SIZE).boxed().collect(Collectors.toList());
+
+            final BulkResult<Integer> result = Bulk.defaults()
+                    .withThreshold(SMALL_THRESHOLD)
+                    .filter(input, val -> val % 2 == 0);
+
+            Assertions.assertEquals(LARGE_SIZE / 2, result.getPresentCount());
+            Assertions.assertEquals(LARGE_SIZE / 2, result.getEmptyCount());
+            Assertions.assertEquals(0, result.getValues().get(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Try map tests")
+    class TryMap
+    {
+        @Test
+        void itCountsErrors()
+        {
+            final BulkResult<Integer> result = Bulk.defaults().tryMap(Arrays.asList(S_VAL_1, NOT_A_NUMBER, null),
+                    Integer::valueOf);
+
+            Assertions.assertEquals(Collections.singletonList(1), result.getValues());
+            Assertions.assertEquals(1, result.getEmptyCount());
+            Assertions.assertEquals(1, result.getErrorCount());
+        }
+
+        @Test
+        void itCountsErrorsInParallel()
+        {
+            final List<String> input = new ArrayList<>(LARGE_SIZE);
+
+            for (int i = 0; i < LARGE_SIZE; i++)
+            {
+                input.add(i % 4 == 0 ? NOT_A_NUMBER : String.valueOf(i));
+            }
+
+            final BulkResult<Integer> result = Bulk.defaults()
+                    .withThreshold(SMALL_THRESHOLD)
+                    .tryMap(input.toArray(new String[0]), Integer::valueOf);
+
+            Assertions.assertEquals(LARGE_SIZE / 4, result.getErrorCount());
+            Assertions.assertEquals(LARGE_SIZE - LARGE_SIZE / 4, result.getPresentCount());
+            Assertions.assertEquals(1, result.getValues().get(0));
+        }
+
+        @Test
+        void itTryMapsASpliterator()
+        {
+            Assertions.assertEquals(1, Bulk.defaults()
+                    .tryMap(Arrays.asList(S_VAL_1, NOT_A_NUMBER).spliterator(), Integer::valueOf)
+                    .getErrorCount());
+        }
+    }
+}
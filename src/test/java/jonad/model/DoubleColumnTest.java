@@ -0,0 +1,186 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class DoubleColumnTest
+{
+    private static final double D_VAL_1 = 1.5;
+
+    private static final double D_VAL_2 = 2.5;
+
+    private static final double D_VAL_3 = -4;
+
+    private static final RuntimeException EXCEPTION = new IllegalStateException("");
+
+    private static final List<Monad<Double>> MIXED = Arrays.asList(Jonad.of(D_VAL_1), Jonad.empty(),
+            Jonad.failure(EXCEPTION), Jonad.of(D_VAL_2), Jonad.of(D_VAL_3));
+
+    private static DoubleColumn mixed()
+    {
+        return DoubleColumn.fromMonads(MIXED);
+    }
+
+    /**
+     * A column of the given size spanning several bitmap words,
+     * present on even rows, failed on every fifth odd row and
+     * otherwise empty
+     */
+    private static List<Monad<Double>> large(final int size)
+    {
+        final List<Monad<Double>> monads = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            if (i % 2 == 0)
+            {
+                monads.add(Jonad.of((double) i));
+            }
+            else
+            {
+                monads.add(i % 5 == 0 ? Jonad.failure(EXCEPTION) : Jonad.empty());
+            }
+        }
+
+        return monads;
+    }
+
+    @Nested
+    @DisplayName("Conversion tests")
+    class Conversion
+    {
+        @Test
+        void itRoundTripsMonads()
+        {
+            Assertions.assertEquals(MIXED, mixed().toMonads());
+            Assertions.assertEquals(large(200), DoubleColumn.fromMonads(large(200)).toMonads());
+        }
+
+        @Test
+        void itReadsSingleRows()
+        {
+            final DoubleColumn column = mixed();
+
+            Assertions.assertEquals(5, column.size());
+            Assertions.assertTrue(column.isPresent(0));
+            Assertions.assertTrue(column.isEmpty(1));
+            Assertions.assertTrue(column.isFailure(2));
+            Assertions.assertFalse(column.isEmpty(2));
+            Assertions.assertEquals(DoubleJonad.of(D_VAL_2), column.getDoubleJonad(3));
+            Assertions.assertEquals(DoubleJonad.empty(), column.getDoubleJonad(2));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> column.get(5));
+        }
+
+        @Test
+        void itCreatesColumnsFromValuesAndDoubleJonads()
+        {
+            Assertions.assertEquals(DoubleColumn.fromMonads(Arrays.asList(Jonad.of(D_VAL_1), Jonad.empty())),
+                    DoubleColumn.fromDoubleJonads(Arrays.asList(DoubleJonad.of(D_VAL_1), DoubleJonad.empty())));
+            Assertions.assertEquals(DoubleColumn.fromMonads(Arrays.asList(Jonad.of(D_VAL_1), Jonad.of(D_VAL_2))),
+                    DoubleColumn.of(D_VAL_1, D_VAL_2));
+            Assertions.assertEquals(3, DoubleColumn.empty(3).emptyCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Operator tests")
+    class Operators
+    {
+        @Test
+        void itMapsOnlyPresentRows()
+        {
+            Assertions.assertEquals(Arrays.asList(Jonad.of(3.0), Jonad.empty(), Jonad.failure(EXCEPTION),
+                    Jonad.of(5.0), Jonad.of(-8.0)), mixed().map(val -> val * 2).toMonads());
+        }
+
+        @Test
+        void itMapsDenseWords()
+        {
+            final double[] values = new double[130];
+
+            Arrays.setAll(values, i -> i);
+
+            Assertions.assertEquals(130 * 129, DoubleColumn.of(values).map(val -> val * 2).sum());
+        }
+
+        @Test
+        void itFiltersPresentRowsToEmpty()
+        {
+            Assertions.assertEquals(Arrays.asList(Jonad.empty(), Jonad.empty(), Jonad.failure(EXCEPTION),
+                    Jonad.of(D_VAL_2), Jonad.empty()), mixed().filter(val -> val > 2).toMonads());
+        }
+
+        @Test
+        void itFillsEmptyRowsButNotFailures()
+        {
+            Assertions.assertEquals(Arrays.asList(Jonad.of(D_VAL_1), Jonad.of(0.0), Jonad.failure(EXCEPTION),
+                    Jonad.of(D_VAL_2), Jonad.of(0.0)), mixed().filter(val -> val > 0).defaultIfEmpty(0).toMonads());
+        }
+
+        @Test
+        void itSwitchesEmptyRowsToTheAlternative()
+        {
+            final DoubleColumn alternative = DoubleColumn.fromMonads(Arrays.asList(Jonad.of(9.0),
+                    Jonad.failure(EXCEPTION), Jonad.of(9.0), Jonad.of(9.0), Jonad.empty()));
+
+            Assertions.assertEquals(Arrays.asList(Jonad.of(D_VAL_1), Jonad.failure(EXCEPTION),
+                    Jonad.failure(EXCEPTION), Jonad.of(D_VAL_2), Jonad.of(D_VAL_3)),
+                    mixed().switchIfEmpty(alternative).toMonads());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> mixed().switchIfEmpty(DoubleColumn.of()));
+        }
+
+        @Test
+        void itMatchesTheMonadOperatorsAcrossWords()
+        {
+            final List<Monad<Double>> monads = large(300);
+            final List<Monad<Double>> expected = new ArrayList<>();
+
+            for (final Monad<Double> m : monads)
+            {
+                expected.add(m.map(val -> val + 1).filter(val -> val % 3 != 0).defaultIfEmpty(-1.0));
+            }
+
+            Assertions.assertEquals(expected, DoubleColumn.fromMonads(monads)
+                    .map(val -> val + 1)
+                    .filter(val -> val % 3 != 0)
+                    .defaultIfEmpty(-1)
+                    .toMonads());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reduction tests")
+    class Reductions
+    {
+        @Test
+        void itReducesPresentValues()
+        {
+            final DoubleColumn column = mixed();
+
+            Assertions.assertEquals(D_VAL_1 + D_VAL_2 + D_VAL_3, column.sum());
+            Assertions.assertEquals(DoubleJonad.of(D_VAL_3), column.min());
+            Assertions.assertEquals(DoubleJonad.of(D_VAL_2), column.max());
+            Assertions.assertEquals(DoubleJonad.of(0), column.average());
+            Assertions.assertEquals(3, column.count());
+            Assertions.assertEquals(1, column.emptyCount());
+            Assertions.assertEquals(1, column.failureCount());
+        }
+
+        @Test
+        void itReducesAnEmptyColumnToEmpty()
+        {
+            final DoubleColumn column = DoubleColumn.empty(70);
+
+            Assertions.assertEquals(0, column.sum());
+            Assertions.assertEquals(DoubleJonad.empty(), column.min());
+            Assertions.assertEquals(DoubleJonad.empty(), column.max());
+            Assertions.assertEquals(DoubleJonad.empty(), column.average());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package jonad.model;
+
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalDouble;
+
+class DoubleJonadTest
+{
+    private static final double VAL_1 = 1;
+
+    private static final double VAL_2 = 2;
+
+    private static final double LARGE_VAL = 100_000;
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    @Nested
+    @DisplayName("Creation tests")
+    class Creation
+    {
+        @Test
+        void itCreatesFromValue()
+        {
+            Assertions.assertEquals(VAL_1, DoubleJonad.of(VAL_1).getOrDefault(VAL_2));
+        }
+
+        @Test
+        void itComparesByValue()
+        {
+            Assertions.assertEquals(DoubleJonad.of(LARGE_VAL), DoubleJonad.of(LARGE_VAL));
+        }
+
+        @Test
+        void itCreatesEmptyFromNull()
+        {
+            Assertions.assertSame(DoubleJonad.empty(), DoubleJonad.orEmpty((Double) null));
+            Assertions.assertEquals(DoubleJonad.of(VAL_1), DoubleJonad.orEmpty(Double.valueOf(VAL_1)));
+        }
+
+        @Test
+        void itCreatesFromOptional()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_1), DoubleJonad.orEmpty(OptionalDouble.of(VAL_1)));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.orEmpty(OptionalDouble.empty()));
+        }
+
+        @Test
+        void itCreatesFromSupplier()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_1), DoubleJonad.fromSupplier(() -> VAL_1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Map tests")
+    class Map
+    {
+        @Test
+        void itMaps()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_2), DoubleJonad.of(VAL_1).map(val -> val + 1));
+        }
+
+        @Test
+        void itDoesntMapWhenNoValuePresent()
+        {
+            Assertions.assertSame(DoubleJonad.empty(), DoubleJonad.empty().map(val -> VAL_2));
+        }
+
+        @Test
+        void itMapsToOtherPrimitives()
+        {
+            Assertions.assertEquals(LongJonad.of(2L), DoubleJonad.of(VAL_1).mapToLong(val -> (long) val + 1L));
+            Assertions.assertEquals(IntJonad.of(2), DoubleJonad.of(VAL_1).mapToInt(val -> (int) val + 1));
+            Assertions.assertEquals(LongJonad.empty(), DoubleJonad.empty().mapToLong(val -> (long) val + 1L));
+            Assertions.assertEquals(IntJonad.empty(), DoubleJonad.empty().mapToInt(val -> (int) val + 1));
+        }
+
+        @Test
+        void itMapsToObjects()
+        {
+            Assertions.assertEquals(Jonad.of("1"), DoubleJonad.of(VAL_1).mapToObj(val -> "1"));
+            Assertions.assertEquals(Jonad.empty(), DoubleJonad.empty().mapToObj(String::valueOf));
+        }
+
+        @Test
+        void itFlatMaps()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_2), DoubleJonad.of(VAL_1).flatMap(val -> DoubleJonad.of(VAL_2)));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.of(VAL_1).flatMap(val -> DoubleJonad.empty()));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.empty().flatMap(val -> DoubleJonad.of(VAL_2)));
+        }
+
+        @Test
+        void itTryMaps()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_2), DoubleJonad.of(VAL_1).tryMap(val -> VAL_2));
+            Assertions.assertEquals(DoubleJonad.of(VAL_1), DoubleJonad.of(VAL_1).tryMap(val -> Double.parseDouble("")));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.empty().tryMap(val -> VAL_2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter tests")
+    class Filter
+    {
+        @Test
+        void itFilters()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_1), DoubleJonad.of(VAL_1).filter(val -> val == VAL_1));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.of(VAL_1).filter(val -> val == VAL_2));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.empty().filter(val -> true));
+        }
+
+        @Test
+        void itFiltersWhen()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_1), DoubleJonad.of(VAL_1).filterWhen(val -> Jonad.TRUE));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.of(VAL_1).filterWhen(val -> Jonad.FALSE));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.of(VAL_1).filterWhen(val -> Jonad.empty()));
+            Assertions.assertEquals(DoubleJonad.empty(), DoubleJonad.empty().filterWhen(val -> Jonad.TRUE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Empty tests")
+    class EmptyTests
+    {
+        @Test
+        void itSwitchesIfEmpty()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_2), DoubleJonad.empty().switchIfEmpty(DoubleJonad.of(VAL_2)));
+            Assertions.assertEquals(DoubleJonad.of(VAL_1), DoubleJonad.of(VAL_1).switchIfEmpty(DoubleJonad.of(VAL_2)));
+        }
+
+        @Test
+        void itDefaultsIfEmpty()
+        {
+            Assertions.assertEquals(DoubleJonad.of(VAL_2), DoubleJonad.empty().defaultIfEmpty(VAL_2));
+            Assertions.assertEquals(DoubleJonad.of(VAL_1), DoubleJonad.of(VAL_1).defaultIfEmpty(VAL_2));
+        }
+
+        @Test
+        void itRunsSideEffects()
+        {
+            final MutableDouble mutable = new MutableDouble();
+
+            DoubleJonad.empty().doIfEmpty(mutable::increment).doIfPresent(val -> Assertions.fail());
+            DoubleJonad.of(VAL_2).doIfPresent(mutable::add).doIfEmpty(Assertions::fail);
+
+            Assertions.assertEquals(VAL_1 + VAL_2, mutable.doubleValue());
+        }
+
+        @Test
+        void itIsEmpty()
+        {
+            Assertions.assertTrue(DoubleJonad.empty().isEmpty());
+            Assertions.assertFalse(DoubleJonad.of(VAL_1).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Terminal tests")
+    class Terminal
+    {
+        @Test
+        void itGetsOrDefault()
+        {
+            Assertions.assertEquals(VAL_1, DoubleJonad.of(VAL_1).getOrDefault(VAL_2));
+            Assertions.assertEquals(VAL_2, DoubleJonad.empty().getOrDefault(VAL_2));
+        }
+
+        @Test
+        void itGetsOrElse()
+        {
+            Assertions.assertEquals(VAL_1, DoubleJonad.of(VAL_1).orElseGet(() -> VAL_2));
+            Assertions.assertEquals(VAL_2, DoubleJonad.empty().orElseGet(() -> VAL_2));
+        }
+
+        @Test
+        void itThrowsWhenValueNotPresent() throws Exception
+        {
+            Assertions.assertEquals(VAL_1, DoubleJonad.of(VAL_1).orElseThrow(() -> EXCEPTION));
+            Assertions.assertThrows(Exception.class, () -> DoubleJonad.empty().orElseThrow(() -> EXCEPTION));
+        }
+
+        @Test
+        void itTransformsToOptional()
+        {
+            Assertions.assertEquals(OptionalDouble.of(VAL_1), DoubleJonad.of(VAL_1).toOptional());
+            Assertions.assertEquals(OptionalDouble.empty(), DoubleJonad.empty().toOptional());
+        }
+
+        @Test
+        void itTransformsToStream()
+        {
+            Assertions.assertArrayEquals(new double[] {VAL_1}, DoubleJonad.of(VAL_1).stream().toArray());
+            Assertions.assertEquals(0, DoubleJonad.empty().stream().count());
+        }
+
+        @Test
+        void itBoxes()
+        {
+            Assertions.assertEquals(Jonad.of(VAL_1), DoubleJonad.of(VAL_1).boxed());
+            Assertions.assertEquals(Jonad.empty(), DoubleJonad.empty().boxed());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package jonad.model;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+class ErrorRouterTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String IO = "io";
+
+    private static final String RUNTIME = "runtime";
+
+    private static final ErrorRouter<String> ROUTER = ErrorRouter.<String>create()
+            .onErrorMap(IOException.class, e -> IO)
+            .onErrorMap(RuntimeException.class, e -> RUNTIME)
+            .onErrorFlatMap(IllegalArgumentException.class, e -> Jonad.empty());
+
+    @Nested
+    @DisplayName("Routing tests")
+    class Routing
+    {
+        @Test
+        void itUsesTheMostSpecificRule()
+        {
+            Assertions.assertEquals(Jonad.of(IO), ROUTER.apply(new FileNotFoundException()));
+            Assertions.assertEquals(Jonad.of(RUNTIME), ROUTER.apply(new IllegalStateException()));
+            Assertions.assertEquals(Jonad.empty(), ROUTER.apply(new NumberFormatException()));
+        }
+
+        @Test
+        void itPassesUnmatchedFailuresThrough()
+        {
+            final Exception e = new Exception();
+
+            Assertions.assertSame(e, ROUTER.apply(e).getFailureOrNull());
+            Assertions.assertSame(e, ErrorRouter.create().apply(e).getFailureOrNull());
+        }
+
+        @Test
+        void itAppliesInOneOperatorCall()
+        {
+            Assertions.assertEquals(Jonad.of(IO), Jonad.<String>failure(new IOException()).onErrorFlatMap(ROUTER));
+            Assertions.assertEquals(Jonad.of(S_VAL_1), Jonad.of(S_VAL_1).onErrorFlatMap(ROUTER));
+            Assertions.assertEquals(Jonad.empty(), Jonad.<String>empty().onErrorFlatMap(ROUTER));
+        }
+
+        @Test
+        void itMatchesTheEquivalentChain()
+        {
+            final Exception[] failures = {new FileNotFoundException(), new UncheckedIOException(new IOException()),
+                new IllegalArgumentException(), new Exception()};
+
+            for (final Exception e : failures)
+            {
+                final Monad<String> chained = Jonad.<String>failure(e)
+                        .onErrorFlatMapMatching(IllegalArgumentException.class::isInstance, err -> Jonad.empty())
+                        .onErrorMapMatching(IOException.class::isInstance, err -> IO)
+                        .onErrorMapMatching(RuntimeException.class::isInstance, err -> RUNTIME);
+
+                Assertions.assertEquals(chained, Jonad.<String>failure(e).onErrorFlatMap(ROUTER));
+            }
+        }
+
+        @Test
+        void itPerformsSideEffectsAndKeepsTheFailure()
+        {
+            final MutableInt calls = new MutableInt();
+            final IOException e = new IOException();
+            final ErrorRouter<String> router = ErrorRouter.<String>create()
+                    .doOnError(IOException.class, err -> calls.increment());
+
+            Assertions.assertSame(e, router.apply(e).getFailureOrNull());
+            Assertions.assertEquals(1, calls.intValue());
+        }
+    }
+
+    @Nested
+    @DisplayName("Construction tests")
+    class Construction
+    {
+        @Test
+        void itReplacesARuleForTheSameType()
+        {
+            final ErrorRouter<String> replaced = ROUTER.onErrorMap(IOException.class, e -> S_VAL_1);
+
+            Assertions.assertEquals(Jonad.of(S_VAL_1), replaced.apply(new IOException()));
+            Assertions.assertEquals(Jonad.of(IO), ROUTER.apply(new IOException()));
+        }
+
+        @Test
+        void itResolvesAgainAfterARuleIsAdded()
+        {
+            final ErrorRouter<String> router = ErrorRouter.<String>create().onErrorMap(Exception.class, e -> IO);
+
+            Assertions.assertEquals(Jonad.of(IO), router.apply(new IllegalStateException()));
+            Assertions.assertEquals(Jonad.of(RUNTIME), router
+                    .onErrorMap(IllegalStateException.class, e -> RUNTIME)
+                    .apply(new IllegalStateException()));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package jonad.model;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalInt;
+
+class IntJonadTest
+{
+    private static final int VAL_1 = 1;
+
+    private static final int VAL_2 = 2;
+
+    private static final int LARGE_VAL = 100_000;
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    @Nested
+    @DisplayName("Creation tests")
+    class Creation
+    {
+        @Test
+        void itCreatesFromValue()
+        {
+            Assertions.assertEquals(VAL_1, IntJonad.of(VAL_1).getOrDefault(VAL_2));
+        }
+
+        @Test
+        void itCachesSmallValues()
+        {
+            Assertions.assertSame(IntJonad.of(VAL_1), IntJonad.of(VAL_1));
+            Assertions.assertEquals(IntJonad.of(LARGE_VAL), IntJonad.of(LARGE_VAL));
+        }
+
+        @Test
+        void itCreatesEmptyFromNull()
+        {
+            Assertions.assertSame(IntJonad.empty(), IntJonad.orEmpty((Integer) null));
+            Assertions.assertEquals(IntJonad.of(VAL_1), IntJonad.orEmpty(Integer.valueOf(VAL_1)));
+        }
+
+        @Test
+        void itCreatesFromOptional()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_1), IntJonad.orEmpty(OptionalInt.of(VAL_1)));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.orEmpty(OptionalInt.empty()));
+        }
+
+        @Test
+        void itCreatesFromSupplier()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_1), IntJonad.fromSupplier(() -> VAL_1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Map tests")
+    class Map
+    {
+        @Test
+        void itMaps()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_2), IntJonad.of(VAL_1).map(val -> val + 1));
+        }
+
+        @Test
+        void itDoesntMapWhenNoValuePresent()
+        {
+            Assertions.assertSame(IntJonad.empty(), IntJonad.empty().map(val -> VAL_2));
+        }
+
+        @Test
+        void itMapsToOtherPrimitives()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_2), IntJonad.of(VAL_1).mapToLong(val -> val + 1L));
+            Assertions.assertEquals(DoubleJonad.of(VAL_2), IntJonad.of(VAL_1).mapToDouble(val -> val + 1d));
+            Assertions.assertEquals(LongJonad.empty(), IntJonad.empty().mapToLong(val -> val + 1L));
+            Assertions.assertEquals(DoubleJonad.empty(), IntJonad.empty().mapToDouble(val -> val + 1d));
+        }
+
+        @Test
+        void itMapsToObjects()
+        {
+            Assertions.assertEquals(Jonad.of("1"), IntJonad.of(VAL_1).mapToObj(String::valueOf));
+            Assertions.assertEquals(Jonad.empty(), IntJonad.empty().mapToObj(String::valueOf));
+        }
+
+        @Test
+        void itFlatMaps()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_2), IntJonad.of(VAL_1).flatMap(val -> IntJonad.of(VAL_2)));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.of(VAL_1).flatMap(val -> IntJonad.empty()));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.empty().flatMap(val -> IntJonad.of(VAL_2)));
+        }
+
+        @Test
+        void itTryMaps()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_2), IntJonad.of(VAL_1).tryMap(val -> VAL_2));
+            Assertions.assertEquals(IntJonad.of(VAL_1), IntJonad.of(VAL_1).tryMap(val -> val / 0));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.empty().tryMap(val -> VAL_2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter tests")
+    class Filter
+    {
+        @Test
+        void itFilters()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_1), IntJonad.of(VAL_1).filter(val -> val == VAL_1));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.of(VAL_1).filter(val -> val == VAL_2));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.empty().filter(val -> true));
+        }
+
+        @Test
+        void itFiltersWhen()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_1), IntJonad.of(VAL_1).filterWhen(val -> Jonad.TRUE));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.of(VAL_1).filterWhen(val -> Jonad.FALSE));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.of(VAL_1).filterWhen(val -> Jonad.empty()));
+            Assertions.assertEquals(IntJonad.empty(), IntJonad.empty().filterWhen(val -> Jonad.TRUE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Empty tests")
+    class EmptyTests
+    {
+        @Test
+        void itSwitchesIfEmpty()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_2), IntJonad.empty().switchIfEmpty(IntJonad.of(VAL_2)));
+            Assertions.assertEquals(IntJonad.of(VAL_1), IntJonad.of(VAL_1).switchIfEmpty(IntJonad.of(VAL_2)));
+        }
+
+        @Test
+        void itDefaultsIfEmpty()
+        {
+            Assertions.assertEquals(IntJonad.of(VAL_2), IntJonad.empty().defaultIfEmpty(VAL_2));
+            Assertions.assertEquals(IntJonad.of(VAL_1), IntJonad.of(VAL_1).defaultIfEmpty(VAL_2));
+        }
+
+        @Test
+        void itRunsSideEffects()
+        {
+            final MutableInt mutable = new MutableInt();
+
+            IntJonad.empty().doIfEmpty(mutable::increment).doIfPresent(val -> Assertions.fail());
+            IntJonad.of(VAL_2).doIfPresent(mutable::add).doIfEmpty(Assertions::fail);
+
+            Assertions.assertEquals(VAL_1 + VAL_2, mutable.intValue());
+        }
+
+        @Test
+        void itIsEmpty()
+        {
+            Assertions.assertTrue(IntJonad.empty().isEmpty());
+            Assertions.assertFalse(IntJonad.of(VAL_1).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Terminal tests")
+    class Terminal
+    {
+        @Test
+        void itGetsOrDefault()
+        {
+            Assertions.assertEquals(VAL_1, IntJonad.of(VAL_1).getOrDefault(VAL_2));
+            Assertions.assertEquals(VAL_2, IntJonad.empty().getOrDefault(VAL_2));
+        }
+
+        @Test
+        void itGetsOrElse()
+        {
+            Assertions.assertEquals(VAL_1, IntJonad.of(VAL_1).orElseGet(() -> VAL_2));
+            Assertions.assertEquals(VAL_2, IntJonad.empty().orElseGet(() -> VAL_2));
+        }
+
+        @Test
+        void itThrowsWhenValueNotPresent() throws Exception
+        {
+            Assertions.assertEquals(VAL_1, IntJonad.of(VAL_1).orElseThrow(() -> EXCEPTION));
+            Assertions.assertThrows(Exception.class, () -> IntJonad.empty().orElseThrow(() -> EXCEPTION));
+        }
+
+        @Test
+        void itTransformsToOptional()
+        {
+            Assertions.assertEquals(OptionalInt.of(VAL_1), IntJonad.of(VAL_1).toOptional());
+            Assertions.assertEquals(OptionalInt.empty(), IntJonad.empty().toOptional());
+        }
+
+        @Test
+        void itTransformsToStream()
+        {
+            Assertions.assertArrayEquals(new int[] {VAL_1}, IntJonad.of(VAL_1).stream().toArray());
+            Assertions.assertEquals(0, IntJonad.empty().stream().count());
+        }
+
+        @Test
+        void itBoxes()
+        {
+            Assertions.assertEquals(Jonad.of(VAL_1), IntJonad.of(VAL_1).boxed());
+            Assertions.assertEquals(Jonad.empty(), IntJonad.empty().boxed());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Measures the bytes allocated by the current thread per Jonad
+ * operator call on the present, empty and failure paths, and
+ * fails when an operator allocates more than its budget. Budgets
+ * are counted in Jonads, the size of which is pinned separately
+ * by {@link JonadFootprintTest}
+ */
+class JonadAllocationTest
+{
+    private static final int WARMUP = 20_000;
+
+    private static final int ITERATIONS = 100_000;
+
+    private static final String S_VAL_1 = "1";
+
+    private static final Optional<String> OPTIONAL_EMPTY = Optional.empty();
+
+    private static final Function<String, String> IDENTITY = Function.identity();
+
+    private static final Monad<String> PRESENT = Jonad.of(S_VAL_1);
+
+    private static final Monad<String> FAILURE = Jonad.failure(new StacklessException(S_VAL_1));
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    private static long jonadBytes;
+
+    private static Object sink;
+
+    @BeforeAll
+    static void setUp()
+    {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        jonadBytes = ClassLayout.parseInstance(PRESENT).instanceSize();
+    }
+
+    @Nested
+    @DisplayName("Empty tests")
+    class Empty
+    {
+        @Test
+        void itDoesntAllocateOnTheEmptyPath()
+        {
+            final Monad<String> empty = Jonad.empty();
+
+            assertNoAllocation(() -> empty
+                    .map(val -> val + S_VAL_1)
+                    .flatMap(val -> Jonad.of(val + S_VAL_1))
+                    .filter(val -> true)
+                    .filterWhen(val -> Jonad.TRUE)
+                    .tryMap(String::length));
+        }
+
+        @Test
+        void itDoesntAllocateWhenCreatingEmptyMonads()
+        {
+            assertNoAllocation(() -> Jonad.orEmpty(OPTIONAL_EMPTY));
+            assertNoAllocation(() -> Jonad.orEmpty(null));
+            assertNoAllocation(() -> Jonad.of(null));
+            assertNoAllocation(() -> Jonad.fromSupplier(() -> null));
+        }
+
+        @Test
+        void itDoesntAllocateWhenRecoveringWithAnExistingMonad()
+        {
+            final Monad<String> empty = Jonad.empty();
+
+            assertNoAllocation(() -> empty.switchIfEmpty(PRESENT));
+            assertNoAllocation(() -> empty.onErrorMap(e -> S_VAL_1));
+            assertNoAllocation(() -> empty.getOrDefault(S_VAL_1));
+        }
+
+        @Test
+        void itAllocatesOneJonadForADefault()
+        {
+            final Monad<String> empty = Jonad.empty();
+
+            assertAllocatesAtMost(1, () -> empty.defaultIfEmpty(S_VAL_1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Present tests")
+    class Present
+    {
+        @Test
+        void itDoesntAllocateOnThePassThroughPath()
+        {
+            assertNoAllocation(() -> PRESENT
+                    .filter(val -> true)
+                    .filterWhen(val -> Jonad.TRUE)
+                    .switchIfEmpty(Jonad.empty())
+                    .defaultIfEmpty(S_VAL_1)
+                    .onErrorMap(e -> S_VAL_1)
+                    .onErrorFlatMap(e -> Jonad.empty()));
+        }
+
+        @Test
+        void itDoesntAllocateWhenFilteringToEmpty()
+        {
+            assertNoAllocation(() -> PRESENT.filter(val -> false));
+            assertNoAllocation(() -> PRESENT.filterWhen(val -> Jonad.FALSE));
+            assertNoAllocation(() -> PRESENT.map(val -> null));
+        }
+
+        @Test
+        void itAllocatesOneJonadPerMappedValue()
+        {
+            assertAllocatesAtMost(1, () -> PRESENT.map(IDENTITY));
+            assertAllocatesAtMost(1, () -> PRESENT.tryMap(IDENTITY));
+            assertAllocatesAtMost(2, () -> PRESENT.map(IDENTITY).map(IDENTITY));
+        }
+
+        @Test
+        void itDoesntAllocateWhenFlatMappingToAnExistingMonad()
+        {
+            assertNoAllocation(() -> PRESENT.flatMap(val -> PRESENT));
+        }
+
+        @Test
+        void itDoesntAllocateWhenReadingOrComparing()
+        {
+            final Monad<String> other = Jonad.of(S_VAL_1);
+
+            assertNoAllocation(() -> PRESENT.getOrNull());
+            assertNoAllocation(() -> PRESENT.orElseThrow(IllegalStateException::new));
+            assertNoAllocation(() -> PRESENT.equals(other));
+            assertNoAllocation(() -> PRESENT.hashCode() != 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure tests")
+    class Failure
+    {
+        @Test
+        void itDoesntAllocateOnTheFailurePath()
+        {
+            assertNoAllocation(() -> FAILURE
+                    .map(val -> val + S_VAL_1)
+                    .flatMap(val -> Jonad.of(val + S_VAL_1))
+                    .filter(val -> true)
+                    .filterWhen(val -> Jonad.TRUE)
+                    .tryMap(String::length)
+                    .switchIfEmpty(Jonad.empty())
+                    .defaultIfEmpty(0));
+        }
+
+        @Test
+        void itAllocatesOneJonadWhenRecovering()
+        {
+            assertAllocatesAtMost(1, () -> FAILURE.onErrorMap(e -> S_VAL_1));
+            assertNoAllocation(() -> FAILURE.onErrorFlatMap(e -> PRESENT));
+        }
+
+        @Test
+        void itDoesntAllocateWhenReadingOrComparing()
+        {
+            assertNoAllocation(() -> FAILURE.getFailureOrNull());
+            assertNoAllocation(() -> FAILURE.getOrDefault(S_VAL_1));
+            assertNoAllocation(() -> FAILURE.equals(PRESENT));
+            assertNoAllocation(() -> FAILURE.hashCode() != 0);
+        }
+    }
+
+    private static void assertNoAllocation(final Supplier<Object> op)
+    {
+        assertAllocatesAtMost(0, op);
+    }
+
+    /**
+     * Fail if the operation allocates more than the given number
+     * of Jonads per call, allowing a byte per call for noise
+     */
+    private static void assertAllocatesAtMost(final int jonads, final Supplier<Object> op)
+    {
+        for (int i = 0; i < WARMUP; i++)
+        {
+            sink = op.get();
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long baseline = measure(threadId, () -> sink);
+        final long allocated = measure(threadId, op) - baseline;
+        final long budget = jonads * jonadBytes * ITERATIONS;
+
+        Assertions.assertTrue(allocated < budget + ITERATIONS, "Allocated " + allocated + " bytes over "
+                + ITERATIONS + " iterations, budget is " + jonads + " Jonads of " + jonadBytes + " bytes");
+    }
+
+    private static long measure(final long threadId, final Supplier<Object> op)
+    {
+        final long before = threads.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            sink = op.get();
+        }
+
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+}
@@ -0,0 +1,203 @@
+package jonad.model;
+
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class JonadEventsTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String NOT_A_NUMBER = "x";
+
+    private static final String TRY_MAP_FAILURE = "jonad.TryMapFailure";
+
+    private static final String OR_ELSE_THROW = "jonad.OrElseThrow";
+
+    private static final String FALLBACK = "jonad.Fallback";
+
+    private static final String SLOW_SUPPLIER = "jonad.SlowSupplier";
+
+    private static final Duration THRESHOLD = Duration.ofMillis(5);
+
+    private List<RecordedEvent> record(final Runnable r, final String... events) throws IOException
+    {
+        final Path file = Files.createTempFile("jonad", ".jfr");
+
+        try (Recording recording = new Recording())
+        {
+            for (final String event : events)
+            {
+                recording.enable(event).withThreshold(SLOW_SUPPLIER.equals(event) ? THRESHOLD : Duration.ZERO);
+            }
+
+            recording.start();
+            r.run();
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("jonad."))
+                    .collect(Collectors.toList());
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    private static String callSite(final RecordedEvent event)
+    {
+        return event.getString("callSite");
+    }
+
+    @Nested
+    @DisplayName("Failure event tests")
+    class Failures
+    {
+        @Test
+        void itRecordsTryMapFailures() throws IOException
+        {
+            final List<RecordedEvent> events = record(() ->
+            {
+                Jonad.of(NOT_A_NUMBER).tryMap(Integer::valueOf);
+                LazyJonad.of(NOT_A_NUMBER).tryMap(Integer::valueOf).getOrNull();
+            }, TRY_MAP_FAILURE);
+
+            Assertions.assertEquals(2, events.size());
+
+            for (final RecordedEvent event : events)
+            {
+                Assertions.assertEquals(NumberFormatException.class.getName(),
+                        event.getClass("exceptionClass").getName());
+                Assertions.assertTrue(callSite(event).startsWith(JonadEventsTest.class.getName()));
+            }
+        }
+
+        @Test
+        void itRecordsOrElseThrow() throws IOException
+        {
+            final List<RecordedEvent> events = record(() -> Assertions.assertThrows(IllegalStateException.class,
+                    () -> Jonad.empty().orElseThrow(IllegalStateException::new)), OR_ELSE_THROW);
+
+            Assertions.assertEquals(1, events.size());
+            Assertions.assertEquals(IllegalStateException.class.getName(),
+                    events.get(0).getClass("exceptionClass").getName());
+        }
+    }
+
+    @Nested
+    @DisplayName("Fallback event tests")
+    class Fallbacks
+    {
+        @Test
+        void itRecordsFallbacksOnlyWhenTaken() throws IOException
+        {
+            final List<RecordedEvent> events = record(() ->
+            {
+                Jonad.of(S_VAL_1).switchIfEmpty(Jonad.empty()).defaultIfEmpty(S_VAL_1).orElseGet(() -> S_VAL_1);
+                Jonad.empty().switchIfEmpty(Jonad.empty()).defaultIfEmpty(S_VAL_1);
+                Jonad.<String>empty().orElseGet(() -> S_VAL_1);
+            }, FALLBACK);
+
+            Assertions.assertEquals(List.of("switchIfEmpty", "defaultIfEmpty", "orElseGet"),
+                    events.stream().map(event -> event.getString("operator")).collect(Collectors.toList()));
+        }
+
+        @Test
+        void itReportsTheCallerOfEveryMonadAsTheCallSite() throws IOException
+        {
+            final List<RecordedEvent> events = record(() ->
+            {
+                TrampolinedJonad.<String>empty().orElseGet(() -> S_VAL_1);
+                LazyJonad.<String>empty().orElseGet(() -> S_VAL_1);
+                Assertions.assertThrows(IllegalStateException.class,
+                        () -> TrampolinedJonad.empty().orElseThrow(IllegalStateException::new));
+            }, FALLBACK, OR_ELSE_THROW);
+
+            Assertions.assertEquals(3, events.size());
+
+            for (final RecordedEvent event : events)
+            {
+                Assertions.assertTrue(callSite(event).startsWith(JonadEventsTest.class.getName()),
+                        callSite(event));
+            }
+        }
+
+        @Test
+        void itRecordsSuppliersSlowerThanTheThreshold() throws IOException
+        {
+            final List<RecordedEvent> events = record(() ->
+            {
+                Jonad.fromSupplier(() -> S_VAL_1);
+                Jonad.fromSupplier(() -> sleep(S_VAL_1));
+                Jonad.<String>empty().orElseGet(() -> sleep(S_VAL_1));
+            }, SLOW_SUPPLIER);
+
+            Assertions.assertEquals(List.of("fromSupplier", "orElseGet"),
+                    events.stream().map(event -> event.getString("operator")).collect(Collectors.toList()));
+            Assertions.assertTrue(events.get(0).getDuration().compareTo(THRESHOLD) >= 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Default tests")
+    class Defaults
+    {
+        @Test
+        void itRecordsNothingUnlessEnabled() throws IOException
+        {
+            final List<RecordedEvent> events = record(() ->
+            {
+                Jonad.of(NOT_A_NUMBER).tryMap(Integer::valueOf);
+                Jonad.empty().switchIfEmpty(Jonad.empty());
+                Jonad.fromSupplier(() -> sleep(S_VAL_1));
+            });
+
+            Assertions.assertTrue(events.isEmpty());
+        }
+
+        @Test
+        void itKeepsJfrTypesOutOfTheClassEveryMonadLoads()
+        {
+            // a runtime without jdk.jfr must be able to load and initialise JonadEvents
+            for (final Field field : JonadEvents.class.getDeclaredFields())
+            {
+                Assertions.assertFalse(Event.class.isAssignableFrom(field.getType()), field::toString);
+            }
+
+            for (final Method method : JonadEvents.class.getDeclaredMethods())
+            {
+                Assertions.assertFalse(Event.class.isAssignableFrom(method.getReturnType()), method::toString);
+            }
+        }
+    }
+
+    private static String sleep(final String val)
+    {
+        try
+        {
+            Thread.sleep(20);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        return val;
+    }
+}
@@ -0,0 +1,268 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class JonadFluxTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final String S_VAL_3 = "3";
+
+    private static final String NOT_A_NUMBER = "x";
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    @Nested
+    @DisplayName("Operator tests")
+    class Operators
+    {
+        @Test
+        void itAppliesOperatorsToEveryValue()
+        {
+            final Recorder<Integer> recorder = Recorder.unbounded(JonadFlux.of(S_VAL_1, null, S_VAL_2, S_VAL_3)
+                    .map(Integer::valueOf)
+                    .filter(val -> val != 2)
+                    .filterWhen(val -> Jonad.ofBoolean(val < 3))
+                    .flatMap(val -> Jonad.of(val * 10)));
+
+            Assertions.assertEquals(Collections.singletonList(10), recorder.values);
+            Assertions.assertTrue(recorder.completed);
+        }
+
+        @Test
+        void itRecoversFailedValues()
+        {
+            final Recorder<Integer> recorder = Recorder.unbounded(JonadFlux.of(S_VAL_1, NOT_A_NUMBER, S_VAL_2)
+                    .tryMap(Integer::valueOf)
+                    .onErrorMap(err -> 0));
+
+            Assertions.assertEquals(Arrays.asList(1, 0, 2), recorder.values);
+            Assertions.assertTrue(recorder.completed);
+        }
+
+        @Test
+        void itEndsTheStreamOnAnUnrecoveredFailure()
+        {
+            final List<Throwable> seen = new ArrayList<>();
+
+            final Recorder<Integer> recorder = Recorder.unbounded(JonadFlux.of(S_VAL_1, NOT_A_NUMBER, S_VAL_2)
+                    .tryMap(Integer::valueOf)
+                    .doOnError(seen::add));
+
+            Assertions.assertEquals(Collections.singletonList(1), recorder.values);
+            Assertions.assertTrue(recorder.error instanceof NumberFormatException);
+            Assertions.assertEquals(Collections.singletonList(recorder.error), seen);
+            Assertions.assertFalse(recorder.completed);
+        }
+
+        @Test
+        void itEndsTheStreamWhenAMappingFunctionThrows()
+        {
+            final Recorder<Integer> recorder = Recorder.unbounded(JonadFlux.of(NOT_A_NUMBER).map(Integer::valueOf)
+                    .onErrorMap(err -> 0));
+
+            Assertions.assertTrue(recorder.error instanceof NumberFormatException);
+        }
+
+        @Test
+        void itSwitchesOnlyWhenNoValueIsPublished()
+        {
+            Assertions.assertEquals(Collections.singletonList(S_VAL_2),
+                    Recorder.unbounded(JonadFlux.of(S_VAL_1).filter(val -> false).switchIfEmpty(Jonad.of(S_VAL_2)))
+                            .values);
+            Assertions.assertEquals(Arrays.asList(S_VAL_1, S_VAL_3),
+                    Recorder.unbounded(JonadFlux.of(S_VAL_1, S_VAL_3).defaultIfEmpty(S_VAL_2)).values);
+            Assertions.assertEquals(Collections.singletonList(S_VAL_2 + S_VAL_3),
+                    Recorder.unbounded(JonadFlux.<String>empty().defaultIfEmpty(S_VAL_2).map(val -> val + S_VAL_3))
+                            .values);
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure tests")
+    class Backpressure
+    {
+        @Test
+        void itOnlyPullsRequestedValues()
+        {
+            final AtomicInteger pulled = new AtomicInteger();
+            final Recorder<Integer> recorder = new Recorder<>();
+
+            JonadFlux.fromIterable(counting(pulled)).subscribe(recorder);
+
+            recorder.subscription.request(2);
+            Assertions.assertEquals(Arrays.asList(0, 1), recorder.values);
+            Assertions.assertTrue(pulled.get() <= 3);
+
+            recorder.subscription.request(1);
+            Assertions.assertEquals(Arrays.asList(0, 1, 2), recorder.values);
+            Assertions.assertTrue(pulled.get() <= 4);
+
+            recorder.subscription.cancel();
+            recorder.subscription.request(10);
+            Assertions.assertEquals(3, recorder.values.size());
+        }
+
+        @Test
+        void itServesRequestsMadeFromOnNext()
+        {
+            final List<String> values = new ArrayList<>();
+
+            JonadFlux.of(S_VAL_1, S_VAL_2, S_VAL_3).subscribe(new Recorder<String>()
+            {
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription)
+                {
+                    super.onSubscribe(subscription);
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(final String item)
+                {
+                    values.add(item);
+                    super.subscription.request(1);
+                }
+            });
+
+            Assertions.assertEquals(Arrays.asList(S_VAL_1, S_VAL_2, S_VAL_3), values);
+        }
+
+        @Test
+        void itCompletesOnceTheLastValueIsDelivered()
+        {
+            final Recorder<String> recorder = new Recorder<>();
+
+            JonadFlux.of(S_VAL_1).subscribe(recorder);
+            recorder.subscription.request(1);
+
+            Assertions.assertTrue(recorder.completed);
+        }
+
+        @Test
+        void itRejectsNonPositiveRequests()
+        {
+            final Recorder<String> recorder = new Recorder<>();
+
+            JonadFlux.of(S_VAL_1).subscribe(recorder);
+            recorder.subscription.request(0);
+
+            Assertions.assertTrue(recorder.error instanceof IllegalArgumentException);
+            Assertions.assertTrue(recorder.values.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Monad conversion tests")
+    class Conversion
+    {
+        @Test
+        void itPublishesAMonad()
+        {
+            Assertions.assertEquals(Collections.singletonList(S_VAL_1),
+                    Recorder.unbounded(JonadFlux.from(Jonad.of(S_VAL_1))).values);
+            Assertions.assertTrue(Recorder.unbounded(JonadFlux.from(Jonad.empty())).completed);
+            Assertions.assertEquals(EXCEPTION, Recorder.unbounded(JonadFlux.from(Jonad.failure(EXCEPTION))).error);
+            Assertions.assertEquals(EXCEPTION, Recorder.unbounded(JonadFlux.failure(EXCEPTION)).error);
+        }
+
+        @Test
+        void itReadsTheFirstValueWithoutPullingTheRest()
+        {
+            final AtomicInteger pulled = new AtomicInteger();
+
+            Assertions.assertEquals(Jonad.of(0), JonadFlux.fromIterable(counting(pulled)).first());
+            Assertions.assertEquals(1, pulled.get());
+            Assertions.assertEquals(Jonad.empty(), JonadFlux.empty().first());
+        }
+
+        @Test
+        void itReadsTheLastValue()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_3), JonadFlux.of(S_VAL_1, S_VAL_2, S_VAL_3).last());
+            Assertions.assertEquals(Jonad.empty(), JonadFlux.empty().last());
+            Assertions.assertTrue(JonadFlux.of(S_VAL_1, NOT_A_NUMBER).tryMap(Integer::valueOf).last().isFailure());
+        }
+    }
+
+    private static Iterable<Integer> counting(final AtomicInteger pulled)
+    {
+        return () -> new Iterator<Integer>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return true;
+            }
+
+            @Override
+            public Integer next()
+            {
+                return pulled.getAndIncrement();
+            }
+        };
+    }
+
+    /**
+     * Records the signals received from a publisher
+     *
+     * @param <T> the type parameter
+     */
+    private static class Recorder<T> implements Flow.Subscriber<T>
+    {
+        private final List<T> values = new ArrayList<>();
+
+        private Flow.Subscription subscription;
+
+        private Throwable error;
+
+        private boolean completed;
+
+        static <T> Recorder<T> unbounded(final Flow.Publisher<T> publisher)
+        {
+            final Recorder<T> recorder = new Recorder<>();
+
+            publisher.subscribe(recorder);
+            recorder.subscription.request(Long.MAX_VALUE);
+
+            return recorder;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription s)
+        {
+            this.subscription = s;
+        }
+
+        @Override
+        public void onNext(final T item)
+        {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable)
+        {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete()
+        {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.FieldLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.util.stream.Collectors;
+
+/**
+ * Pins the object layout of each Jonad implementation, so that
+ * adding a field, or a library annotation which adds one, fails
+ * the build rather than growing every Monad in production
+ */
+class JonadFootprintTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static long align(final long size)
+    {
+        final long alignment = VM.current().objectAlignment();
+
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    private static void assertFootprint(final Monad<?> m, final int references)
+    {
+        final ClassLayout layout = ClassLayout.parseInstance(m);
+        final long expected = align(VM.current().objectHeaderSize()
+                + (long) references * VM.current().sizeOfField("oop"));
+
+        Assertions.assertEquals(references, layout.fields().size(), () -> layout.fields().stream()
+                .map(FieldLayout::name)
+                .collect(Collectors.joining(", ", m.getClass().getName() + " has fields ", "")));
+        Assertions.assertEquals(expected, layout.instanceSize(), layout::toPrintable);
+    }
+
+    @Test
+    void itHoldsOnlyTheValueWhenPresent()
+    {
+        assertFootprint(Jonad.of(S_VAL_1), 1);
+    }
+
+    @Test
+    void itHoldsNothingWhenEmpty()
+    {
+        assertFootprint(Jonad.empty(), 0);
+    }
+
+    @Test
+    void itHoldsOnlyTheFailureWhenFailed()
+    {
+        assertFootprint(Jonad.failure(new StacklessException(S_VAL_1)), 1);
+    }
+}
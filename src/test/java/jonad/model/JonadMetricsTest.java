@@ -0,0 +1,120 @@
+package jonad.model;
+
+import jonad.model.MetricsRegistry.Operator;
+import jonad.model.MetricsRegistry.Outcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+class JonadMetricsTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String NOT_A_NUMBER = "x";
+
+    private static final String PIPELINE = "orders";
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    private final InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+
+    @BeforeEach
+    void install()
+    {
+        JonadMetrics.install(registry);
+    }
+
+    @AfterEach
+    void uninstall()
+    {
+        JonadMetrics.uninstall();
+    }
+
+    private long count(final Operator operator, final Outcome outcome)
+    {
+        return registry.count(JonadMetrics.DEFAULT_PIPELINE, operator, outcome);
+    }
+
+    @Nested
+    @DisplayName("Recording tests")
+    class Recording
+    {
+        @Test
+        void itRecordsTheOutcomeOfEachOperator()
+        {
+            Jonad.of(S_VAL_1).map(Integer::valueOf).filter(val -> val > 1).switchIfEmpty(Jonad.of(0));
+            Jonad.of(NOT_A_NUMBER).tryMap(Integer::valueOf).map(val -> val + 1);
+
+            Assertions.assertEquals(1, count(Operator.MAP, Outcome.PRESENT));
+            Assertions.assertEquals(1, count(Operator.MAP, Outcome.FAILURE));
+            Assertions.assertEquals(1, count(Operator.FILTER, Outcome.EMPTY));
+            Assertions.assertEquals(1, count(Operator.SWITCH_IF_EMPTY, Outcome.PRESENT));
+            Assertions.assertEquals(1, count(Operator.TRY_MAP, Outcome.FAILURE));
+        }
+
+        @Test
+        void itOnlyRecordsErrorOperatorsWhichHandleAFailure()
+        {
+            Jonad.of(S_VAL_1).onErrorMap(err -> S_VAL_1);
+            Jonad.failure(EXCEPTION).onErrorMapMatching(err -> false, err -> S_VAL_1);
+            Jonad.failure(EXCEPTION).onErrorFlatMap(err -> Jonad.empty());
+
+            Assertions.assertEquals(0, count(Operator.ON_ERROR_MAP, Outcome.PRESENT));
+            Assertions.assertEquals(1, count(Operator.ON_ERROR_FLAT_MAP, Outcome.EMPTY));
+        }
+
+        @Test
+        void itTagsOperatorsWithThePipeline()
+        {
+            final Monad<Integer> result = JonadMetrics.withPipeline(PIPELINE, () -> Jonad.of(S_VAL_1)
+                    .map(Integer::valueOf));
+
+            Jonad.of(S_VAL_1).map(Integer::valueOf);
+
+            Assertions.assertEquals(Jonad.of(1), result);
+            Assertions.assertEquals(1, registry.count(PIPELINE, Operator.MAP, Outcome.PRESENT));
+            Assertions.assertEquals(1, count(Operator.MAP, Outcome.PRESENT));
+        }
+
+        @Test
+        void itStopsRecordingOnceUninstalled()
+        {
+            JonadMetrics.uninstall();
+            Jonad.of(S_VAL_1).map(Integer::valueOf);
+
+            Assertions.assertEquals(Collections.emptyMap(), registry.snapshot());
+        }
+    }
+
+    @Nested
+    @DisplayName("In-memory registry tests")
+    class InMemory
+    {
+        @Test
+        void itCountsAcrossThreads()
+        {
+            IntStream.range(0, 10_000).parallel().forEach(i -> Jonad.of(i).filter(val -> val % 2 == 0));
+
+            Assertions.assertEquals(5_000, count(Operator.FILTER, Outcome.PRESENT));
+            Assertions.assertEquals(5_000, count(Operator.FILTER, Outcome.EMPTY));
+        }
+
+        @Test
+        void itSnapshotsTheNonZeroCounts()
+        {
+            JonadMetrics.withPipeline(PIPELINE, () -> Jonad.of(NOT_A_NUMBER).tryMap(Integer::valueOf));
+
+            Assertions.assertEquals(Collections.singletonMap("orders.try_map.failure", 1L), registry.snapshot());
+
+            registry.reset();
+
+            Assertions.assertEquals(0, registry.count(PIPELINE, Operator.TRY_MAP, Outcome.FAILURE));
+        }
+    }
+}
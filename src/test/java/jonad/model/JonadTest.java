@@ -58,6 +58,58 @@ class JonadTest
         {
             Assertions.assertEquals(Jonad.empty(), Jonad.orEmpty(null));
         }
+
+        @Test
+        void itReusesTheSharedEmptyInstance()
+        {
+            Assertions.assertSame(Jonad.empty(), Jonad.orEmpty(Optional.empty()));
+            Assertions.assertSame(Jonad.empty(), Jonad.orEmpty(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Shared instance tests")
+    class SharedInstances
+    {
+        @Test
+        void itSharesTheEmptyInstance()
+        {
+            Assertions.assertSame(Jonad.empty(), Jonad.empty());
+            Assertions.assertSame(Jonad.empty(), Jonad.of(null));
+        }
+
+        @Test
+        void itSharesTheBooleanInstances()
+        {
+            Assertions.assertSame(Jonad.TRUE, Jonad.ofBoolean(true));
+            Assertions.assertSame(Jonad.FALSE, Jonad.ofBoolean(false));
+            Assertions.assertEquals(Jonad.of(Boolean.TRUE), Jonad.TRUE);
+        }
+
+        @Test
+        void itDoesntAllocateOnTheEmptyPath()
+        {
+            final Monad<String> empty = Jonad.empty();
+
+            Assertions.assertSame(empty, empty.map(val -> S_VAL_2));
+            Assertions.assertSame(empty, empty.flatMap(val -> Jonad.of(S_VAL_2)));
+            Assertions.assertSame(empty, empty.filter(val -> true));
+            Assertions.assertSame(empty, empty.filterWhen(val -> Jonad.TRUE));
+            Assertions.assertSame(empty, Jonad.of(S_VAL_1).map(val -> null));
+            Assertions.assertSame(empty, Jonad.of(S_VAL_1).filter(val -> false));
+            Assertions.assertSame(empty, Jonad.of(S_VAL_1).filterWhen(val -> Jonad.FALSE));
+        }
+
+        @Test
+        void itReusesThePresentInstanceOnPassThrough()
+        {
+            final Monad<String> present = Jonad.of(S_VAL_1);
+
+            Assertions.assertSame(present, present.filter(val -> true));
+            Assertions.assertSame(present, present.filterWhen(val -> Jonad.TRUE));
+            Assertions.assertSame(present, present.switchIfEmpty(Jonad.of(S_VAL_2)));
+            Assertions.assertSame(present, present.defaultIfEmpty(S_VAL_2));
+        }
     }
 
     @Nested
@@ -395,7 +447,7 @@ class JonadTest
         {
             final Mutable<String> mutable = new MutableObject<>(S_VAL_1);
 
-            Assertions.assertEquals(Jonad.of(EXCEPTION), Jonad.of(EXCEPTION).doOnError(err -> mutable.setValue(S_VAL_2)));
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Jonad.failure(EXCEPTION).doOnError(err -> mutable.setValue(S_VAL_2)));
             Assertions.assertEquals(S_VAL_2, mutable.getValue());
         }
 
@@ -421,7 +473,7 @@ class JonadTest
         {
             final Mutable<String> mutable = new MutableObject<>(S_VAL_1);
 
-            Assertions.assertEquals(Jonad.of(EXCEPTION), Jonad.of(EXCEPTION)
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Jonad.failure(EXCEPTION)
                     .doOnError(Exception.class, err -> mutable.setValue(S_VAL_2)));
             Assertions.assertEquals(S_VAL_2, mutable.getValue());
         }
@@ -429,7 +481,7 @@ class JonadTest
         @Test
         void itDoesntCallFunctionWhenErrorPresentButClassDoesntMatch()
         {
-            Assertions.assertEquals(Jonad.of(EXCEPTION), Jonad.of(EXCEPTION)
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Jonad.failure(EXCEPTION)
                     .doOnError(RuntimeException.class, ERR_FAIL_IF_CALLED));
         }
 
@@ -455,7 +507,7 @@ class JonadTest
         {
             final Mutable<String> mutable = new MutableObject<>(S_VAL_1);
 
-            Assertions.assertEquals(Jonad.of(EXCEPTION), Jonad.of(EXCEPTION)
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Jonad.failure(EXCEPTION)
                     .doOnErrorMatching(throwable -> true, err -> mutable.setValue(S_VAL_2)));
             Assertions.assertEquals(S_VAL_2, mutable.getValue());
         }
@@ -463,7 +515,7 @@ class JonadTest
         @Test
         void itDoesntCallFunctionWhenErrorPresentButNotMatching()
         {
-            Assertions.assertEquals(Jonad.of(EXCEPTION), Jonad.of(EXCEPTION)
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Jonad.failure(EXCEPTION)
                     .doOnErrorMatching(throwable -> false, ERR_FAIL_IF_CALLED));
         }
 
@@ -489,7 +541,7 @@ class JonadTest
         @Test
         void itMapsWhenErrorPresent()
         {
-            Assertions.assertEquals(Jonad.of(S_VAL_2), Jonad.of(EXCEPTION).onErrorMap(err -> S_VAL_2));
+            Assertions.assertEquals(Jonad.of(S_VAL_2), Jonad.failure(EXCEPTION).onErrorMap(err -> S_VAL_2));
         }
 
         @Test
@@ -512,7 +564,7 @@ class JonadTest
         @Test
         void itMapsWhenErrorPresentAndMatching()
         {
-            Assertions.assertEquals(Jonad.of(S_VAL_2), Jonad.of(EXCEPTION)
+            Assertions.assertEquals(Jonad.of(S_VAL_2), Jonad.failure(EXCEPTION)
                     .onErrorMapMatching(e -> true, err -> S_VAL_2));
         }
 
@@ -520,7 +572,7 @@ class JonadTest
         @Test
         void itDoesntMapWhenErrorPresentButNotMatching()
         {
-            Assertions.assertEquals(Jonad.of(EXCEPTION), Jonad.of(EXCEPTION)
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Jonad.failure(EXCEPTION)
                     .onErrorMapMatching(e -> false, err -> S_VAL_2));
         }
 
@@ -543,7 +595,7 @@ class JonadTest
         @Test
         void itMapsWhenErrorPresent()
         {
-            Assertions.assertEquals(Jonad.of(S_VAL_2), Jonad.of(EXCEPTION).onErrorFlatMap(err -> Jonad.of(S_VAL_2)));
+            Assertions.assertEquals(Jonad.of(S_VAL_2), Jonad.failure(EXCEPTION).onErrorFlatMap(err -> Jonad.of(S_VAL_2)));
         }
 
         @Test
@@ -566,14 +618,14 @@ class JonadTest
         @Test
         void itMapsWhenErrorPresentAndMatching()
         {
-            Assertions.assertEquals(Jonad.of(S_VAL_2), Jonad.of(EXCEPTION)
+            Assertions.assertEquals(Jonad.of(S_VAL_2), Jonad.failure(EXCEPTION)
                     .onErrorFlatMapMatching(e -> true, err -> Jonad.of(S_VAL_2)));
         }
 
         @Test
         void itDoesntMapWhenErrorPresentButNotMatching()
         {
-            Assertions.assertEquals(Jonad.of(EXCEPTION), Jonad.of(EXCEPTION)
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Jonad.failure(EXCEPTION)
                     .onErrorFlatMapMatching(e -> false, err -> Jonad.of(S_VAL_2)));
         }
 
@@ -603,9 +655,14 @@ class JonadTest
         }
 
         @Test
-        void itDoesntMapWhenErrorThrownByMappingFunction()
+        void itFailsWhenErrorThrownByMappingFunction()
         {
-            Assertions.assertEquals(Jonad.of(S_VAL_1), Jonad.of(S_VAL_1).tryMap(val -> throwsWhenCalled()));
+            final Monad<String> result = Jonad.of(S_VAL_1).tryMap(val -> throwsWhenCalled());
+
+            Assertions.assertTrue(result.isFailure());
+            Assertions.assertFalse(result.isEmpty());
+            Assertions.assertNull(result.getOrNull());
+            Assertions.assertTrue(result.getFailureOrNull() instanceof RuntimeException);
         }
 
         @Test
@@ -662,6 +719,93 @@ class JonadTest
         }
     }
 
+    @Nested
+    @DisplayName("Equality tests")
+    class Equality
+    {
+        @Test
+        void itComparesPresentValues()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_1), Jonad.of(S_VAL_1));
+            Assertions.assertEquals(Jonad.of(S_VAL_1).hashCode(), Jonad.of(S_VAL_1).hashCode());
+            Assertions.assertNotEquals(Jonad.of(S_VAL_1), Jonad.of(S_VAL_2));
+        }
+
+        @Test
+        void itComparesFailures()
+        {
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Jonad.failure(EXCEPTION));
+            Assertions.assertEquals(Jonad.failure(EXCEPTION).hashCode(), Jonad.failure(EXCEPTION).hashCode());
+            Assertions.assertNotEquals(Jonad.failure(EXCEPTION), Jonad.failure(new Exception("")));
+        }
+
+        @Test
+        void itDoesntEquateDifferentStates()
+        {
+            Assertions.assertNotEquals(Jonad.of(EXCEPTION), Jonad.failure(EXCEPTION));
+            Assertions.assertNotEquals(Jonad.empty(), Jonad.failure(EXCEPTION));
+            Assertions.assertNotEquals(Jonad.empty(), Jonad.of(S_VAL_1));
+        }
+
+        @Test
+        void itDescribesEachState()
+        {
+            Assertions.assertEquals("Jonad(val=1, failure=null)", Jonad.of(S_VAL_1).toString());
+            Assertions.assertEquals("Jonad(val=null, failure=null)", Jonad.empty().toString());
+            Assertions.assertEquals("Jonad(val=null, failure=" + EXCEPTION + ")", Jonad.failure(EXCEPTION).toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure tests")
+    class FailureTests
+    {
+        @Test
+        void itIsNotEmpty()
+        {
+            Assertions.assertTrue(Jonad.failure(EXCEPTION).isFailure());
+            Assertions.assertFalse(Jonad.failure(EXCEPTION).isEmpty());
+            Assertions.assertEquals(EXCEPTION, Jonad.failure(EXCEPTION).getFailureOrNull());
+        }
+
+        @Test
+        void itTreatsAThrowableValueAsAValue()
+        {
+            Assertions.assertFalse(Jonad.of(EXCEPTION).isFailure());
+            Assertions.assertEquals(EXCEPTION, Jonad.of(EXCEPTION).getOrNull());
+            Jonad.of(EXCEPTION).doOnError(ERR_FAIL_IF_CALLED);
+        }
+
+        @Test
+        void itPropagatesThroughValueOperators()
+        {
+            final Monad<String> failure = Jonad.failure(EXCEPTION);
+
+            Assertions.assertEquals(failure, failure.map(val -> S_VAL_2));
+            Assertions.assertEquals(failure, failure.filter(val -> true));
+            Assertions.assertEquals(failure, failure.flatMap(val -> Jonad.of(S_VAL_2)));
+            Assertions.assertEquals(failure, failure.switchIfEmpty(Jonad.of(S_VAL_2)));
+            Assertions.assertEquals(failure, failure.defaultIfEmpty(S_VAL_2));
+            failure.doIfEmpty(FAIL_IF_CALLED).doIfPresent(FAIL_IF_CALLED);
+        }
+
+        @Test
+        void itCreatesStacklessFailuresFromAMessage()
+        {
+            final Throwable failure = Jonad.failure(S_VAL_1).getFailureOrNull();
+
+            Assertions.assertTrue(failure instanceof StacklessException);
+            Assertions.assertEquals(S_VAL_1, failure.getMessage());
+            Assertions.assertEquals(0, failure.getStackTrace().length);
+        }
+
+        @Test
+        void itRejectsANullFailure()
+        {
+            Assertions.assertThrows(NullPointerException.class, () -> Jonad.failure((Throwable) null));
+        }
+    }
+
     private String throwsWhenCalled()
     {
         throw new RuntimeException("");
@@ -0,0 +1,119 @@
+package jonad.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+class JonadTraceTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final String NOT_A_NUMBER = "x";
+
+    private static String trailOf(final Monad<?> m)
+    {
+        final IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                () -> m.orElseThrow(IllegalStateException::new));
+
+        Assertions.assertEquals(1, e.getSuppressed().length);
+        Assertions.assertTrue(e.getSuppressed()[0] instanceof JonadTrace.Trail);
+
+        return e.getSuppressed()[0].getMessage();
+    }
+
+    @Nested
+    @DisplayName("Enabled tests")
+    class Enabled
+    {
+        @BeforeEach
+        void enable()
+        {
+            JonadTrace.enable();
+        }
+
+        @AfterEach
+        void disable()
+        {
+            JonadTrace.disable();
+        }
+
+        @Test
+        void itNamesTheStageWhichProducedEmpty()
+        {
+            final String trail = trailOf(Jonad.of(S_VAL_1)
+                    .map(Integer::valueOf)
+                    .filter(val -> val > 1)
+                    .map(val -> val + 1));
+
+            Assertions.assertTrue(trail.startsWith("empty first produced by filter at "
+                    + JonadTraceTest.class.getName()), trail);
+            Assertions.assertTrue(trail.contains("of at "), trail);
+            Assertions.assertTrue(trail.contains("map at "), trail);
+        }
+
+        @Test
+        void itNamesTheStageWhichProducedTheFinalFailure()
+        {
+            final String trail = trailOf(Jonad.<String>empty()
+                    .switchIfEmpty(Jonad.of(NOT_A_NUMBER))
+                    .tryMap(Integer::valueOf)
+                    .map(val -> val + 1));
+
+            Assertions.assertTrue(trail.startsWith("failure first produced by tryMap at "), trail);
+            Assertions.assertTrue(trail.contains("empty at "), trail);
+        }
+
+        @Test
+        void itBehavesLikeTheUntracedMonad()
+        {
+            final Monad<Integer> m = Jonad.of(S_VAL_1).flatMap(val -> Jonad.of(val + S_VAL_2)).map(Integer::valueOf);
+
+            Assertions.assertTrue(m instanceof TracedJonad);
+            Assertions.assertEquals(Jonad.of(12), m);
+            Assertions.assertEquals(12, m.orElseThrow(IllegalStateException::new));
+            Assertions.assertTrue(Jonad.of(NOT_A_NUMBER).tryMap(Integer::valueOf).isFailure());
+        }
+
+        @Test
+        void itIsOnlyEqualToOtherTracedMonads()
+        {
+            final Monad<String> traced = Jonad.of(S_VAL_1);
+
+            JonadTrace.disable();
+
+            final Monad<String> plain = Jonad.of(S_VAL_1);
+
+            Assertions.assertTrue(traced instanceof TracedJonad);
+            Assertions.assertFalse(plain instanceof TracedJonad);
+            Assertions.assertNotEquals(traced, plain);
+            Assertions.assertNotEquals(plain, traced);
+            Assertions.assertFalse(new HashSet<>(Collections.singleton(traced)).contains(plain));
+            Assertions.assertFalse(new HashSet<>(Collections.singleton(plain)).contains(traced));
+        }
+    }
+
+    @Nested
+    @DisplayName("Disabled tests")
+    class Disabled
+    {
+        @Test
+        void itLeavesMonadsUntracedByDefault()
+        {
+            Assertions.assertFalse(JonadTrace.isEnabled());
+            Assertions.assertFalse(Jonad.of(S_VAL_1).map(Integer::valueOf) instanceof TracedJonad);
+
+            final IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                    () -> Jonad.empty().orElseThrow(IllegalStateException::new));
+
+            Assertions.assertEquals(0, e.getSuppressed().length);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package jonad.model;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+class LazyJonadTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final Integer I_VAL_1 = 1;
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    @Nested
+    @DisplayName("Deferral tests")
+    class Deferral
+    {
+        @Test
+        void itDoesntRunTheChainUntilATerminalCall()
+        {
+            final MutableInt calls = new MutableInt();
+
+            final Monad<String> lazy = LazyJonad.fromSupplier(() ->
+            {
+                calls.increment();
+                return S_VAL_1;
+            })
+                    .map(val ->
+                    {
+                        calls.increment();
+                        return val + S_VAL_2;
+                    })
+                    .filter(val ->
+                    {
+                        calls.increment();
+                        return true;
+                    });
+
+            Assertions.assertEquals(0, calls.intValue());
+            Assertions.assertEquals(S_VAL_1 + S_VAL_2, lazy.getOrNull());
+            Assertions.assertEquals(3, calls.intValue());
+        }
+
+        @Test
+        void itEvaluatesAgainOnEveryTerminalCall()
+        {
+            final MutableInt calls = new MutableInt();
+
+            final Monad<String> lazy = LazyJonad.of(S_VAL_1).doIfPresent(val -> calls.increment());
+
+            Assertions.assertFalse(lazy.isEmpty());
+            Assertions.assertEquals(S_VAL_1, lazy.getOrNull());
+            Assertions.assertEquals(2, calls.intValue());
+        }
+
+        @Test
+        void itSkipsStagesAfterAnEmptyStage()
+        {
+            Assertions.assertTrue(LazyJonad.of(S_VAL_1)
+                    .filter(val -> false)
+                    .map(val ->
+                    {
+                        Assertions.fail("Invoked map after empty");
+                        return val;
+                    })
+                    .isEmpty());
+        }
+
+        @Test
+        void itReadsAnInnerDeferredMonadOnce()
+        {
+            final MutableInt calls = new MutableInt();
+
+            final Monad<String> inner = LazyJonad.fromSupplier(() ->
+            {
+                calls.increment();
+                return S_VAL_2;
+            });
+
+            Assertions.assertEquals(S_VAL_2, LazyJonad.of(S_VAL_1).flatMap(val -> inner).getOrNull());
+            Assertions.assertEquals(S_VAL_2, LazyJonad.from(inner).getOrNull());
+            Assertions.assertEquals(S_VAL_2, LazyJonad.empty().switchIfEmpty(inner).getOrNull());
+            Assertions.assertEquals(S_VAL_2, TrampolinedJonad.of(S_VAL_1).flatMap(val -> inner).getOrNull());
+            Assertions.assertEquals(S_VAL_2, MonadPipeline.<String>start().applyTo(inner).getOrNull());
+            Assertions.assertEquals(5, calls.intValue());
+        }
+
+        @Test
+        void itEvaluatesToAJonad()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_2), LazyJonad.of(S_VAL_1).map(val -> S_VAL_2).toJonad());
+            Assertions.assertEquals(Jonad.empty(), LazyJonad.empty().toJonad());
+            Assertions.assertEquals(Jonad.of(S_VAL_1), LazyJonad.from(Jonad.of(S_VAL_1)).toJonad());
+        }
+    }
+
+    @Nested
+    @DisplayName("Operator tests")
+    class Operators
+    {
+        @Test
+        void itMaps()
+        {
+            Assertions.assertEquals(I_VAL_1, LazyJonad.of(S_VAL_1).map(Integer::valueOf).getOrNull());
+            Assertions.assertNull(LazyJonad.of(S_VAL_1).map(val -> null).getOrNull());
+            Assertions.assertTrue(LazyJonad.<String>empty().map(Integer::valueOf).isEmpty());
+        }
+
+        @Test
+        void itFlatMaps()
+        {
+            Assertions.assertEquals(S_VAL_2, LazyJonad.of(S_VAL_1).flatMap(val -> Jonad.of(S_VAL_2)).getOrNull());
+            Assertions.assertEquals(S_VAL_2, LazyJonad.of(S_VAL_1).flatMap(val -> LazyJonad.of(S_VAL_2)).getOrNull());
+            Assertions.assertTrue(LazyJonad.of(S_VAL_1).flatMap(val -> Jonad.empty()).isEmpty());
+        }
+
+        @Test
+        void itFilters()
+        {
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).filter(val -> true).getOrNull());
+            Assertions.assertTrue(LazyJonad.of(S_VAL_1).filter(val -> false).isEmpty());
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).filterWhen(val -> Jonad.TRUE).getOrNull());
+            Assertions.assertTrue(LazyJonad.of(S_VAL_1).filterWhen(val -> Jonad.FALSE).isEmpty());
+            Assertions.assertTrue(LazyJonad.of(S_VAL_1).filterWhen(val -> Jonad.empty()).isEmpty());
+        }
+
+        @Test
+        void itTryMaps()
+        {
+            Assertions.assertEquals(I_VAL_1, LazyJonad.of(S_VAL_1).tryMap(Integer::valueOf).getOrNull());
+            Assertions.assertTrue(LazyJonad.of("x").tryMap(Integer::valueOf).isFailure());
+            Assertions.assertTrue(LazyJonad.of("x").tryMap(Integer::valueOf).getFailureOrNull()
+                    instanceof NumberFormatException);
+        }
+
+        @Test
+        void itSwitchesIfEmpty()
+        {
+            Assertions.assertEquals(S_VAL_2, LazyJonad.empty().switchIfEmpty(Jonad.of(S_VAL_2)).getOrNull());
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).switchIfEmpty(Jonad.of(S_VAL_2)).getOrNull());
+            Assertions.assertEquals(S_VAL_2, LazyJonad.empty().defaultIfEmpty(S_VAL_2).getOrNull());
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).defaultIfEmpty(S_VAL_2).getOrNull());
+        }
+
+        @Test
+        void itRunsSideEffects()
+        {
+            final MutableInt calls = new MutableInt();
+
+            LazyJonad.empty().doIfEmpty(val -> calls.increment()).doIfPresent(val -> Assertions.fail()).isEmpty();
+            LazyJonad.of(S_VAL_1).doIfPresent(val -> calls.increment()).doIfEmpty(val -> Assertions.fail()).isEmpty();
+
+            Assertions.assertEquals(2, calls.intValue());
+        }
+
+        @Test
+        void itHandlesErrors()
+        {
+            final MutableInt calls = new MutableInt();
+
+            LazyJonad.failure(EXCEPTION)
+                    .doOnError(err -> calls.increment())
+                    .doOnError(Exception.class, err -> calls.increment())
+                    .doOnError(RuntimeException.class, err -> Assertions.fail())
+                    .doOnErrorMatching(err -> true, err -> calls.increment())
+                    .isEmpty();
+            LazyJonad.of(S_VAL_1).doOnError(err -> Assertions.fail()).isEmpty();
+
+            Assertions.assertEquals(3, calls.intValue());
+        }
+
+        @Test
+        void itMapsErrors()
+        {
+            Assertions.assertEquals(S_VAL_2, LazyJonad.failure(EXCEPTION).onErrorMap(err -> S_VAL_2).getOrNull());
+            Assertions.assertEquals(S_VAL_2, LazyJonad.failure(EXCEPTION)
+                    .onErrorMapMatching(err -> true, err -> S_VAL_2).getOrNull());
+            Assertions.assertEquals(EXCEPTION, LazyJonad.failure(EXCEPTION)
+                    .onErrorMapMatching(err -> false, err -> S_VAL_2).getFailureOrNull());
+            Assertions.assertEquals(S_VAL_2, LazyJonad.failure(EXCEPTION)
+                    .onErrorFlatMap(err -> Jonad.of(S_VAL_2)).getOrNull());
+            Assertions.assertEquals(S_VAL_2, LazyJonad.failure(EXCEPTION)
+                    .onErrorFlatMapMatching(err -> true, err -> Jonad.of(S_VAL_2)).getOrNull());
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).onErrorMap(err -> S_VAL_2).getOrNull());
+        }
+    }
+
+    @Nested
+    @DisplayName("Terminal tests")
+    class Terminal
+    {
+        @Test
+        void itGetsValues()
+        {
+            Assertions.assertEquals(Optional.of(S_VAL_1), LazyJonad.of(S_VAL_1).toOptional());
+            Assertions.assertEquals(Optional.empty(), LazyJonad.empty().toOptional());
+            Assertions.assertEquals(S_VAL_2, LazyJonad.empty().getOrDefault(S_VAL_2));
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).getOrDefault(S_VAL_2));
+            Assertions.assertEquals(S_VAL_2, LazyJonad.empty().orElseGet(() -> S_VAL_2));
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).orElseGet(() -> S_VAL_2));
+        }
+
+        @Test
+        void itStreams()
+        {
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).stream().collect(Collectors.joining()));
+            Assertions.assertEquals(0, LazyJonad.empty().stream().count());
+        }
+
+        @Test
+        void itThrowsWhenValueNotPresent() throws Exception
+        {
+            Assertions.assertEquals(S_VAL_1, LazyJonad.of(S_VAL_1).orElseThrow(() -> EXCEPTION));
+            Assertions.assertThrows(Exception.class, () -> LazyJonad.empty().orElseThrow(() -> EXCEPTION));
+        }
+    }
+}
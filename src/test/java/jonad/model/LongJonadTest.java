@@ -0,0 +1,213 @@
+package jonad.model;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+
+class LongJonadTest
+{
+    private static final long VAL_1 = 1;
+
+    private static final long VAL_2 = 2;
+
+    private static final long LARGE_VAL = 100_000;
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    @Nested
+    @DisplayName("Creation tests")
+    class Creation
+    {
+        @Test
+        void itCreatesFromValue()
+        {
+            Assertions.assertEquals(VAL_1, LongJonad.of(VAL_1).getOrDefault(VAL_2));
+        }
+
+        @Test
+        void itCachesSmallValues()
+        {
+            Assertions.assertSame(LongJonad.of(VAL_1), LongJonad.of(VAL_1));
+            Assertions.assertEquals(LongJonad.of(LARGE_VAL), LongJonad.of(LARGE_VAL));
+        }
+
+        @Test
+        void itCreatesEmptyFromNull()
+        {
+            Assertions.assertSame(LongJonad.empty(), LongJonad.orEmpty((Long) null));
+            Assertions.assertEquals(LongJonad.of(VAL_1), LongJonad.orEmpty(Long.valueOf(VAL_1)));
+        }
+
+        @Test
+        void itCreatesFromOptional()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_1), LongJonad.orEmpty(OptionalLong.of(VAL_1)));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.orEmpty(OptionalLong.empty()));
+        }
+
+        @Test
+        void itCreatesFromSupplier()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_1), LongJonad.fromSupplier(() -> VAL_1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Map tests")
+    class Map
+    {
+        @Test
+        void itMaps()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_2), LongJonad.of(VAL_1).map(val -> val + 1));
+        }
+
+        @Test
+        void itDoesntMapWhenNoValuePresent()
+        {
+            Assertions.assertSame(LongJonad.empty(), LongJonad.empty().map(val -> VAL_2));
+        }
+
+        @Test
+        void itMapsToOtherPrimitives()
+        {
+            Assertions.assertEquals(IntJonad.of((int) VAL_2), LongJonad.of(VAL_1).mapToInt(val -> (int) val + 1));
+            Assertions.assertEquals(DoubleJonad.of(VAL_2), LongJonad.of(VAL_1).mapToDouble(val -> val + 1d));
+            Assertions.assertEquals(IntJonad.empty(), LongJonad.empty().mapToInt(val -> (int) val + 1));
+            Assertions.assertEquals(DoubleJonad.empty(), LongJonad.empty().mapToDouble(val -> val + 1d));
+        }
+
+        @Test
+        void itMapsToObjects()
+        {
+            Assertions.assertEquals(Jonad.of("1"), LongJonad.of(VAL_1).mapToObj(String::valueOf));
+            Assertions.assertEquals(Jonad.empty(), LongJonad.empty().mapToObj(String::valueOf));
+        }
+
+        @Test
+        void itFlatMaps()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_2), LongJonad.of(VAL_1).flatMap(val -> LongJonad.of(VAL_2)));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.of(VAL_1).flatMap(val -> LongJonad.empty()));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.empty().flatMap(val -> LongJonad.of(VAL_2)));
+        }
+
+        @Test
+        void itTryMaps()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_2), LongJonad.of(VAL_1).tryMap(val -> VAL_2));
+            Assertions.assertEquals(LongJonad.of(VAL_1), LongJonad.of(VAL_1).tryMap(val -> val / 0));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.empty().tryMap(val -> VAL_2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter tests")
+    class Filter
+    {
+        @Test
+        void itFilters()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_1), LongJonad.of(VAL_1).filter(val -> val == VAL_1));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.of(VAL_1).filter(val -> val == VAL_2));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.empty().filter(val -> true));
+        }
+
+        @Test
+        void itFiltersWhen()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_1), LongJonad.of(VAL_1).filterWhen(val -> Jonad.TRUE));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.of(VAL_1).filterWhen(val -> Jonad.FALSE));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.of(VAL_1).filterWhen(val -> Jonad.empty()));
+            Assertions.assertEquals(LongJonad.empty(), LongJonad.empty().filterWhen(val -> Jonad.TRUE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Empty tests")
+    class EmptyTests
+    {
+        @Test
+        void itSwitchesIfEmpty()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_2), LongJonad.empty().switchIfEmpty(LongJonad.of(VAL_2)));
+            Assertions.assertEquals(LongJonad.of(VAL_1), LongJonad.of(VAL_1).switchIfEmpty(LongJonad.of(VAL_2)));
+        }
+
+        @Test
+        void itDefaultsIfEmpty()
+        {
+            Assertions.assertEquals(LongJonad.of(VAL_2), LongJonad.empty().defaultIfEmpty(VAL_2));
+            Assertions.assertEquals(LongJonad.of(VAL_1), LongJonad.of(VAL_1).defaultIfEmpty(VAL_2));
+        }
+
+        @Test
+        void itRunsSideEffects()
+        {
+            final MutableLong mutable = new MutableLong();
+
+            LongJonad.empty().doIfEmpty(mutable::increment).doIfPresent(val -> Assertions.fail());
+            LongJonad.of(VAL_2).doIfPresent(mutable::add).doIfEmpty(Assertions::fail);
+
+            Assertions.assertEquals(VAL_1 + VAL_2, mutable.longValue());
+        }
+
+        @Test
+        void itIsEmpty()
+        {
+            Assertions.assertTrue(LongJonad.empty().isEmpty());
+            Assertions.assertFalse(LongJonad.of(VAL_1).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Terminal tests")
+    class Terminal
+    {
+        @Test
+        void itGetsOrDefault()
+        {
+            Assertions.assertEquals(VAL_1, LongJonad.of(VAL_1).getOrDefault(VAL_2));
+            Assertions.assertEquals(VAL_2, LongJonad.empty().getOrDefault(VAL_2));
+        }
+
+        @Test
+        void itGetsOrElse()
+        {
+            Assertions.assertEquals(VAL_1, LongJonad.of(VAL_1).orElseGet(() -> VAL_2));
+            Assertions.assertEquals(VAL_2, LongJonad.empty().orElseGet(() -> VAL_2));
+        }
+
+        @Test
+        void itThrowsWhenValueNotPresent() throws Exception
+        {
+            Assertions.assertEquals(VAL_1, LongJonad.of(VAL_1).orElseThrow(() -> EXCEPTION));
+            Assertions.assertThrows(Exception.class, () -> LongJonad.empty().orElseThrow(() -> EXCEPTION));
+        }
+
+        @Test
+        void itTransformsToOptional()
+        {
+            Assertions.assertEquals(OptionalLong.of(VAL_1), LongJonad.of(VAL_1).toOptional());
+            Assertions.assertEquals(OptionalLong.empty(), LongJonad.empty().toOptional());
+        }
+
+        @Test
+        void itTransformsToStream()
+        {
+            Assertions.assertArrayEquals(new long[] {VAL_1}, LongJonad.of(VAL_1).stream().toArray());
+            Assertions.assertEquals(0, LongJonad.empty().stream().count());
+        }
+
+        @Test
+        void itBoxes()
+        {
+            Assertions.assertEquals(Jonad.of(VAL_1), LongJonad.of(VAL_1).boxed());
+            Assertions.assertEquals(Jonad.empty(), LongJonad.empty().boxed());
+        }
+    }
+}
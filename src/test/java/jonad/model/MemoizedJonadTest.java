@@ -0,0 +1,241 @@
+package jonad.model;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class MemoizedJonadTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final int THREADS = 8;
+
+    private static final RuntimeException EXCEPTION = new RuntimeException("");
+
+    private static final IOException CHECKED = new IOException("");
+
+    @Nested
+    @DisplayName("Memoization tests")
+    class Memoization
+    {
+        @Test
+        void itDoesntRunTheSupplierUntilRead()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+
+            final MemoizedJonad<String> memo = MemoizedJonad.fromSupplier(() ->
+            {
+                calls.incrementAndGet();
+                return S_VAL_1;
+            });
+
+            Assertions.assertEquals(0, calls.get());
+            Assertions.assertFalse(memo.isMemoized());
+            Assertions.assertEquals(S_VAL_1, memo.getOrNull());
+            Assertions.assertEquals(S_VAL_1 + S_VAL_2, memo.map(val -> val + S_VAL_2).getOrNull());
+            Assertions.assertTrue(memo.isMemoized());
+            Assertions.assertEquals(1, calls.get());
+        }
+
+        @Test
+        void itReturnsTheSameMonadOnEveryRead()
+        {
+            final MemoizedJonad<String> memo = MemoizedJonad.fromSupplier(() -> S_VAL_1);
+
+            Assertions.assertSame(memo.toJonad(), memo.toJonad());
+        }
+
+        @Test
+        void itRunsTheSupplierOnceUnderContention() throws Exception
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final CountDownLatch start = new CountDownLatch(1);
+            final MemoizedJonad<String> memo = MemoizedJonad.fromSupplier(() ->
+            {
+                calls.incrementAndGet();
+                sleep();
+                return S_VAL_1;
+            });
+            final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+            try
+            {
+                final List<Future<String>> reads = new ArrayList<>();
+
+                for (int i = 0; i < THREADS; i++)
+                {
+                    reads.add(executor.submit(() ->
+                    {
+                        start.await();
+                        return memo.getOrNull();
+                    }));
+                }
+
+                start.countDown();
+
+                for (final Future<String> read : reads)
+                {
+                    Assertions.assertEquals(S_VAL_1, read.get(5, TimeUnit.SECONDS));
+                }
+
+                Assertions.assertEquals(1, calls.get());
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void itRejectsReadsFromItsOwnSupplier()
+        {
+            final AtomicReference<MemoizedJonad<String>> self = new AtomicReference<>();
+
+            self.set(MemoizedJonad.fromSupplier(() -> self.get().getOrNull()));
+
+            Assertions.assertEquals(IllegalStateException.class, self.get().getFailureOrNull().getClass());
+        }
+    }
+
+    @Nested
+    @DisplayName("Policy tests")
+    class Policies
+    {
+        @Test
+        void itKeepsEmptyAndFailedResultsByDefault()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+
+            final MemoizedJonad<String> empty = MemoizedJonad.fromSupplier(() ->
+            {
+                calls.incrementAndGet();
+                return null;
+            });
+            final MemoizedJonad<String> failed = MemoizedJonad.fromSupplier(() ->
+            {
+                calls.incrementAndGet();
+                throw EXCEPTION;
+            });
+
+            Assertions.assertTrue(empty.isEmpty());
+            Assertions.assertTrue(empty.isEmpty());
+            Assertions.assertEquals(EXCEPTION, failed.getFailureOrNull());
+            Assertions.assertEquals(EXCEPTION, failed.getFailureOrNull());
+            Assertions.assertEquals(2, calls.get());
+        }
+
+        @Test
+        void itRetriesFailuresWhenKeepingPresentOrEmpty()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+
+            final MemoizedJonad<String> memo = MemoizedJonad.fromSupplier(() ->
+            {
+                if (calls.incrementAndGet() == 1)
+                {
+                    throw EXCEPTION;
+                }
+
+                return null;
+            }, MemoizedJonad.Policy.PRESENT_OR_EMPTY);
+
+            Assertions.assertTrue(memo.isFailure());
+            Assertions.assertFalse(memo.isMemoized());
+            Assertions.assertTrue(memo.isEmpty());
+            Assertions.assertTrue(memo.isEmpty());
+            Assertions.assertEquals(2, calls.get());
+        }
+
+        @Test
+        void itRetriesEmptyResultsWhenKeepingPresentOnly()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+
+            final MemoizedJonad<String> memo = MemoizedJonad.fromSupplier(() ->
+                    calls.incrementAndGet() == 1 ? null : S_VAL_1, MemoizedJonad.Policy.PRESENT_ONLY);
+
+            Assertions.assertTrue(memo.isEmpty());
+            Assertions.assertEquals(S_VAL_1, memo.getOrNull());
+            Assertions.assertEquals(S_VAL_1, memo.getOrNull());
+            Assertions.assertEquals(2, calls.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Error tests")
+    class Errors
+    {
+        @Test
+        void itDoesntKeepAnError()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+
+            final MemoizedJonad<String> memo = MemoizedJonad.fromSupplier(() ->
+            {
+                if (calls.incrementAndGet() == 1)
+                {
+                    throw new AssertionError();
+                }
+
+                return S_VAL_1;
+            });
+
+            Assertions.assertThrows(AssertionError.class, memo::getOrNull);
+            Assertions.assertEquals(S_VAL_1, memo.getOrNull());
+        }
+
+        @Test
+        void itFailsWithACheckedExceptionThrownSneakily()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+
+            final MemoizedJonad<String> memo = MemoizedJonad.fromSupplier(() ->
+            {
+                if (calls.incrementAndGet() == 1)
+                {
+                    throw sneaky(CHECKED);
+                }
+
+                return S_VAL_1;
+            }, MemoizedJonad.Policy.PRESENT_OR_EMPTY);
+
+            Assertions.assertEquals(CHECKED, memo.getFailureOrNull());
+            Assertions.assertEquals(S_VAL_1, Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> memo.getOrNull()));
+        }
+    }
+
+    @SneakyThrows
+    private static RuntimeException sneaky(final Exception e)
+    {
+        throw e;
+    }
+
+    private static void sleep()
+    {
+        try
+        {
+            Thread.sleep(50);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
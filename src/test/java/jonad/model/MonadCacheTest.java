@@ -0,0 +1,257 @@
+package jonad.model;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MonadCacheTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final String NOT_A_NUMBER = "x";
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private static final RuntimeException EXCEPTION = new IllegalStateException("");
+
+    private static final IOException CHECKED = new IOException("");
+
+    @SneakyThrows
+    private static RuntimeException sneaky(final Exception e)
+    {
+        throw e;
+    }
+
+    @Nested
+    @DisplayName("Lookup tests")
+    class Lookup
+    {
+        @Test
+        void itCallsTheFunctionOncePerKey()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final MonadCache<String, Integer> cache = MonadCache.mapping(val ->
+            {
+                calls.incrementAndGet();
+                return Integer.valueOf(val);
+            }, 10);
+
+            Assertions.assertEquals(Jonad.of(1), Jonad.of(S_VAL_1).flatMap(cache));
+            Assertions.assertEquals(Jonad.of(1), Jonad.of(S_VAL_1).flatMap(cache));
+            Assertions.assertEquals(Jonad.of(2), Jonad.of(S_VAL_2).flatMap(cache));
+            Assertions.assertEquals(2, calls.get());
+            Assertions.assertEquals(new MonadCacheStats(1, 2, 0), cache.stats());
+        }
+
+        @Test
+        void itCachesEmptyResults()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final MonadCache<String, Integer> cache = MonadCache.flatMapping(val ->
+            {
+                calls.incrementAndGet();
+                return Jonad.empty();
+            }, 10);
+
+            Assertions.assertEquals(Jonad.empty(), cache.apply(S_VAL_1));
+            Assertions.assertEquals(Jonad.empty(), cache.apply(S_VAL_1));
+            Assertions.assertEquals(1, calls.get());
+        }
+
+        @Test
+        void itLoadsAgainAfterAFailureOrAnException()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final MonadCache<String, Integer> tried = MonadCache.flatMapping(val ->
+            {
+                calls.incrementAndGet();
+                return Jonad.of(val).tryMap(Integer::valueOf);
+            }, 10);
+            final MonadCache<String, Integer> thrown = MonadCache.mapping(val ->
+            {
+                calls.incrementAndGet();
+                throw EXCEPTION;
+            }, 10);
+
+            Assertions.assertTrue(tried.apply(NOT_A_NUMBER).isFailure());
+            Assertions.assertTrue(tried.apply(NOT_A_NUMBER).isFailure());
+            Assertions.assertSame(EXCEPTION, Assertions.assertThrows(IllegalStateException.class,
+                    () -> thrown.apply(S_VAL_1)));
+            Assertions.assertThrows(IllegalStateException.class, () -> thrown.apply(S_VAL_1));
+            Assertions.assertEquals(4, calls.get());
+            Assertions.assertEquals(0, thrown.size());
+        }
+
+        @Test
+        void itLoadsAgainAfterACheckedExceptionThrownSneakily()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final MonadCache<String, String> cache = MonadCache.mapping(val ->
+            {
+                if (calls.incrementAndGet() == 1)
+                {
+                    throw sneaky(CHECKED);
+                }
+
+                return val;
+            }, 10);
+
+            Assertions.assertSame(CHECKED, Assertions.assertThrows(IOException.class, () -> cache.apply(S_VAL_1)));
+            Assertions.assertEquals(Jonad.of(S_VAL_1), Assertions.assertTimeoutPreemptively(
+                    Duration.ofSeconds(TIMEOUT_SECONDS), () -> cache.apply(S_VAL_1)));
+            Assertions.assertEquals(2, calls.get());
+        }
+
+        @Test
+        void itOnlyKeepsWhatThePolicyAllows()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final MonadCache<String, Integer> cache = MonadCache.flatMapping(val ->
+            {
+                calls.incrementAndGet();
+                return Jonad.empty();
+            }, 10, null, MemoizedJonad.Policy.PRESENT_ONLY);
+
+            cache.apply(S_VAL_1);
+            cache.apply(S_VAL_1);
+
+            Assertions.assertEquals(2, calls.get());
+        }
+
+        @Test
+        void itExpiresEntries() throws InterruptedException
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final MonadCache<String, Integer> cache = MonadCache.mapping(val -> calls.incrementAndGet(), 10,
+                    Duration.ofMillis(20), MemoizedJonad.Policy.ALL);
+
+            Assertions.assertEquals(Jonad.of(1), cache.apply(S_VAL_1));
+            Assertions.assertEquals(Jonad.of(1), cache.apply(S_VAL_1));
+            Thread.sleep(50);
+            Assertions.assertEquals(Jonad.of(2), cache.apply(S_VAL_1));
+        }
+
+        @Test
+        void itCollapsesConcurrentMisses() throws Exception
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final CountDownLatch loading = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final MonadCache<String, Integer> cache = MonadCache.mapping(val ->
+            {
+                calls.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return Integer.valueOf(val);
+            }, 10);
+            final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+            try
+            {
+                final Future<Monad<Integer>> first = executor.submit(() -> cache.apply(S_VAL_1));
+
+                Assertions.assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+                final Future<Monad<Integer>> second = executor.submit(() -> cache.apply(S_VAL_1));
+
+                while (cache.stats().getHitCount() == 0)
+                {
+                    Thread.onSpinWait();
+                }
+
+                release.countDown();
+
+                Assertions.assertEquals(Jonad.of(1), first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                Assertions.assertEquals(Jonad.of(1), second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                Assertions.assertEquals(1, calls.get());
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction tests")
+    class Eviction
+    {
+        @Test
+        void itStaysWithinTheMaximumSize()
+        {
+            final MonadCache<Integer, Integer> cache = MonadCache.mapping(val -> val, 8);
+
+            for (int i = 0; i < 1000; i++)
+            {
+                cache.apply(i % 100);
+            }
+
+            Assertions.assertTrue(cache.size() <= 8);
+            Assertions.assertTrue(cache.stats().getEvictionCount() > 0);
+        }
+
+        @Test
+        void itKeepsHotKeysThroughAScan()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+            final MonadCache<Integer, Integer> cache = MonadCache.mapping(val ->
+            {
+                calls.incrementAndGet();
+                return val;
+            }, 4);
+
+            for (int i = 0; i < 10; i++)
+            {
+                for (int hot = 0; hot < 4; hot++)
+                {
+                    cache.apply(hot);
+                }
+            }
+
+            for (int cold = 100; cold < 120; cold++)
+            {
+                cache.apply(cold);
+            }
+
+            calls.set(0);
+
+            for (int hot = 0; hot < 4; hot++)
+            {
+                cache.apply(hot);
+            }
+
+            Assertions.assertEquals(0, calls.get());
+        }
+
+        @Test
+        void itRejectsAnInvalidSize()
+        {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> MonadCache.mapping(val -> val, 0));
+        }
+    }
+
+    private static void await(final CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
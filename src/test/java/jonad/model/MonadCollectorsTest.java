@@ -0,0 +1,157 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class MonadCollectorsTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final int SIZE = 10_000;
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    private static Stream<Monad<String>> mixed()
+    {
+        return Stream.of(Jonad.of(S_VAL_1), Jonad.empty(), Jonad.failure(EXCEPTION), Jonad.of(S_VAL_2));
+    }
+
+    private static List<Monad<Integer>> large()
+    {
+        return IntStream.range(0, SIZE)
+                .mapToObj(i -> i % 3 == 0 ? Jonad.<Integer>empty() : i % 5 == 0 ? Jonad.<Integer>failure(EXCEPTION)
+                        : Jonad.of(i))
+                .collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Stream source tests")
+    class Sources
+    {
+        @Test
+        void itStreamsThePresentValues()
+        {
+            Assertions.assertEquals(Arrays.asList(S_VAL_1, S_VAL_2),
+                    MonadCollectors.values(mixed()).collect(Collectors.toList()));
+        }
+
+        @Test
+        void itStreamsTheFailures()
+        {
+            Assertions.assertEquals(Collections.singletonList(EXCEPTION),
+                    MonadCollectors.failures(mixed()).collect(Collectors.toList()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Flattening tests")
+    class Flattening
+    {
+        @Test
+        void itCollectsThePresentValues()
+        {
+            Assertions.assertEquals(Arrays.asList(S_VAL_1, S_VAL_2), mixed().collect(MonadCollectors.toList()));
+        }
+
+        @Test
+        void itPassesThePresentValuesDownstream()
+        {
+            Assertions.assertEquals(S_VAL_1 + S_VAL_2,
+                    mixed().collect(MonadCollectors.flattening(Collectors.joining())));
+        }
+
+        @Test
+        void itKeepsEncounterOrderInParallel()
+        {
+            final List<Monad<Integer>> monads = large();
+
+            Assertions.assertEquals(monads.stream().collect(MonadCollectors.toList()),
+                    monads.parallelStream().collect(MonadCollectors.toList()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Counting tests")
+    class Counting
+    {
+        @Test
+        void itCountsEachStateInOnePass()
+        {
+            Assertions.assertEquals(new MonadCounts(2, 1, 1), mixed().collect(MonadCollectors.counting()));
+        }
+
+        @Test
+        void itCountsTheSameInParallel()
+        {
+            final List<Monad<Integer>> monads = large();
+            final MonadCounts counts = monads.parallelStream().collect(MonadCollectors.counting());
+
+            Assertions.assertEquals(monads.stream().collect(MonadCollectors.counting()), counts);
+            Assertions.assertEquals(SIZE, counts.getTotalCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Partitioning tests")
+    class Partitioning
+    {
+        @Test
+        void itSplitsValuesFromFailures()
+        {
+            final MonadPartition<String> partition = mixed().collect(MonadCollectors.partitioning());
+
+            Assertions.assertEquals(Arrays.asList(S_VAL_1, S_VAL_2), partition.getValues());
+            Assertions.assertEquals(Collections.singletonList(EXCEPTION), partition.getFailures());
+            Assertions.assertEquals(1, partition.getEmptyCount());
+        }
+
+        @Test
+        void itSplitsTheSameInParallel()
+        {
+            final List<Monad<Integer>> monads = large();
+
+            Assertions.assertEquals(monads.stream().collect(MonadCollectors.partitioning()),
+                    monads.parallelStream().collect(MonadCollectors.partitioning()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Summarising tests")
+    class Summarising
+    {
+        @Test
+        void itSumsAndAveragesThePresentValues()
+        {
+            Assertions.assertEquals(3, mixed().collect(MonadCollectors.summarizingInt(Integer::parseInt)).getSum());
+            Assertions.assertEquals(1.5,
+                    mixed().collect(MonadCollectors.summarizingLong(Long::parseLong)).getAverage());
+            Assertions.assertEquals(2.0,
+                    mixed().collect(MonadCollectors.summarizingDouble(Double::parseDouble)).getMax());
+        }
+
+        @Test
+        void itSummarisesTheSameInParallel()
+        {
+            final List<Monad<Integer>> monads = large();
+            final IntSummaryStatistics sequential = monads.stream()
+                    .collect(MonadCollectors.summarizingInt(Integer::intValue));
+            final IntSummaryStatistics parallel = monads.parallelStream()
+                    .collect(MonadCollectors.summarizingInt(Integer::intValue));
+
+            Assertions.assertEquals(sequential.getCount(), parallel.getCount());
+            Assertions.assertEquals(sequential.getSum(), parallel.getSum());
+        }
+    }
+}
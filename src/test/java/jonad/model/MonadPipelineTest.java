@@ -0,0 +1,150 @@
+package jonad.model;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class MonadPipelineTest
+{
+    private static final String S_VAL_1 = " 1 ";
+
+    private static final String NOT_A_NUMBER = "x";
+
+    private static final Integer FALLBACK = -1;
+
+    private static final RuntimeException EXCEPTION = new IllegalStateException("");
+
+    private static final MonadPipeline<String, Integer> PARSE = MonadPipeline.<String>start()
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .tryMap(Integer::valueOf);
+
+    @Nested
+    @DisplayName("Evaluation tests")
+    class Evaluation
+    {
+        @Test
+        void itMatchesTheEquivalentJonadChain()
+        {
+            final List<String> inputs = Arrays.asList(S_VAL_1, " ", null, NOT_A_NUMBER, "42");
+
+            for (final String in : inputs)
+            {
+                final Monad<Integer> expected = Jonad.<String>of(in)
+                        .map(String::trim)
+                        .filter(s -> !s.isEmpty())
+                        .tryMap(Integer::valueOf);
+                final Monad<Integer> actual = PARSE.apply(in);
+
+                Assertions.assertEquals(expected.isEmpty(), actual.isEmpty());
+                Assertions.assertEquals(expected.isFailure(), actual.isFailure());
+                Assertions.assertEquals(expected.getOrNull(), actual.getOrNull());
+            }
+        }
+
+        @Test
+        void itStartsWithTheIdentity()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_1), MonadPipeline.<String>start().apply(S_VAL_1));
+            Assertions.assertEquals(Jonad.empty(), MonadPipeline.<String>start().apply(null));
+            Assertions.assertEquals(0, MonadPipeline.start().size());
+        }
+
+        @Test
+        void itAppliesToMonads()
+        {
+            Assertions.assertEquals(Jonad.of(1), PARSE.applyTo(Jonad.of(S_VAL_1)));
+            Assertions.assertEquals(Jonad.empty(), PARSE.applyTo(Jonad.empty()));
+            Assertions.assertSame(EXCEPTION, PARSE.applyTo(Jonad.failure(EXCEPTION)).getFailureOrNull());
+        }
+
+        @Test
+        void itRunsEveryStageOncePerInput()
+        {
+            final MutableInt calls = new MutableInt();
+            final MonadPipeline<String, Integer> counted = PARSE.doIfPresent(val -> calls.increment());
+
+            counted.apply(S_VAL_1);
+            counted.apply(S_VAL_1);
+
+            Assertions.assertEquals(2, calls.intValue());
+        }
+
+        @Test
+        void itRecoversFromEmptyAndFailure()
+        {
+            final MonadPipeline<String, Integer> recovering = PARSE
+                    .onErrorMapMatching(NumberFormatException.class::isInstance, e -> FALLBACK)
+                    .switchIfEmpty(Jonad.of(0));
+
+            Assertions.assertEquals(Jonad.of(1), recovering.apply(S_VAL_1));
+            Assertions.assertEquals(Jonad.of(FALLBACK), recovering.apply(NOT_A_NUMBER));
+            Assertions.assertEquals(Jonad.of(0), recovering.apply(" "));
+        }
+
+        @Test
+        void itFlatMapsAndHandlesErrors()
+        {
+            final MutableInt errors = new MutableInt();
+            final MonadPipeline<Integer, Integer> pipeline = MonadPipeline.<Integer>start()
+                    .flatMap(val -> val > 0 ? Jonad.of(val) : Jonad.failure(EXCEPTION))
+                    .doOnError(IllegalStateException.class, e -> errors.increment())
+                    .onErrorFlatMap(e -> Jonad.of(0))
+                    .filterWhen(val -> Jonad.ofBoolean(val < 10))
+                    .defaultIfEmpty(10);
+
+            Assertions.assertEquals(Jonad.of(1), pipeline.apply(1));
+            Assertions.assertEquals(Jonad.of(0), pipeline.apply(-1));
+            Assertions.assertEquals(Jonad.of(10), pipeline.apply(20));
+            Assertions.assertEquals(1, errors.intValue());
+        }
+    }
+
+    @Nested
+    @DisplayName("Composition tests")
+    class Composition
+    {
+        @Test
+        void itLeavesTheOriginalPipelineUnchanged()
+        {
+            final MonadPipeline<String, Integer> doubled = PARSE.map(val -> val * 2);
+
+            Assertions.assertEquals(3, PARSE.size());
+            Assertions.assertEquals(4, doubled.size());
+            Assertions.assertEquals(Jonad.of(1), PARSE.apply(S_VAL_1));
+            Assertions.assertEquals(Jonad.of(2), doubled.apply(S_VAL_1));
+        }
+
+        @Test
+        void itAppendsAnotherPipeline()
+        {
+            final MonadPipeline<Integer, String> format = MonadPipeline.<Integer>start().map(val -> "#" + val);
+            final MonadPipeline<String, String> both = PARSE.then(format);
+
+            Assertions.assertEquals(4, both.size());
+            Assertions.assertEquals(Jonad.of("#1"), both.apply(S_VAL_1));
+        }
+
+        @Test
+        void itIsSafeToShareAcrossThreads()
+        {
+            final List<Monad<Integer>> results = IntStream.range(0, 10_000)
+                    .parallel()
+                    .mapToObj(String::valueOf)
+                    .map(PARSE)
+                    .collect(Collectors.toList());
+
+            for (int i = 0; i < results.size(); i++)
+            {
+                Assertions.assertEquals(Jonad.of(i), results.get(i));
+            }
+        }
+    }
+}
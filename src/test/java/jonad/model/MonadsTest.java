@@ -0,0 +1,261 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MonadsTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final String S_VAL_3 = "3";
+
+    private static final String MISS = "miss";
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    @Nested
+    @DisplayName("Sequence tests")
+    class Sequence
+    {
+        @Test
+        void itCombinesPresentValuesInOrder()
+        {
+            Assertions.assertEquals(Jonad.of(Arrays.asList(S_VAL_1, S_VAL_2)),
+                    Monads.sequence(Arrays.asList(Jonad.of(S_VAL_1), Jonad.of(S_VAL_2))));
+        }
+
+        @Test
+        void itReturnsTheFirstMiss()
+        {
+            Assertions.assertEquals(Jonad.empty(),
+                    Monads.sequence(Arrays.asList(Jonad.of(S_VAL_1), Jonad.empty(), Jonad.failure(EXCEPTION))));
+            Assertions.assertEquals(Jonad.failure(EXCEPTION),
+                    Monads.sequence(Arrays.asList(Jonad.of(S_VAL_1), Jonad.failure(EXCEPTION), Jonad.empty())));
+        }
+
+        @Test
+        void itCombinesNothingIntoAnEmptyList()
+        {
+            Assertions.assertEquals(Jonad.of(Collections.emptyList()), Monads.sequence(Collections.emptyList()));
+        }
+
+        @Test
+        void itReturnsAFreshMissRatherThanADeferredElement()
+        {
+            final Monad<List<String>> result = Monads.sequence(Arrays.asList(Jonad.of(S_VAL_1), emptyOnce()));
+
+            Assertions.assertEquals(Jonad.empty(), result);
+            Assertions.assertNull(result.getOrNull());
+        }
+    }
+
+    @Nested
+    @DisplayName("Traverse tests")
+    class Traverse
+    {
+        @Test
+        void itAppliesTheFunctionToEachElement()
+        {
+            Assertions.assertEquals(Jonad.of(Arrays.asList(1, 2)),
+                    Monads.traverse(Arrays.asList(S_VAL_1, S_VAL_2), val -> Jonad.of(Integer.valueOf(val))));
+        }
+
+        @Test
+        void itStopsAtTheFirstMiss()
+        {
+            final AtomicInteger calls = new AtomicInteger();
+
+            final Monad<List<Integer>> result = Monads.traverse(Arrays.asList(S_VAL_1, MISS, S_VAL_2), val ->
+            {
+                calls.incrementAndGet();
+                return Jonad.of(val).tryMap(Integer::valueOf);
+            });
+
+            Assertions.assertTrue(result.isFailure());
+            Assertions.assertEquals(2, calls.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel tests")
+    class Parallel
+    {
+        @Test
+        void itAppliesTheFunctionInParallelKeepingOrder()
+        {
+            Assertions.assertEquals(Jonad.of(Arrays.asList(1, 2, 3)),
+                    Monads.traverseParallel(Arrays.asList(S_VAL_1, S_VAL_2, S_VAL_3),
+                            val -> Jonad.of(Integer.valueOf(val)), ForkJoinPool.commonPool()).join());
+        }
+
+        @Test
+        void itCombinesNothingIntoAnEmptyList()
+        {
+            Assertions.assertEquals(Jonad.of(Collections.emptyList()),
+                    Monads.traverseParallel(Collections.emptyList(), Jonad::of).join());
+        }
+
+        @Test
+        void itCancelsTheRemainingWorkOnTheFirstMiss() throws InterruptedException
+        {
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch interrupted = new CountDownLatch(1);
+            final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+            try
+            {
+                final AsyncJonad<List<String>> result = Monads.traverseParallel(Arrays.asList(S_VAL_1, MISS), val ->
+                {
+                    if (MISS.equals(val))
+                    {
+                        await(started);
+                        return Jonad.empty();
+                    }
+
+                    started.countDown();
+
+                    try
+                    {
+                        new CountDownLatch(1).await();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        interrupted.countDown();
+                    }
+
+                    return Jonad.of(val);
+                }, executor);
+
+                Assertions.assertEquals(Jonad.empty(), result.join());
+                Assertions.assertTrue(interrupted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void itCancelsTheOtherAsyncJonadsOnTheFirstMiss()
+        {
+            final CompletableFuture<String> pending = new CompletableFuture<>();
+
+            final AsyncJonad<List<String>> result = Monads.sequenceAsync(Arrays.asList(
+                    AsyncJonad.fromFuture(pending), AsyncJonad.failure(EXCEPTION)));
+
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), result.join());
+            Assertions.assertTrue(pending.isCancelled());
+        }
+
+        @Test
+        void itCancelsEveryAsyncJonadWhenCancelled()
+        {
+            final CompletableFuture<String> pending = new CompletableFuture<>();
+
+            Monads.sequenceAsync(Collections.singletonList(AsyncJonad.fromFuture(pending))).cancel();
+
+            Assertions.assertTrue(pending.isCancelled());
+        }
+    }
+
+    @Nested
+    @DisplayName("Zip tests")
+    class Zip
+    {
+        @Test
+        void itCombinesTheValuesOfEverySupplier()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_1 + S_VAL_2),
+                    Monads.zip(() -> Jonad.of(S_VAL_1), () -> Jonad.of(S_VAL_2), String::concat).join());
+            Assertions.assertEquals(Jonad.of(6), Monads.zip(() -> Jonad.of(1), () -> Jonad.of(2), () -> Jonad.of(3),
+                    (a, b, c) -> a + b + c).join());
+            Assertions.assertEquals(Jonad.of(10), Monads.zip(() -> Jonad.of(1), () -> Jonad.of(2), () -> Jonad.of(3),
+                    () -> Jonad.of(4), (a, b, c, d) -> a + b + c + d).join());
+            Assertions.assertEquals(Jonad.of(S_VAL_1 + 2 + S_VAL_3 + 4L + 'x'), Monads.zip(() -> Jonad.of(S_VAL_1),
+                    () -> Jonad.of(2), () -> Jonad.of(S_VAL_3), () -> Jonad.of(4L), () -> Jonad.of('x'),
+                    (a, b, c, d, e) -> a + b + c + d + e).join());
+        }
+
+        @Test
+        void itReturnsTheMissAndSkipsTheOtherSuppliers() throws InterruptedException
+        {
+            final CountDownLatch finished = new CountDownLatch(1);
+
+            Assertions.assertEquals(Jonad.failure(EXCEPTION), Monads.zip(() -> Jonad.<String>failure(EXCEPTION), () ->
+            {
+                try
+                {
+                    new CountDownLatch(1).await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    finished.countDown();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                return Jonad.of(S_VAL_2);
+            }, String::concat).join());
+            Assertions.assertFalse(finished.await(100, TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        void itReturnsAFreshMissRatherThanADeferredResult()
+        {
+            final Monad<String> result = Monads.zip(() -> Jonad.of(S_VAL_1), MonadsTest::emptyOnce, String::concat)
+                    .join();
+
+            Assertions.assertEquals(Jonad.empty(), result);
+            Assertions.assertNull(result.getOrNull());
+        }
+
+        @Test
+        void itCapturesCombinerErrors()
+        {
+            Assertions.assertTrue(Monads.zip(() -> Jonad.of(S_VAL_1), () -> Jonad.of(MISS), (a, b) ->
+            {
+                throw new IllegalStateException(b);
+            }).join().getFailureOrNull() instanceof IllegalStateException);
+            Assertions.assertEquals(Jonad.empty(),
+                    Monads.zip(() -> Jonad.of(S_VAL_1), () -> Jonad.of(S_VAL_2), (a, b) -> null).join());
+        }
+    }
+
+    private static void await(final CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A deferred Monad which is empty the first time it's read and present after
+     */
+    private static Monad<String> emptyOnce()
+    {
+        final AtomicInteger reads = new AtomicInteger();
+
+        return LazyJonad.fromSupplier(() -> reads.getAndIncrement() == 0 ? null : S_VAL_2);
+    }
+}
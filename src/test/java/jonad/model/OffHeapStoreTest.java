@@ -0,0 +1,227 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class OffHeapStoreTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String LONG_STRING = "a string too long to fit";
+
+    private static final Long L_VAL_1 = 1L;
+
+    private static final RuntimeException EXCEPTION = new IllegalStateException("");
+
+    @Nested
+    @DisplayName("Row tests")
+    class Rows
+    {
+        @Test
+        void itReadsBackWhatWasWritten()
+        {
+            final OffHeapStore<Long> store = OffHeapStore.allocate(100, OffHeapStore.Slot.longs());
+
+            store.set(0, Jonad.of(L_VAL_1));
+            store.set(99, Jonad.of(Long.MAX_VALUE));
+
+            Assertions.assertEquals(Jonad.of(L_VAL_1), store.get(0));
+            Assertions.assertEquals(Jonad.of(Long.MAX_VALUE), store.get(99));
+            Assertions.assertEquals(Jonad.empty(), store.get(50));
+            Assertions.assertEquals(2, store.count());
+        }
+
+        @Test
+        void itClearsARowWrittenWithEmpty()
+        {
+            final OffHeapStore<Double> store = OffHeapStore.allocate(2, OffHeapStore.Slot.doubles());
+
+            store.set(1, Jonad.of(1.5));
+            store.set(1, Jonad.empty());
+
+            Assertions.assertFalse(store.isPresent(1));
+            Assertions.assertEquals(Jonad.empty(), store.get(1));
+        }
+
+        @Test
+        void itRejectsFailuresAndRowsOutOfRange()
+        {
+            final OffHeapStore<Integer> store = OffHeapStore.allocate(2, OffHeapStore.Slot.ints());
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> store.set(0, Jonad.failure(EXCEPTION)));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.get(2));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.set(-1, Jonad.of(1)));
+        }
+
+        @Test
+        void itStoresLengthPrefixedStrings()
+        {
+            final OffHeapStore<String> store = OffHeapStore.allocate(3, OffHeapStore.Slot.utf8(8));
+
+            store.set(0, Jonad.of(S_VAL_1));
+            store.set(1, Jonad.of(""));
+
+            Assertions.assertEquals(Jonad.of(S_VAL_1), store.get(0));
+            Assertions.assertEquals(Jonad.of(""), store.get(1));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> store.set(2, Jonad.of(LONG_STRING)));
+            Assertions.assertFalse(store.isPresent(2));
+        }
+
+        @Test
+        void itKeepsThePreviousValueWhenAWriteIsRejected()
+        {
+            final OffHeapStore<String> store = OffHeapStore.allocate(2, OffHeapStore.Slot.utf8(8));
+
+            store.set(0, Jonad.of(S_VAL_1));
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> store.set(0, Jonad.of(LONG_STRING)));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> store.set(0, Jonad.of("\u00e9\u00e9\u00e9\u00e9a")));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> store.map(val -> LONG_STRING));
+            Assertions.assertEquals(Jonad.of(S_VAL_1), store.get(0));
+
+            store.set(1, Jonad.of("\u00e9\u00e9\ud83d\ude00"));
+
+            Assertions.assertEquals(Jonad.of("\u00e9\u00e9\ud83d\ude00"), store.get(1));
+        }
+
+        @Test
+        void itOverwritesAPresentRow()
+        {
+            final OffHeapStore<String> store = OffHeapStore.allocate(2, OffHeapStore.Slot.utf8(8));
+
+            store.set(0, Jonad.of(LONG_STRING.substring(0, 8)));
+            store.set(0, Jonad.of(S_VAL_1));
+
+            Assertions.assertEquals(Jonad.of(S_VAL_1), store.get(0));
+            Assertions.assertEquals(1, store.count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Scan tests")
+    class Scans
+    {
+        @Test
+        void itFiltersInPlace()
+        {
+            final OffHeapStore<Long> store = OffHeapStore.allocate(200, OffHeapStore.Slot.longs());
+
+            for (int i = 0; i < 200; i += 2)
+            {
+                store.set(i, Jonad.of((long) i));
+            }
+
+            store.filter(val -> val % 4 == 0);
+
+            Assertions.assertEquals(50, store.count());
+            Assertions.assertEquals(Jonad.of(196L), store.get(196));
+            Assertions.assertEquals(Jonad.empty(), store.get(198));
+        }
+
+        @Test
+        void itMapsInPlace()
+        {
+            final OffHeapStore<Long> store = OffHeapStore.allocate(3, OffHeapStore.Slot.longs());
+
+            store.set(0, Jonad.of(L_VAL_1));
+            store.set(1, Jonad.of(2L));
+
+            store.map(val -> val == 2L ? null : val * 10);
+
+            Assertions.assertEquals(Jonad.of(10L), store.get(0));
+            Assertions.assertEquals(Jonad.empty(), store.get(1));
+            Assertions.assertEquals(Jonad.empty(), store.get(2));
+        }
+
+        @Test
+        void itKeepsMappedRowsPresent()
+        {
+            final OffHeapStore<Long> store = OffHeapStore.allocate(130, OffHeapStore.Slot.longs());
+
+            store.set(0, Jonad.of(L_VAL_1));
+            store.set(129, Jonad.of(2L));
+
+            store.map(val -> val + 1);
+
+            Assertions.assertEquals(Jonad.of(2L), store.get(0));
+            Assertions.assertEquals(Jonad.of(3L), store.get(129));
+            Assertions.assertEquals(2, store.count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Mapped file tests")
+    class MappedFile
+    {
+        @Test
+        void itSharesRowsThroughTheFile() throws IOException
+        {
+            final Path file = Files.createTempFile("jonad", ".store");
+
+            try
+            {
+                final OffHeapStore<String> writer = OffHeapStore.map(file, 10, OffHeapStore.Slot.utf8(4));
+                final OffHeapStore<String> reader = OffHeapStore.map(file, 10, OffHeapStore.Slot.utf8(4));
+
+                writer.set(3, Jonad.of(S_VAL_1));
+                writer.force();
+
+                Assertions.assertEquals(Jonad.of(S_VAL_1), reader.get(3));
+                Assertions.assertEquals(1, reader.count());
+            }
+            finally
+            {
+                Files.delete(file);
+            }
+        }
+
+        @Test
+        void itRejectsACorruptStringLength() throws IOException
+        {
+            final Path file = Files.createTempFile("jonad", ".store");
+
+            try
+            {
+                // a long slot has the same width as a four byte string, and its low half is the length
+                final OffHeapStore<Long> writer = OffHeapStore.map(file, 2, OffHeapStore.Slot.longs());
+                final OffHeapStore<String> reader = OffHeapStore.map(file, 2, OffHeapStore.Slot.utf8(4));
+
+                writer.set(0, Jonad.of(-1L));
+                writer.set(1, Jonad.of(5L));
+
+                Assertions.assertThrows(IllegalStateException.class, () -> reader.get(0));
+                Assertions.assertThrows(IllegalStateException.class, () -> reader.get(1));
+            }
+            finally
+            {
+                Files.delete(file);
+            }
+        }
+
+        @Test
+        void itRejectsAFileOfADifferentShape() throws IOException
+        {
+            final Path file = Files.createTempFile("jonad", ".store");
+
+            try
+            {
+                OffHeapStore.map(file, 10, OffHeapStore.Slot.longs());
+
+                Assertions.assertThrows(IOException.class, () -> OffHeapStore.map(file, 10,
+                        OffHeapStore.Slot.ints()));
+                Assertions.assertThrows(IOException.class, () -> OffHeapStore.map(file, 11,
+                        OffHeapStore.Slot.longs()));
+            }
+            finally
+            {
+                Files.delete(file);
+            }
+        }
+    }
+}
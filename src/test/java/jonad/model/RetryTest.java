@@ -0,0 +1,231 @@
+package jonad.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RetryTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private static final RuntimeException EXCEPTION = new IllegalStateException("");
+
+    private static final Retry FAST = Retry.defaults().withBackoff(Duration.ofMillis(1), Duration.ofMillis(5));
+
+    @Test
+    void itRetriesUntilTheSupplierSucceeds()
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        Assertions.assertEquals(Jonad.of(S_VAL_1), FAST.fromSupplier(() ->
+        {
+            if (attempts.incrementAndGet() < 3)
+            {
+                throw EXCEPTION;
+            }
+
+            return S_VAL_1;
+        }).join());
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void itReturnsTheLastFailureOnceAttemptsRunOut()
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        Assertions.assertEquals(Jonad.failure(EXCEPTION), FAST.withMaxAttempts(2).fromMonadSupplier(() ->
+        {
+            attempts.incrementAndGet();
+            return Jonad.<String>failure(EXCEPTION);
+        }).join());
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void itDoesntRetryEmptyOrUnmatchedFailures()
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        Assertions.assertEquals(Jonad.empty(), FAST.fromSupplier(() ->
+        {
+            attempts.incrementAndGet();
+            return null;
+        }).join());
+        Assertions.assertEquals(Jonad.failure(EXCEPTION), FAST.withRetryIf(e -> false).fromSupplier(() ->
+        {
+            attempts.incrementAndGet();
+            throw EXCEPTION;
+        }).join());
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void itTimesOutASlowAttemptAndRetriesIt()
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        Assertions.assertEquals(Jonad.of(S_VAL_1), FAST.withAttemptTimeout(Duration.ofMillis(20)).fromSupplier(() ->
+        {
+            if (attempts.incrementAndGet() == 1)
+            {
+                block();
+            }
+
+            return S_VAL_1;
+        }).join());
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void itStopsAtTheDeadline()
+    {
+        final Monad<String> m = FAST.withMaxAttempts(Integer.MAX_VALUE).withDeadline(Duration.ofMillis(50))
+                .fromSupplier(() ->
+                {
+                    block();
+                    return S_VAL_1;
+                }).join();
+
+        Assertions.assertTrue(m.getFailureOrNull() instanceof TimeoutException);
+    }
+
+    @Test
+    void itCancelsAPendingRetry() throws InterruptedException
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch failed = new CountDownLatch(1);
+        final CountDownLatch retried = new CountDownLatch(1);
+
+        final AsyncJonad<String> result = Retry.defaults().withBackoff(Duration.ofMillis(200), Duration.ofMillis(200))
+                .withJitter(0)
+                .fromSupplier(() ->
+                {
+                    if (attempts.incrementAndGet() > 1)
+                    {
+                        retried.countDown();
+                    }
+
+                    failed.countDown();
+                    throw EXCEPTION;
+                });
+
+        Assertions.assertTrue(failed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        result.cancel();
+        Assertions.assertTrue(result.isCancelled());
+        Assertions.assertFalse(retried.await(400, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void itRunsRetriesAndDownstreamStagesOffTheSchedulerThread()
+    {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        final Monad<String> m = FAST.withAttemptTimeout(Duration.ofMillis(20))
+                .withRetryIf(e ->
+                {
+                    threads.add(Thread.currentThread().getName());
+                    return true;
+                })
+                .fromSupplier(() ->
+                {
+                    threads.add(Thread.currentThread().getName());
+
+                    if (attempts.incrementAndGet() == 1)
+                    {
+                        block();
+                    }
+
+                    return S_VAL_1;
+                })
+                .map(val ->
+                {
+                    threads.add(Thread.currentThread().getName());
+                    return val;
+                })
+                .join();
+
+        Assertions.assertEquals(Jonad.of(S_VAL_1), m);
+        Assertions.assertFalse(threads.contains("jonad-scheduler"), threads::toString);
+    }
+
+    @Test
+    void itFailsWhenTheRetryPredicateThrows()
+    {
+        final RuntimeException predicateFailure = new IllegalArgumentException("");
+
+        final AsyncJonad<String> m = FAST.withRetryIf(e ->
+        {
+            throw predicateFailure;
+        }).fromSupplier(() ->
+        {
+            throw EXCEPTION;
+        });
+
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(TIMEOUT_SECONDS),
+                () -> Assertions.assertEquals(Jonad.failure(predicateFailure), m.join()));
+    }
+
+    @Test
+    void itAcceptsDurationsTooLongForNanoseconds()
+    {
+        final Duration forever = ChronoUnit.FOREVER.getDuration();
+        final Retry retry = FAST.withBackoff(forever, forever).withAttemptTimeout(forever).withDeadline(forever);
+
+        Assertions.assertEquals(Duration.ofNanos(Long.MAX_VALUE), retry.withJitter(0).backoff(1));
+        Assertions.assertEquals(Jonad.of(S_VAL_1), retry.fromSupplier(() -> S_VAL_1).join());
+    }
+
+    @Test
+    void itBacksOffExponentiallyWithinTheJitter()
+    {
+        final Retry retry = Retry.defaults().withBackoff(Duration.ofMillis(10), Duration.ofMillis(50)).withJitter(0.5);
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertBetween(Duration.ofMillis(5), Duration.ofMillis(10), retry.backoff(1));
+            assertBetween(Duration.ofMillis(10), Duration.ofMillis(20), retry.backoff(2));
+            assertBetween(Duration.ofMillis(25), Duration.ofMillis(50), retry.backoff(10));
+        }
+    }
+
+    @Test
+    void itRejectsInvalidSettings()
+    {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Retry.defaults().withMaxAttempts(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Retry.defaults().withJitter(2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Retry.defaults().withMultiplier(0.5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Retry.defaults().withDeadline(Duration.ZERO));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Retry.defaults()
+                .withBackoff(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    }
+
+    private static void assertBetween(final Duration min, final Duration max, final Duration actual)
+    {
+        Assertions.assertTrue(actual.compareTo(min) >= 0 && actual.compareTo(max) <= 0, actual::toString);
+    }
+
+    private static void block()
+    {
+        try
+        {
+            new CountDownLatch(1).await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package jonad.model;
+
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+class TrampolinedJonadTest
+{
+    private static final String S_VAL_1 = "1";
+
+    private static final String S_VAL_2 = "2";
+
+    private static final int DEPTH = 1_000_000;
+
+    private static final Exception EXCEPTION = new Exception("");
+
+    private static TrampolinedJonad<Long> sum(final long n, final long acc)
+    {
+        return n == 0 ? TrampolinedJonad.of(acc) : TrampolinedJonad.defer(() -> sum(n - 1, acc + n));
+    }
+
+    private static Monad<Integer> countDown(final int n)
+    {
+        return n == 0 ? TrampolinedJonad.of(0) : TrampolinedJonad.of(n).flatMap(val -> countDown(val - 1));
+    }
+
+    private static boolean isEven(final int n)
+    {
+        return evenOdd(n, true).getOrNull();
+    }
+
+    private static TrampolinedJonad<Boolean> evenOdd(final int n, final boolean even)
+    {
+        return n == 0 ? TrampolinedJonad.of(even) : TrampolinedJonad.defer(() -> evenOdd(n - 1, !even));
+    }
+
+    @Nested
+    @DisplayName("Stack safety tests")
+    class StackSafety
+    {
+        @Test
+        void itRunsDeepDeferredRecursion()
+        {
+            Assertions.assertEquals((long) DEPTH * (DEPTH + 1) / 2, sum(DEPTH, 0).getOrNull());
+            Assertions.assertTrue(isEven(DEPTH));
+        }
+
+        @Test
+        void itRunsDeepRecursiveFlatMaps()
+        {
+            Assertions.assertEquals(0, countDown(DEPTH).getOrNull());
+        }
+
+        @Test
+        void itRunsDeepLeftNestedChains()
+        {
+            Monad<Integer> m = TrampolinedJonad.of(0);
+
+            for (int i = 0; i < DEPTH; i++)
+            {
+                m = i % 2 == 0 ? m.flatMap(val -> TrampolinedJonad.of(val + 1)) : m.map(val -> val + 1);
+            }
+
+            Assertions.assertEquals(DEPTH, m.getOrNull());
+        }
+
+        @Test
+        void itStopsRecursionAtAnEmptyStep()
+        {
+            final MutableInt calls = new MutableInt();
+            final Monad<Integer> m = TrampolinedJonad.of(DEPTH)
+                    .flatMap(val -> TrampolinedJonad.<Integer>empty())
+                    .flatMap(val ->
+                    {
+                        calls.increment();
+                        return countDown(val);
+                    });
+
+            Assertions.assertTrue(m.isEmpty());
+            Assertions.assertEquals(0, calls.intValue());
+        }
+    }
+
+    @Nested
+    @DisplayName("Operator tests")
+    class Operators
+    {
+        @Test
+        void itMatchesJonad()
+        {
+            final Monad<Integer> trampolined = TrampolinedJonad.of(S_VAL_1)
+                    .map(val -> val + S_VAL_2)
+                    .filter(val -> val.length() == 2)
+                    .flatMap(val -> Jonad.of(val + S_VAL_1))
+                    .tryMap(Integer::valueOf);
+
+            Assertions.assertEquals(121, trampolined.getOrNull());
+        }
+
+        @Test
+        void itRecoversFromFailures()
+        {
+            Assertions.assertEquals(S_VAL_2, TrampolinedJonad.<String>failure(EXCEPTION)
+                    .onErrorFlatMap(e -> TrampolinedJonad.of(S_VAL_2))
+                    .getOrNull());
+            Assertions.assertEquals(S_VAL_2, TrampolinedJonad.<String>failure(EXCEPTION)
+                    .onErrorMap(e -> S_VAL_2)
+                    .getOrNull());
+            Assertions.assertSame(EXCEPTION, TrampolinedJonad.<String>failure(EXCEPTION)
+                    .onErrorFlatMapMatching(IllegalStateException.class::isInstance, e -> Jonad.of(S_VAL_2))
+                    .getFailureOrNull());
+        }
+
+        @Test
+        void itRejectsANullMonadFromAFunction()
+        {
+            final Monad<Integer> flatMapped = TrampolinedJonad.of(S_VAL_1).flatMap(val -> null);
+            final Monad<String> recovered = TrampolinedJonad.<String>failure(EXCEPTION).onErrorFlatMap(e -> null);
+
+            Assertions.assertThrows(NullPointerException.class, flatMapped::getOrNull);
+            Assertions.assertThrows(NullPointerException.class, recovered::getOrNull);
+            Assertions.assertThrows(NullPointerException.class,
+                    () -> TrampolinedJonad.<String>empty().switchIfEmpty(null).getOrNull());
+        }
+
+        @Test
+        void itCatchesFailuresInTryMap()
+        {
+            Assertions.assertTrue(TrampolinedJonad.of(S_VAL_1).tryMap(val ->
+            {
+                throw new IllegalStateException();
+            }).isFailure());
+        }
+
+        @Test
+        void itSwitchesAndDefaultsWhenEmpty()
+        {
+            Assertions.assertEquals(S_VAL_2, TrampolinedJonad.empty()
+                    .switchIfEmpty(TrampolinedJonad.defer(() -> Jonad.of(S_VAL_2)))
+                    .getOrNull());
+            Assertions.assertEquals(S_VAL_1, TrampolinedJonad.empty().defaultIfEmpty(S_VAL_1).getOrNull());
+            Assertions.assertEquals(S_VAL_1, TrampolinedJonad.of(S_VAL_1).switchIfEmpty(Jonad.of(S_VAL_2))
+                    .getOrNull());
+        }
+
+        @Test
+        void itReadsOtherMonads()
+        {
+            Assertions.assertEquals(Jonad.of(S_VAL_1), TrampolinedJonad.from(Jonad.of(S_VAL_1)).toJonad());
+            Assertions.assertEquals(Jonad.of(S_VAL_1), TrampolinedJonad.from(LazyJonad.of(S_VAL_1)).toJonad());
+            Assertions.assertTrue(TrampolinedJonad.defer(() -> null).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Terminal tests")
+    class Terminal
+    {
+        @Test
+        void itDoesntRunUntilATerminalCall()
+        {
+            final MutableInt calls = new MutableInt();
+            final Monad<String> m = TrampolinedJonad.defer(() ->
+            {
+                calls.increment();
+                return Jonad.of(S_VAL_1);
+            }).doIfPresent(val -> calls.increment());
+
+            Assertions.assertEquals(0, calls.intValue());
+            Assertions.assertEquals(S_VAL_1, m.getOrDefault(S_VAL_2));
+            Assertions.assertEquals(2, calls.intValue());
+        }
+
+        @Test
+        void itProvidesFallbacks()
+        {
+            final Monad<String> empty = TrampolinedJonad.empty();
+
+            Assertions.assertEquals(S_VAL_2, empty.getOrDefault(S_VAL_2));
+            Assertions.assertEquals(S_VAL_2, empty.orElseGet(() -> S_VAL_2));
+            Assertions.assertEquals(Optional.empty(), empty.toOptional());
+            Assertions.assertEquals(0, empty.stream().count());
+            Assertions.assertThrows(IllegalStateException.class, () -> empty.orElseThrow(IllegalStateException::new));
+        }
+    }
+}